@@ -0,0 +1,11 @@
+package com.turnoapp.backend.availability;
+
+import java.time.LocalDate;
+
+/**
+ * Fecha del próximo turno libre de un profesional (el más cercano entre sus servicios).
+ */
+public record EarliestSlot(
+        Long professionalId,
+        LocalDate date
+) {}
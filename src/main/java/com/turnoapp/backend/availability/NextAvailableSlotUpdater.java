@@ -0,0 +1,276 @@
+package com.turnoapp.backend.availability;
+
+import com.turnoapp.backend.event.AvailabilityChangedEvent;
+import com.turnoapp.backend.event.NextAvailableChangedEvent;
+import com.turnoapp.backend.model.Appointment;
+import com.turnoapp.backend.model.NextAvailableSlot;
+import com.turnoapp.backend.model.ScheduleSlot;
+import com.turnoapp.backend.model.Service;
+import com.turnoapp.backend.model.enums.Status;
+import com.turnoapp.backend.repository.AppointmentRepository;
+import com.turnoapp.backend.repository.NextAvailableSlotRepository;
+import com.turnoapp.backend.repository.ProfessionalRepository;
+import com.turnoapp.backend.repository.ScheduleRepository;
+import com.turnoapp.backend.repository.ServiceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Mantiene la tabla de próximos turnos libres ({@link NextAvailableSlot}).
+ *
+ * Recalcula un profesional cuando se confirma un {@link AvailabilityChangedEvent}
+ * (turno creado o cancelado, cambios de agenda o de servicios). El recálculo corre
+ * en un pool propio, fuera del hilo de la petición, y los eventos de un mismo
+ * profesional que llegan mientras está pendiente o en curso se agrupan en una sola
+ * pasada posterior. Como el paso del tiempo también vuelve viejos los datos,
+ * periódicamente se recalculan los profesionales cuyo slot guardado ya empezó, y
+ * una vez por día todos (el horizonte avanza); la primera pasada completa corre
+ * poco después de iniciar, sin demorar el arranque. Si cambia la fecha más
+ * cercana de un profesional se publica un {@link NextAvailableChangedEvent} para
+ * actualizar el directorio en memoria; los recálculos masivos publican uno solo
+ * con todos los cambios.
+ *
+ * Un recálculo periódico puede coincidir con el de un evento: si el otro insertó o
+ * borró la misma fila antes, la transacción se repite una vez sobre sus datos.
+ */
+@Component
+@Slf4j
+public class NextAvailableSlotUpdater {
+
+    private final NextAvailableSlotRepository nextAvailableSlotRepository;
+    private final ProfessionalRepository professionalRepository;
+    private final ServiceRepository serviceRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int horizonDays;
+    private final ExecutorService executor;
+
+    /**
+     * Profesionales con un recálculo pendiente o en curso. El valor indica si llegó
+     * otro evento después de empezar la pasada actual.
+     */
+    private final ConcurrentMap<Long, Boolean> pending = new ConcurrentHashMap<>();
+
+    public NextAvailableSlotUpdater(
+            NextAvailableSlotRepository nextAvailableSlotRepository,
+            ProfessionalRepository professionalRepository,
+            ServiceRepository serviceRepository,
+            ScheduleRepository scheduleRepository,
+            AppointmentRepository appointmentRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${availability.next-slot.horizon-days:60}") int horizonDays,
+            @Value("${availability.next-slot.workers:2}") int workers
+    ) {
+        this.nextAvailableSlotRepository = nextAvailableSlotRepository;
+        this.professionalRepository = professionalRepository;
+        this.serviceRepository = serviceRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.eventPublisher = eventPublisher;
+        // Los eventos llegan después del commit: se escribe en una transacción propia
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.horizonDays = horizonDays;
+        this.executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("next-slot-"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(AvailabilityChangedEvent event) {
+        Long professionalId = event.professionalId();
+        if (pending.put(professionalId, Boolean.TRUE) == null) {
+            executor.execute(() -> drain(professionalId));
+        }
+    }
+
+    /**
+     * Recalcula el profesional hasta que no queden eventos sin procesar. Solo hay
+     * una pasada por profesional a la vez.
+     */
+    private void drain(Long professionalId) {
+        do {
+            pending.put(professionalId, Boolean.FALSE);
+            try {
+                recompute(professionalId);
+            } catch (RuntimeException e) {
+                log.warn("No se pudo recalcular el próximo turno libre del profesional {}", professionalId, e);
+            }
+        } while (!pending.remove(professionalId, Boolean.FALSE));
+    }
+
+    /**
+     * Primera pasada completa, en segundo plano poco después de iniciar.
+     */
+    @Scheduled(initialDelayString = "${availability.next-slot.initial-delay:10000}")
+    public void refreshOnStartup() {
+        refreshAll();
+    }
+
+    /**
+     * Recalcula todos los profesionales una vez por día.
+     */
+    @Scheduled(cron = "${availability.next-slot.refresh-cron:0 5 0 * * *}")
+    public void refreshAll() {
+        List<Long> ids = professionalRepository.findAllIds();
+        int changed = recomputeAll(ids);
+        log.info("Próximos turnos libres recalculados: {} profesionales, {} con cambios", ids.size(), changed);
+    }
+
+    /**
+     * Recalcula solo los profesionales cuyo próximo turno libre ya empezó.
+     */
+    @Scheduled(cron = "${availability.next-slot.stale-cron:0 */15 * * * *}")
+    public void refreshPastSlots() {
+        String now = LocalTime.now().format(SlotCalculator.TIME_FORMATTER);
+        recomputeAll(nextAvailableSlotRepository.findProfessionalIdsWithPastSlots(LocalDate.now(), now));
+    }
+
+    /**
+     * Recalcula el próximo turno libre de cada servicio activo del profesional.
+     *
+     * @return true si cambió la fecha más cercana del profesional
+     */
+    public boolean recompute(Long professionalId) {
+        return recalculateInTransaction(professionalId, true).isPresent();
+    }
+
+    /**
+     * Recalcula varios profesionales y publica un único evento con los cambios.
+     *
+     * @return cantidad de profesionales cuya fecha más cercana cambió
+     */
+    private int recomputeAll(List<Long> professionalIds) {
+        List<EarliestSlot> changes = professionalIds.stream()
+                .map(id -> recalculateInTransaction(id, false))
+                .flatMap(Optional::stream)
+                .toList();
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new NextAvailableChangedEvent(changes));
+        }
+        return changes.size();
+    }
+
+    /**
+     * Recalcula en una transacción propia. Si otro recálculo concurrente del mismo
+     * profesional insertó o borró una fila antes del commit, repite una vez: la
+     * segunda pasada lee lo que dejó el otro y lo actualiza.
+     *
+     * @param publish si se publica el cambio dentro de la transacción, para que el
+     *                directorio lo reciba después del commit
+     */
+    private Optional<EarliestSlot> recalculateInTransaction(Long professionalId, boolean publish) {
+        TransactionCallback<Optional<EarliestSlot>> work = status -> {
+            Optional<EarliestSlot> change = recalculate(professionalId);
+            if (publish) {
+                change.ifPresent(earliest -> eventPublisher.publishEvent(new NextAvailableChangedEvent(List.of(earliest))));
+            }
+            return change;
+        };
+        try {
+            return transactionTemplate.execute(work);
+        } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+            log.debug("Próximo turno libre del profesional {} recalculado en paralelo, se repite", professionalId);
+            return transactionTemplate.execute(work);
+        }
+    }
+
+    /**
+     * Recalcula en la transacción del llamador.
+     *
+     * @return la nueva fecha más cercana, o vacío si no cambió
+     */
+    private Optional<EarliestSlot> recalculate(Long professionalId) {
+        LocalDate today = LocalDate.now();
+        LocalTime now = LocalTime.now();
+
+        List<NextAvailableSlot> previous = nextAvailableSlotRepository.findByProfessionalId(professionalId);
+        LocalDate previousEarliest = earliest(previous);
+        Map<Long, NextAvailableSlot> stale = previous.stream()
+                .collect(Collectors.toMap(slot -> slot.getService().getId(), Function.identity()));
+
+        // Tres consultas por profesional, sin importar cuántos días o servicios haya
+        List<Service> services = serviceRepository.findByProfessionalIdAndStatus(professionalId, Status.ACTIVE);
+        List<ScheduleSlot> schedule = services.isEmpty()
+                ? List.of()
+                : scheduleRepository.findByProfessionalIdAndActiveTrue(professionalId);
+        List<Appointment> appointments = schedule.isEmpty()
+                ? List.of()
+                : appointmentRepository.findByProfessionalIdAndDateBetween(
+                        professionalId, today, today.plusDays(horizonDays - 1L));
+
+        // Servicios de igual duración tienen el mismo primer slot
+        Map<Integer, Optional<SlotCalculator.FreeSlot>> byDuration = new HashMap<>();
+        List<NextAvailableSlot> current = new ArrayList<>();
+        for (Service service : services) {
+            Optional<SlotCalculator.FreeSlot> free = byDuration.computeIfAbsent(service.getDuration(),
+                    duration -> SlotCalculator.firstFreeSlot(
+                            today, now, horizonDays, duration, schedule, appointments));
+            if (free.isEmpty()) {
+                continue;
+            }
+            NextAvailableSlot slot = stale.remove(service.getId());
+            if (slot == null) {
+                slot = NextAvailableSlot.builder()
+                        .professional(service.getProfessional())
+                        .service(service)
+                        .build();
+            }
+            slot.setDate(free.get().date());
+            slot.setStartTime(free.get().startTime());
+            slot.setComputedAt(Instant.now());
+            current.add(slot);
+        }
+
+        nextAvailableSlotRepository.deleteAll(stale.values());
+        nextAvailableSlotRepository.saveAll(current);
+
+        LocalDate currentEarliest = earliest(current);
+        if (Objects.equals(previousEarliest, currentEarliest)) {
+            return Optional.empty();
+        }
+        return Optional.of(new EarliestSlot(professionalId, currentEarliest));
+    }
+
+    private static LocalDate earliest(List<NextAvailableSlot> slots) {
+        return slots.stream()
+                .map(NextAvailableSlot::getDate)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,189 @@
+package com.turnoapp.backend.availability;
+
+import com.turnoapp.backend.dto.appointment.TimeSlot;
+import com.turnoapp.backend.model.Appointment;
+import com.turnoapp.backend.model.ScheduleSlot;
+import com.turnoapp.backend.model.enums.AppointmentStatus;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Algoritmos de disponibilidad: a partir de la agenda semanal y los turnos
+ * existentes calcula los slots de un día y el primer slot libre de un rango.
+ *
+ * Son funciones puras (sin acceso a la base): las usan tanto las consultas de
+ * disponibilidad de un día como el precálculo del próximo turno libre.
+ */
+public final class SlotCalculator {
+
+    public static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    private SlotCalculator() {
+    }
+
+    /**
+     * Genera todos los slots de tiempo para los bloques de agenda.
+     *
+     * Algoritmo CRÍTICO:
+     * 1. Para cada bloque de agenda (ej: 09:00 - 13:00)
+     * 2. Generar slots según duración del servicio (ej: 60min → 09:00-10:00, 10:00-11:00, etc.)
+     * 3. Marcar slot como disponible si NO se solapa con turnos existentes
+     *
+     * @param dayAppointments turnos del día, sin los cancelados
+     */
+    public static List<TimeSlot> generateTimeSlots(
+            List<ScheduleSlot> scheduleSlots,
+            Integer serviceDuration,
+            List<Appointment> dayAppointments
+    ) {
+        List<TimeSlot> timeSlots = new ArrayList<>();
+
+        for (ScheduleSlot scheduleSlot : scheduleSlots) {
+            LocalTime currentTime = LocalTime.parse(scheduleSlot.getStartTime(), TIME_FORMATTER);
+            LocalTime endTime = LocalTime.parse(scheduleSlot.getEndTime(), TIME_FORMATTER);
+
+            // Generar slots mientras quepan en el bloque
+            while (fits(currentTime, serviceDuration, endTime)) {
+                String slotStart = currentTime.format(TIME_FORMATTER);
+                String slotEnd = currentTime.plusMinutes(serviceDuration).format(TIME_FORMATTER);
+
+                timeSlots.add(new TimeSlot(slotStart, slotEnd, isFree(slotStart, slotEnd, dayAppointments)));
+
+                // Avanzar al siguiente slot
+                currentTime = currentTime.plusMinutes(serviceDuration);
+            }
+        }
+
+        return timeSlots;
+    }
+
+    /**
+     * Verifica si una fecha tiene al menos un slot disponible.
+     *
+     * @param allScheduleSlots agenda completa (todos los días de la semana)
+     * @param existingAppointments turnos de cualquier fecha y estado; se filtran acá
+     */
+    public static boolean hasAvailabilityForDate(
+            LocalDate date,
+            Integer serviceDuration,
+            List<ScheduleSlot> allScheduleSlots,
+            List<Appointment> existingAppointments
+    ) {
+        List<Appointment> dayAppointments = existingAppointments.stream()
+                .filter(apt -> apt.getDate().equals(date) && apt.getStatus() != AppointmentStatus.CANCELLED)
+                .toList();
+
+        return firstFreeSlotOfDay(date, serviceDuration, allScheduleSlots, dayAppointments, null).isPresent();
+    }
+
+    /**
+     * Primer slot libre desde {@code from} (inclusive) durante {@code days} días.
+     *
+     * @param notBefore hora mínima para el primer día (los slots de hoy que ya
+     *                  empezaron no cuentan), o null para el día completo
+     * @param existingAppointments turnos del rango, de cualquier estado
+     * @return fecha y hora de inicio del slot, o vacío si no hay ninguno en el rango
+     */
+    public static Optional<FreeSlot> firstFreeSlot(
+            LocalDate from,
+            LocalTime notBefore,
+            int days,
+            Integer serviceDuration,
+            List<ScheduleSlot> allScheduleSlots,
+            List<Appointment> existingAppointments
+    ) {
+        if (allScheduleSlots.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<LocalDate, List<Appointment>> byDate = existingAppointments.stream()
+                .filter(apt -> apt.getStatus() != AppointmentStatus.CANCELLED)
+                .collect(Collectors.groupingBy(Appointment::getDate));
+
+        for (int i = 0; i < days; i++) {
+            LocalDate date = from.plusDays(i);
+            Optional<String> start = firstFreeSlotOfDay(
+                    date,
+                    serviceDuration,
+                    allScheduleSlots,
+                    byDate.getOrDefault(date, List.of()),
+                    i == 0 && notBefore != null ? notBefore.format(TIME_FORMATTER) : null
+            );
+            if (start.isPresent()) {
+                return Optional.of(new FreeSlot(date, start.get()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Verifica si dos rangos horarios se solapan.
+     *
+     * Lógica: Dos rangos [A_start, A_end] y [B_start, B_end] se solapan si:
+     *   A_start < B_end AND A_end > B_start
+     *
+     * Ejemplo:
+     *   A: 09:00 - 10:00
+     *   B: 09:30 - 10:30
+     *   Check: 09:00 < 10:30 AND 10:00 > 09:30 → TRUE (se solapan)
+     */
+    public static boolean isOverlapping(String start1, String end1, String start2, String end2) {
+        return start1.compareTo(end2) < 0 && end1.compareTo(start2) > 0;
+    }
+
+    /**
+     * Convierte DayOfWeek de Java a formato 0-6 (0=Domingo, 6=Sábado).
+     */
+    public static int toDayOfWeek(DayOfWeek dayOfWeek) {
+        return dayOfWeek.getValue() % 7; // MONDAY=1 → 1, SUNDAY=7 → 0
+    }
+
+    private static Optional<String> firstFreeSlotOfDay(
+            LocalDate date,
+            Integer serviceDuration,
+            List<ScheduleSlot> allScheduleSlots,
+            List<Appointment> dayAppointments,
+            String notBefore
+    ) {
+        int dayOfWeek = toDayOfWeek(date.getDayOfWeek());
+
+        // Bloques del día en orden, para que el primer slot libre sea el más temprano
+        List<ScheduleSlot> daySchedule = allScheduleSlots.stream()
+                .filter(slot -> slot.getDayOfWeek().equals(dayOfWeek))
+                .sorted(Comparator.comparing(ScheduleSlot::getStartTime))
+                .toList();
+
+        return generateTimeSlots(daySchedule, serviceDuration, dayAppointments).stream()
+                .filter(TimeSlot::available)
+                .map(TimeSlot::startTime)
+                .filter(start -> notBefore == null || start.compareTo(notBefore) >= 0)
+                .findFirst();
+    }
+
+    private static boolean isFree(String slotStart, String slotEnd, List<Appointment> dayAppointments) {
+        return dayAppointments.stream().noneMatch(apt ->
+                isOverlapping(slotStart, slotEnd, apt.getStartTime(), apt.getEndTime())
+        );
+    }
+
+    private static boolean fits(LocalTime start, Integer serviceDuration, LocalTime endTime) {
+        LocalTime slotEnd = start.plusMinutes(serviceDuration);
+        // Un slot que cruza la medianoche "da la vuelta" y no entra en el bloque
+        return !slotEnd.isAfter(endTime) && slotEnd.isAfter(start);
+    }
+
+    /**
+     * @param startTime hora de inicio (HH:mm)
+     */
+    public record FreeSlot(LocalDate date, String startTime) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.turnoapp.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.turnoapp.backend.dto.appointment.AppointmentSummaryResponse;
+import com.turnoapp.backend.event.AppointmentChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+/**
+ * Caché de los resúmenes del panel por profesional y rango.
+ *
+ * Se invalida con {@link AppointmentChangedEvent} una vez confirmada la
+ * transacción. El TTL corto cubre lo que no publica evento (cambios de precio
+ * de un servicio).
+ */
+@Component
+public class AppointmentSummaryCache {
+
+    private final Cache<Key, AppointmentSummaryResponse> summaries;
+
+    public AppointmentSummaryCache(
+            MeterRegistry meterRegistry,
+            @Value("${appointments.summary-cache.maximum-size:10000}") long maximumSize,
+            @Value("${appointments.summary-cache.expire-after-write:5m}") Duration expireAfterWrite
+    ) {
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, summaries, "appointmentSummary");
+    }
+
+    /**
+     * @param today fecha actual: el resumen de ayer no sirve aunque no haya cambios
+     */
+    public AppointmentSummaryResponse get(
+            Long professionalId,
+            LocalDate from,
+            LocalDate to,
+            LocalDate today,
+            Supplier<AppointmentSummaryResponse> loader
+    ) {
+        return summaries.get(new Key(professionalId, from, to, today), key -> loader.get());
+    }
+
+    public void evict(Long professionalId) {
+        summaries.asMap().keySet().removeIf(key -> key.professionalId().equals(professionalId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        evict(event.professionalId());
+    }
+
+    private record Key(Long professionalId, LocalDate from, LocalDate to, LocalDate today) {
+    }
+}
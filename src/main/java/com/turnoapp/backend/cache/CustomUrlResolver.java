@@ -0,0 +1,136 @@
+package com.turnoapp.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.turnoapp.backend.event.CustomUrlChangedEvent;
+import com.turnoapp.backend.repository.ProfessionalRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Resolución customUrl → professionalId de las rutas públicas, con caché.
+ *
+ * Las URLs existentes se guardan en una caché positiva; las inexistentes
+ * (típicamente bots probando rutas) en una negativa más chica y con TTL corto,
+ * así una URL desconocida repetida no vuelve a consultar la base. Ambas se
+ * invalidan con {@link CustomUrlChangedEvent} una vez confirmada la transacción.
+ *
+ * Una consulta que empezó antes de una invalidación no guarda su resultado: cada
+ * invalidación avanza {@code generation}, y el resultado se guarda solo si la
+ * generación no cambió mientras se consultaba.
+ */
+@Component
+public class CustomUrlResolver {
+
+    private final ProfessionalRepository professionalRepository;
+    private final Cache<String, Long> known;
+    private final Cache<String, Boolean> unknown;
+    private final AtomicLong generation = new AtomicLong();
+
+    public CustomUrlResolver(
+            ProfessionalRepository professionalRepository,
+            MeterRegistry meterRegistry,
+            @Value("${public-profile.url-cache.maximum-size:50000}") long maximumSize,
+            @Value("${public-profile.url-cache.expire-after-write:10m}") Duration expireAfterWrite,
+            @Value("${public-profile.url-cache.negative-maximum-size:10000}") long negativeMaximumSize,
+            @Value("${public-profile.url-cache.negative-expire-after-write:30s}") Duration negativeExpireAfterWrite
+    ) {
+        this.professionalRepository = professionalRepository;
+        this.known = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.unknown = Caffeine.newBuilder()
+                .maximumSize(negativeMaximumSize)
+                .expireAfterWrite(negativeExpireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, known, "customUrl");
+        CaffeineCacheMetrics.monitor(meterRegistry, unknown, "customUrlUnknown");
+    }
+
+    /**
+     * @return ID del profesional con esa URL, o vacío si no existe
+     */
+    public Optional<Long> resolve(String customUrl) {
+        Long professionalId = known.getIfPresent(customUrl);
+        if (professionalId != null) {
+            return Optional.of(professionalId);
+        }
+        if (unknown.getIfPresent(customUrl) != null) {
+            return Optional.empty();
+        }
+
+        long loadedAt = generation.get();
+        Optional<Long> found = professionalRepository.findIdByCustomUrl(customUrl);
+        remember(customUrl, found, loadedAt);
+        return found;
+    }
+
+    /**
+     * Carga la entidad de una URL con una sola consulta: por id si la URL está
+     * cacheada, o por URL si no (y se cachea el resultado).
+     *
+     * @param byId  carga por ID de profesional
+     * @param byUrl carga por URL, para el caso no cacheado
+     * @param idOf  ID de profesional de la entidad cargada
+     */
+    public <T> Optional<T> load(
+            String customUrl,
+            Function<Long, Optional<T>> byId,
+            Function<String, Optional<T>> byUrl,
+            Function<T, Long> idOf
+    ) {
+        Long professionalId = known.getIfPresent(customUrl);
+        if (professionalId != null) {
+            return byId.apply(professionalId);
+        }
+        if (unknown.getIfPresent(customUrl) != null) {
+            return Optional.empty();
+        }
+
+        long loadedAt = generation.get();
+        Optional<T> found = byUrl.apply(customUrl);
+        remember(customUrl, found.map(idOf), loadedAt);
+        return found;
+    }
+
+    /**
+     * Guarda el resultado de una consulta si no hubo invalidaciones desde que empezó.
+     * La comprobación corre dentro del compute de la clave, serializada con el
+     * invalidate de {@link #evict}: o la invalidación ve la entrada y la borra, o
+     * el compute ve la generación nueva y no la guarda.
+     */
+    private void remember(String customUrl, Optional<Long> found, long loadedAt) {
+        if (found.isPresent()) {
+            known.asMap().compute(customUrl, (url, current) ->
+                    generation.get() == loadedAt ? found.get() : current);
+        } else {
+            unknown.asMap().compute(customUrl, (url, current) ->
+                    generation.get() == loadedAt ? Boolean.TRUE : current);
+        }
+    }
+
+    public void evict(String customUrl) {
+        if (customUrl != null) {
+            generation.incrementAndGet();
+            known.invalidate(customUrl);
+            unknown.invalidate(customUrl);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomUrlChanged(CustomUrlChangedEvent event) {
+        evict(event.previousUrl());
+        evict(event.currentUrl());
+    }
+}
@@ -0,0 +1,10 @@
+package com.turnoapp.backend.cache;
+
+/**
+ * Respuesta JSON ya serializada: los bytes UTF-8, su versión gzip y el ETag.
+ *
+ * @param professionalId profesional del que depende, para invalidar
+ * @param value          DTO original, para las representaciones que no son JSON (CBOR)
+ */
+public record JsonSnapshot(Long professionalId, Object value, byte[] json, byte[] gzip, String etag) {
+}
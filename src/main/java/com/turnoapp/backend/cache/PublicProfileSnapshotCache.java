@@ -0,0 +1,137 @@
+package com.turnoapp.backend.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.turnoapp.backend.dto.professional.ProfessionalResponse;
+import com.turnoapp.backend.event.CustomUrlChangedEvent;
+import com.turnoapp.backend.event.ProfessionalChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Perfiles públicos pre-serializados por customUrl.
+ *
+ * Cada entrada guarda los bytes JSON finales y su versión gzip, así una
+ * lectura repetida no arma entidades ni DTOs ni vuelve a serializar. Se
+ * invalidan con {@link ProfessionalChangedEvent} (perfil, estado o SiteConfig) y
+ * {@link CustomUrlChangedEvent} una vez confirmada la transacción; la siguiente
+ * lectura las regenera.
+ *
+ * Una carga puede empezar antes de una invalidación por profesional y terminar
+ * después, cuando el barrido ya pasó: cada entrada guarda la generación en que
+ * empezó su carga, y al leerla se descarta si su profesional se invalidó después.
+ */
+@Component
+public class PublicProfileSnapshotCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Entry> snapshots;
+    /**
+     * Generación de la última invalidación de cada profesional; vence con las entradas.
+     */
+    private final Cache<Long, Long> evictions;
+    private final AtomicLong generation = new AtomicLong();
+
+    public PublicProfileSnapshotCache(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${public-profile.snapshot-cache.maximum-size:10000}") long maximumSize,
+            @Value("${public-profile.snapshot-cache.expire-after-write:10m}") Duration expireAfterWrite
+    ) {
+        this.objectMapper = objectMapper;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.evictions = Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "publicProfileSnapshot");
+    }
+
+    /**
+     * @param loader arma el perfil si no hay snapshot; sus excepciones se propagan sin cachear
+     */
+    public JsonSnapshot get(String customUrl, Supplier<ProfessionalResponse> loader) {
+        Entry entry = snapshots.get(customUrl, url -> load(loader));
+        if (isStale(entry)) {
+            // Cargada antes de una invalidación que no la alcanzó: se reemplaza
+            snapshots.asMap().remove(customUrl, entry);
+            entry = snapshots.get(customUrl, url -> load(loader));
+        }
+        return entry.snapshot();
+    }
+
+    public void evict(Long professionalId) {
+        evictions.put(professionalId, generation.incrementAndGet());
+        snapshots.asMap().values().removeIf(entry -> entry.snapshot().professionalId().equals(professionalId));
+    }
+
+    public void evict(String customUrl) {
+        if (customUrl != null) {
+            snapshots.invalidate(customUrl);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfessionalChanged(ProfessionalChangedEvent event) {
+        evict(event.professionalId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomUrlChanged(CustomUrlChangedEvent event) {
+        evict(event.previousUrl());
+        evict(event.currentUrl());
+    }
+
+    private Entry load(Supplier<ProfessionalResponse> loader) {
+        long loadedAt = generation.get();
+        return new Entry(render(loader.get()), loadedAt);
+    }
+
+    private boolean isStale(Entry entry) {
+        Long evictedAt = evictions.getIfPresent(entry.snapshot().professionalId());
+        return evictedAt != null && entry.generation() < evictedAt;
+    }
+
+    private JsonSnapshot render(ProfessionalResponse professional) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(professional);
+            String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+            return new JsonSnapshot(professional.id(), professional, json, gzip(json), etag);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el perfil " + professional.customUrl(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param generation generación en que empezó la carga
+     */
+    private record Entry(JsonSnapshot snapshot, long generation) {
+    }
+}
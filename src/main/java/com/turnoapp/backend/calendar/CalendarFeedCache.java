@@ -0,0 +1,173 @@
+package com.turnoapp.backend.calendar;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.turnoapp.backend.dto.appointment.AppointmentRow;
+import com.turnoapp.backend.repository.AppointmentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Feeds iCalendar de turnos por profesional, limitados a una ventana móvil
+ * (de {@code past-days} atrás a {@code future-days} adelante).
+ *
+ * Cada consulta del feed calcula primero su {@link FeedVersion} con un único
+ * agregado; si el cliente ya la tiene recibe 304. Si no, el feed cacheado se
+ * actualiza de forma incremental: solo se releen los turnos modificados desde
+ * la versión anterior. Una diferencia en la cantidad de turnos (bajas o turnos
+ * que salieron de la ventana) o un cambio de día fuerzan la regeneración completa.
+ */
+@Component
+@Slf4j
+public class CalendarFeedCache {
+
+    private static final String CALENDAR_NAME = "Turnos";
+
+    private final AppointmentRepository appointmentRepository;
+    private final int pastDays;
+    private final int futureDays;
+    private final ZoneId zone;
+    private final Cache<Long, CalendarFeed> feeds;
+
+    public CalendarFeedCache(
+            AppointmentRepository appointmentRepository,
+            MeterRegistry meterRegistry,
+            @Value("${calendar.feed.past-days:30}") int pastDays,
+            @Value("${calendar.feed.future-days:180}") int futureDays,
+            @Value("${calendar.feed.time-zone:America/Argentina/Buenos_Aires}") ZoneId zone,
+            @Value("${calendar.feed.cache.maximum-weight:64MB}") DataSize maximumWeight,
+            @Value("${calendar.feed.cache.expire-after-access:1h}") Duration expireAfterAccess
+    ) {
+        this.appointmentRepository = appointmentRepository;
+        this.pastDays = pastDays;
+        this.futureDays = futureDays;
+        this.zone = zone;
+        this.feeds = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((Long id, CalendarFeed feed) -> feed.weight())
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, feeds, "calendarFeed");
+    }
+
+    /**
+     * @return versión vigente del feed del token, o vacío si el token no existe
+     */
+    @Transactional(readOnly = true)
+    public Optional<FeedVersion> version(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        LocalDate today = LocalDate.now(zone);
+        LocalDate from = today.minusDays(pastDays);
+        LocalDate to = today.plusDays(futureDays);
+
+        return appointmentRepository.findCalendarVersion(token, from, to)
+                .map(version -> new FeedVersion(version.professionalId(), from, to,
+                        version.lastModified(), version.count(), today.atStartOfDay(zone).toInstant()));
+    }
+
+    /**
+     * @return el feed serializado de la versión, regenerado solo en lo que cambió
+     */
+    @Transactional(readOnly = true)
+    public String render(FeedVersion version) {
+        Long professionalId = version.professionalId();
+        CalendarFeed cached = feeds.getIfPresent(professionalId);
+        if (cached != null && cached.version().equals(version)) {
+            return cached.body();
+        }
+
+        // Las consultas corren fuera de la caché, sin bloquear la entrada. Se instala
+        // solo si sigue siendo lo que se leyó: si otra petición la reemplazó, se respeta
+        CalendarFeed fresh = refresh(cached, version);
+        if (cached == null) {
+            feeds.asMap().putIfAbsent(professionalId, fresh);
+        } else {
+            feeds.asMap().replace(professionalId, cached, fresh);
+        }
+        return fresh.body();
+    }
+
+    private CalendarFeed refresh(CalendarFeed cached, FeedVersion version) {
+        boolean incremental = cached != null
+                && cached.version().from().equals(version.from())
+                && cached.version().lastModified() != null;
+        Map<Long, String> events = incremental ? new TreeMap<>(cached.events()) : new TreeMap<>();
+        Instant since = incremental ? cached.version().lastModified() : null;
+
+        List<AppointmentRow> rows = appointmentRepository.findCalendarRows(
+                version.professionalId(), version.from(), version.to(), since);
+        rows.forEach(row -> events.put(row.id(), IcsWriter.event(row, zone)));
+
+        if (incremental && events.size() != version.count()) {
+            events.clear();
+            appointmentRepository.findCalendarRows(version.professionalId(), version.from(), version.to(), null)
+                    .forEach(row -> events.put(row.id(), IcsWriter.event(row, zone)));
+            incremental = false;
+        }
+
+        log.debug("Feed de calendario del profesional {} {}: {} turnos releídos", version.professionalId(),
+                incremental ? "actualizado" : "regenerado", incremental ? rows.size() : events.size());
+        return new CalendarFeed(version, events, IcsWriter.calendar(CALENDAR_NAME, events.values()));
+    }
+
+    /**
+     * Versión de un feed. El ETag incluye la ventana, así el cambio de día invalida
+     * aunque no se haya modificado ningún turno.
+     *
+     * @param lastModified máximo {@code updatedAt} de la ventana, o null si está vacía
+     * @param windowStart  inicio del día actual: piso de Last-Modified
+     */
+    public record FeedVersion(
+            Long professionalId,
+            LocalDate from,
+            LocalDate to,
+            Instant lastModified,
+            long count,
+            Instant windowStart
+    ) {
+        public String etag() {
+            long modified = lastModified != null ? lastModified.toEpochMilli() : 0;
+            return "\"" + Long.toHexString(from.toEpochDay()) + "-" + Long.toHexString(modified) + "-" + count + "\"";
+        }
+
+        public long lastModifiedMillis() {
+            return lastModified != null && lastModified.isAfter(windowStart)
+                    ? lastModified.toEpochMilli()
+                    : windowStart.toEpochMilli();
+        }
+    }
+
+    /**
+     * Feed cacheado: eventos serializados por ID de turno y el documento armado.
+     */
+    private record CalendarFeed(FeedVersion version, Map<Long, String> events, String body) {
+
+        /**
+         * Peso aproximado en bytes: caracteres del documento y de los eventos, dos bytes por carácter.
+         */
+        int weight() {
+            long chars = body.length();
+            for (String event : events.values()) {
+                chars += event.length();
+            }
+            return (int) Math.min(Integer.MAX_VALUE, chars * 2);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.turnoapp.backend.calendar;
+
+import java.time.Instant;
+
+/**
+ * Estado de la ventana de turnos de un feed: última modificación y cantidad de turnos.
+ * La cantidad detecta bajas, que no dejan rastro en {@code updatedAt}.
+ *
+ * @param lastModified máximo {@code updatedAt} de la ventana, o null si está vacía
+ */
+public record CalendarVersion(Long professionalId, Instant lastModified, Long count) {}
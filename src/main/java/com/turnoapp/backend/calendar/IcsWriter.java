@@ -0,0 +1,111 @@
+package com.turnoapp.backend.calendar;
+
+import com.turnoapp.backend.dto.appointment.AppointmentRow;
+import com.turnoapp.backend.model.enums.AppointmentStatus;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+
+/**
+ * Serialización iCalendar (RFC 5545) de los turnos. Las horas se escriben en UTC
+ * para no depender de un VTIMEZONE.
+ */
+public final class IcsWriter {
+
+    private static final String CRLF = "\r\n";
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter UTC_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private IcsWriter() {
+    }
+
+    /**
+     * Bloque VEVENT de un turno, terminado en CRLF.
+     *
+     * @param zone zona horaria en la que están expresadas fecha y hora del turno
+     */
+    public static String event(AppointmentRow row, ZoneId zone) {
+        Instant start = row.date().atTime(LocalTime.parse(row.startTime())).atZone(zone).toInstant();
+        Instant end = row.date().atTime(LocalTime.parse(row.endTime())).atZone(zone).toInstant();
+        Instant stamp = row.updatedAt() != null ? row.updatedAt() : row.createdAt();
+
+        StringBuilder event = new StringBuilder(256);
+        line(event, "BEGIN:VEVENT");
+        line(event, "UID:appointment-" + row.id() + "@turnoapp");
+        line(event, "DTSTAMP:" + UTC_FORMAT.format(stamp != null ? stamp : Instant.EPOCH));
+        line(event, "DTSTART:" + UTC_FORMAT.format(start));
+        line(event, "DTEND:" + UTC_FORMAT.format(end));
+        line(event, "SUMMARY:" + escape(row.serviceName() + " - " + row.clientFirstName() + " " + row.clientLastName()));
+        line(event, "DESCRIPTION:" + escape(description(row)));
+        line(event, "STATUS:" + (row.status() == AppointmentStatus.CANCELLED ? "CANCELLED" : "CONFIRMED"));
+        line(event, "END:VEVENT");
+        return event.toString();
+    }
+
+    /**
+     * Calendario completo con los eventos ya serializados.
+     */
+    public static String calendar(String name, Collection<String> events) {
+        StringBuilder calendar = new StringBuilder(128 + events.size() * 256);
+        line(calendar, "BEGIN:VCALENDAR");
+        line(calendar, "VERSION:2.0");
+        line(calendar, "PRODID:-//TurnoApp//Turnos//ES");
+        line(calendar, "CALSCALE:GREGORIAN");
+        line(calendar, "X-WR-CALNAME:" + escape(name));
+        events.forEach(calendar::append);
+        line(calendar, "END:VCALENDAR");
+        return calendar.toString();
+    }
+
+    private static String description(AppointmentRow row) {
+        StringBuilder description = new StringBuilder("Estado: ").append(row.status());
+        if (row.clientEmail() != null) {
+            description.append('\n').append("Email: ").append(row.clientEmail());
+        }
+        if (row.notes() != null && !row.notes().isBlank()) {
+            description.append('\n').append(row.notes());
+        }
+        return description.toString();
+    }
+
+    /**
+     * Escapa un valor TEXT: barra, punto y coma, coma y saltos de línea.
+     */
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "\\n");
+    }
+
+    /**
+     * Agrega una línea plegada cada 75 octetos UTF-8, sin cortar caracteres.
+     */
+    private static void line(StringBuilder out, String content) {
+        int octets = 0;
+        int limit = MAX_LINE_OCTETS;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > limit) {
+                out.append(CRLF).append(' ');
+                octets = 0;
+                limit = MAX_LINE_OCTETS - 1; // el espacio inicial cuenta
+            }
+            out.appendCodePoint(codePoint);
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        out.append(CRLF);
+    }
+}
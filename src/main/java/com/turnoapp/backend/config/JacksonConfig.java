@@ -0,0 +1,45 @@
+package com.turnoapp.backend.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.turnoapp.backend.dto.appointment.AppointmentResponse;
+import com.turnoapp.backend.dto.common.SparseFields;
+import com.turnoapp.backend.dto.professional.ProfessionalResponse;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Marca los DTOs que admiten {@code ?fields=} con el filtro de SparseFieldsAdvice.
+     * Se aplica como mix-in para no acoplar los records a Jackson; sin filtro
+     * registrado (respuestas sin {@code fields}) se serializan completos.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsCustomizer() {
+        return builder -> builder
+                .mixIn(AppointmentResponse.class, SparseFieldsMixin.class)
+                .mixIn(ProfessionalResponse.class, SparseFieldsMixin.class)
+                .filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+
+    /**
+     * {@code application/cbor} para requests y respuestas, elegido por Accept/Content-Type.
+     * Usa el builder de Spring Boot para que los DTOs se serialicen con la misma
+     * configuración que en JSON (fechas ISO, mix-ins, filtros); JSON sigue siendo
+     * la representación por defecto.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @JsonFilter(SparseFields.FILTER)
+    interface SparseFieldsMixin {
+    }
+}
@@ -1,12 +1,7 @@
 package com.turnoapp.backend.config.security;
 
-import com.turnoapp.backend.model.Client;
-import com.turnoapp.backend.model.Professional;
 import com.turnoapp.backend.model.User;
 import com.turnoapp.backend.model.enums.Status;
-import com.turnoapp.backend.model.enums.UserRole;
-import com.turnoapp.backend.repository.ClientRepository;
-import com.turnoapp.backend.repository.ProfessionalRepository;
 import com.turnoapp.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.DisabledException;
@@ -21,8 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
-    private final ProfessionalRepository professionalRepository;
-    private final ClientRepository clientRepository;
+    private final UserIdentityCache userIdentityCache;
 
     @Override
     @Transactional
@@ -31,41 +25,31 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .orElseThrow(() ->
                         new UsernameNotFoundException("User not found with email: " + email));
 
-        return createUserDetails(user);
+        // El login necesita el hash de la contraseña; los IDs salen de la caché
+        UserIdentity identity = userIdentityCache.get(user.getId());
+        return createUserDetails(identity, user.getPasswordHash());
     }
 
-    @Transactional
+    /**
+     * Carga el principal para un request con JWT. No consulta la base si la
+     * identidad ya está cacheada.
+     */
     public UserDetails loadUserByUserId(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() ->
-                        new UsernameNotFoundException("User not found with id: " + userId));
-
-        return createUserDetails(user);
+        return createUserDetails(userIdentityCache.get(userId), null);
     }
 
-    private UserDetails createUserDetails(User user) {
-        if (user.getStatus() != Status.ACTIVE) {
+    private UserDetails createUserDetails(UserIdentity identity, String passwordHash) {
+        if (identity.status() != Status.ACTIVE) {
             throw new DisabledException("User account is disabled");
         }
-        Long professionalId = UserRole.PROFESSIONAL.equals(user.getRole())
-                ? professionalRepository.findByUserId(user.getId())
-                    .map(Professional::getId)
-                    .orElse(null)
-                : null;
-
-        Long clientId = UserRole.CLIENT.equals(user.getRole())
-                ? clientRepository.findByUserId(user.getId())
-                .map(Client::getId)
-                .orElse(null)
-                : null;
 
         return new CustomUserDetails(
-                user.getId(),
-                user.getEmail(),
-                user.getPasswordHash(),
-                user.getRole(),
-                professionalId,
-                clientId
+                identity.userId(),
+                identity.email(),
+                passwordHash,
+                identity.role(),
+                identity.professionalId(),
+                identity.clientId()
         );
     }
 }
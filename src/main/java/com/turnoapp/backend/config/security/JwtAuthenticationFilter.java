@@ -1,13 +1,17 @@
 package com.turnoapp.backend.config.security;
 
-import com.turnoapp.backend.model.enums.UserRole;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -15,12 +19,36 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Autentica requests con header Bearer.
+ *
+ * Los tokens rechazados no se loguean: se cuentan en la métrica
+ * {@code security.jwt.rejected} (tag {@code reason}) y el request sigue como anónimo.
+ */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String REJECTED_TOKENS_METRIC = "security.jwt.rejected";
+
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final Counter expiredTokens;
+    private final Counter invalidTokens;
+    private final Counter unknownUsers;
+    private final Counter disabledUsers;
+
+    public JwtAuthenticationFilter(
+            JwtTokenProvider tokenProvider,
+            CustomUserDetailsService userDetailsService,
+            MeterRegistry meterRegistry
+    ) {
+        this.tokenProvider = tokenProvider;
+        this.userDetailsService = userDetailsService;
+        this.expiredTokens = rejectedTokensCounter(meterRegistry, "expired");
+        this.invalidTokens = rejectedTokensCounter(meterRegistry, "invalid");
+        this.unknownUsers = rejectedTokensCounter(meterRegistry, "user_not_found");
+        this.disabledUsers = rejectedTokensCounter(meterRegistry, "user_disabled");
+    }
 
     @Override
     protected void doFilterInternal(
@@ -28,30 +56,50 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain
     ) throws ServletException, IOException {
-        try {
-            String jwt = getJwtFromRequest(request);
-
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromToken(jwt);
-                CustomUserDetails userDetails = (CustomUserDetails) userDetailsService.loadUserByUserId(userId);
-
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
-        } catch (Exception ex) {
-            logger.error("Could not set user authentication in security context", ex);
+        String jwt = getJwtFromRequest(request);
+
+        if (StringUtils.hasText(jwt)) {
+            authenticate(jwt, request);
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private void authenticate(String jwt, HttpServletRequest request) {
+        Long userId;
+        try {
+            // Un solo parseo: valida firma/expiración y extrae el subject
+            userId = tokenProvider.getUserIdFromToken(jwt);
+        } catch (ExpiredJwtException ex) {
+            expiredTokens.increment();
+            return;
+        } catch (JwtException | IllegalArgumentException ex) {
+            invalidTokens.increment();
+            return;
+        }
+
+        CustomUserDetails userDetails;
+        try {
+            userDetails = (CustomUserDetails) userDetailsService.loadUserByUserId(userId);
+        } catch (UsernameNotFoundException ex) {
+            unknownUsers.increment();
+            return;
+        } catch (DisabledException ex) {
+            disabledUsers.increment();
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                );
+
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -59,4 +107,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
+
+    private static Counter rejectedTokensCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(REJECTED_TOKENS_METRIC)
+                .description("JWT recibidos que no autenticaron el request")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
 }
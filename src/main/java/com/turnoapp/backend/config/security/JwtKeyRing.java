@@ -0,0 +1,224 @@
+package com.turnoapp.backend.config.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PrivateJwk;
+import io.jsonwebtoken.security.PublicJwk;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Claves de firma y verificación de JWT, mantenidas en memoria.
+ *
+ * Fuente de claves ({@code jwt.keys.file}): un JWK Set con claves EdDSA (Ed25519)
+ * o ES256 (P-256). Las claves públicas verifican; la clave privada cuyo {@code kid}
+ * indica el miembro {@code "active"} firma los tokens nuevos:
+ * <pre>
+ * {"active": "2025-06", "keys": [ {private JWK "2025-06"}, {public JWK "2025-01"} ]}
+ * </pre>
+ * Un nodo que solo verifica recibe un archivo sin claves privadas. El archivo se
+ * relee periódicamente: rotar es agregar la clave nueva, activarla y quitar la
+ * vieja cuando expiren sus tokens, sin reinicios ni logout masivo.
+ *
+ * {@code jwt.secret} (HMAC) queda como clave legacy: firma si no hay archivo y
+ * verifica los tokens emitidos antes de la migración (sin {@code kid}).
+ */
+@Component
+@Slf4j
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+    private static final String ACTIVE_KEY_MEMBER = "active";
+
+    private final SecretKey legacySecret;
+    private final Path keySetFile;
+    private volatile KeySnapshot snapshot;
+
+    @Autowired
+    public JwtKeyRing(
+            @Value("${jwt.secret:}") String secret,
+            @Value("${jwt.keys.file:}") String keySetFile
+    ) {
+        this(
+                StringUtils.hasText(secret) ? Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)) : null,
+                StringUtils.hasText(keySetFile) ? Path.of(keySetFile) : null
+        );
+    }
+
+    JwtKeyRing(SecretKey legacySecret, Path keySetFile) {
+        this(legacySecret, keySetFile, keySetFile != null ? readKeySet(keySetFile) : KeySnapshot.EMPTY);
+    }
+
+    private JwtKeyRing(SecretKey legacySecret, Path keySetFile, KeySnapshot snapshot) {
+        if (legacySecret == null && snapshot.verificationKeys().isEmpty()) {
+            throw new IllegalStateException("Se requiere jwt.secret o jwt.keys.file");
+        }
+        this.legacySecret = legacySecret;
+        this.keySetFile = keySetFile;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Anillo en memoria, sin archivo. Usado por benchmarks y tests.
+     */
+    public static JwtKeyRing inMemory(
+            SecretKey legacySecret,
+            String signingKid,
+            PrivateKey signingKey,
+            Map<String, PublicKey> verificationKeys
+    ) {
+        return new JwtKeyRing(legacySecret, null,
+                new KeySnapshot(signingKid, signingKey, Map.copyOf(verificationKeys), -1));
+    }
+
+    /**
+     * Clave con la que se firman los tokens nuevos: la privada activa o, si no hay, la HMAC legacy.
+     */
+    SigningKey signingKey() {
+        KeySnapshot current = snapshot;
+        if (current.signingKey() != null) {
+            return new SigningKey(current.signingKid(), current.signingKey());
+        }
+        if (legacySecret != null) {
+            return new SigningKey(null, legacySecret);
+        }
+        throw new IllegalStateException("Este nodo solo verifica tokens: no hay clave de firma configurada");
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (legacySecret == null) {
+                throw new UnsupportedJwtException("Token sin kid y sin clave HMAC legacy configurada");
+            }
+            return legacySecret;
+        }
+
+        PublicKey key = snapshot.verificationKeys().get(kid);
+        if (key == null) {
+            throw new UnsupportedJwtException("kid desconocido: " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * Relee el JWK Set si el archivo cambió. Si el archivo nuevo es inválido se
+     * conservan las claves anteriores.
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.reload-interval:30000}")
+    public void reloadIfChanged() {
+        if (keySetFile == null) {
+            return;
+        }
+        try {
+            long lastModified = Files.getLastModifiedTime(keySetFile).toMillis();
+            if (lastModified == snapshot.lastModified()) {
+                return;
+            }
+            KeySnapshot reloaded = readKeySet(keySetFile);
+            snapshot = reloaded;
+            log.info("JWK Set recargado: firma={}, verificación={}",
+                    reloaded.signingKid(), reloaded.verificationKeys().keySet());
+        } catch (IOException | RuntimeException ex) {
+            log.error("No se pudo recargar el JWK Set {}: se mantienen las claves actuales ({})",
+                    keySetFile, ex.getMessage());
+        }
+    }
+
+    private static KeySnapshot readKeySet(Path file) {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            JwkSet jwkSet = Jwks.setParser().build().parse(reader);
+            return toSnapshot(jwkSet, lastModified);
+        } catch (IOException ex) {
+            throw new IllegalStateException("No se pudo leer el JWK Set " + file, ex);
+        }
+    }
+
+    private static KeySnapshot toSnapshot(JwkSet jwkSet, long lastModified) {
+        Map<String, PublicKey> verificationKeys = new HashMap<>();
+        Map<String, PrivateKey> privateKeys = new HashMap<>();
+
+        for (Jwk<?> jwk : jwkSet) {
+            String kid = jwk.getId();
+            if (!StringUtils.hasText(kid)) {
+                throw new IllegalArgumentException("Todas las claves del JWK Set deben tener kid");
+            }
+            requireSupportedAlgorithm(jwk);
+            if (jwk instanceof PrivateJwk<?, ?, ?> privateJwk) {
+                privateKeys.put(kid, privateJwk.toKey());
+                verificationKeys.put(kid, privateJwk.toPublicJwk().toKey());
+            } else if (jwk instanceof PublicJwk<?> publicJwk) {
+                verificationKeys.put(kid, publicJwk.toKey());
+            } else {
+                throw new IllegalArgumentException("Clave no soportada (se esperan EdDSA con Ed25519 o ES256 con P-256): " + kid);
+            }
+        }
+
+        Object active = jwkSet.get(ACTIVE_KEY_MEMBER);
+        String signingKid = active != null ? active.toString()
+                : privateKeys.size() == 1 ? privateKeys.keySet().iterator().next()
+                : null;
+        if (signingKid != null && !privateKeys.containsKey(signingKid)) {
+            throw new IllegalArgumentException("La clave activa no es una clave privada del set: " + signingKid);
+        }
+
+        return new KeySnapshot(
+                signingKid,
+                signingKid != null ? privateKeys.get(signingKid) : null,
+                Map.copyOf(verificationKeys),
+                lastModified
+        );
+    }
+
+    /**
+     * Solo se aceptan Ed25519 (EdDSA) y P-256 (ES256): un set con otra clave falla
+     * al cargar en lugar de firmar tokens con un algoritmo inesperado.
+     */
+    private static void requireSupportedAlgorithm(Jwk<?> jwk) {
+        String type = jwk.getType();
+        Object curve = jwk.get("crv");
+        String algorithm = jwk.getAlgorithm();
+        boolean supported = "OKP".equals(type)
+                ? "Ed25519".equals(curve) && (algorithm == null || "EdDSA".equals(algorithm))
+                : "EC".equals(type) && "P-256".equals(curve) && (algorithm == null || "ES256".equals(algorithm));
+        if (!supported) {
+            throw new IllegalArgumentException("Clave no soportada (se esperan EdDSA con Ed25519 o ES256 con P-256): "
+                    + jwk.getId() + " (" + type + (curve != null ? " " + curve : "")
+                    + (algorithm != null ? " " + algorithm : "") + ")");
+        }
+    }
+
+    record SigningKey(String kid, Key key) {
+    }
+
+    private record KeySnapshot(
+            String signingKid,
+            PrivateKey signingKey,
+            Map<String, PublicKey> verificationKeys,
+            long lastModified
+    ) {
+        static final KeySnapshot EMPTY = new KeySnapshot(null, null, Map.of(), -1);
+    }
+}
@@ -3,39 +3,50 @@ package com.turnoapp.backend.config.security;
 import com.turnoapp.backend.model.User;
 import com.turnoapp.backend.model.enums.UserRole;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
+/**
+ * Emite y verifica JWT con las claves de {@link JwtKeyRing}.
+ * Los tokens firmados con clave asimétrica llevan el header {@code kid}.
+ */
 @Component
 public class JwtTokenProvider {
 
-    private final SecretKey secretKey;
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
     private final long jwtExpiration;
 
     public JwtTokenProvider(
-            @Value("${jwt.secret}") String secret,
+            JwtKeyRing keyRing,
             @Value("${jwt.expiration}") long jwtExpiration
     ) {
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.keyRing = keyRing;
+        // El parser es inmutable y thread-safe; la clave se resuelve por kid en cada token
+        this.parser = Jwts.parser()
+                .keyLocator(keyRing)
+                .build();
         this.jwtExpiration = jwtExpiration;
     }
 
     public String generateToken(User user, Long professionalId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
+        JwtKeyRing.SigningKey signingKey = keyRing.signingKey();
 
         JwtBuilder builder = Jwts.builder()
                 .subject(user.getId().toString())
                 .claim("email", user.getEmail())
                 .claim("role", user.getRole().name())
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(secretKey);
+                .expiration(expiryDate);
+
+        if (signingKey.kid() != null) {
+            builder.header().keyId(signingKey.kid()).and();
+        }
+        builder.signWith(signingKey.key());
 
         if (professionalId != null) {
             builder.claim("professionalId", professionalId);
@@ -45,44 +56,20 @@ public class JwtTokenProvider {
     }
 
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return Long.parseLong(claims.getSubject());
+        return Long.parseLong(parseClaims(token).getSubject());
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.get("email", String.class);
+        return parseClaims(token).get("email", String.class);
     }
 
     public UserRole getRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        String role = claims.get("role", String.class);
+        String role = parseClaims(token).get("role", String.class);
         return UserRole.valueOf(role);
     }
 
     public Long getProfessionalIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        Object professionalIdClaim = claims.get("professionalId");
+        Object professionalIdClaim = parseClaims(token).get("professionalId");
         if (professionalIdClaim != null) {
             return Long.valueOf(professionalIdClaim.toString());
         }
@@ -91,13 +78,14 @@ public class JwtTokenProvider {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
+            parseClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
+
+    private Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
 }
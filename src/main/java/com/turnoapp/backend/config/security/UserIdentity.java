@@ -0,0 +1,18 @@
+package com.turnoapp.backend.config.security;
+
+import com.turnoapp.backend.model.enums.Status;
+import com.turnoapp.backend.model.enums.UserRole;
+
+/**
+ * Datos de identidad que enriquecen al principal autenticado.
+ * Se resuelven en una sola consulta y se cachean por userId.
+ */
+public record UserIdentity(
+        Long userId,
+        String email,
+        UserRole role,
+        Status status,
+        Long professionalId,  // null si no es profesional
+        Long clientId         // null si no es cliente
+) {
+}
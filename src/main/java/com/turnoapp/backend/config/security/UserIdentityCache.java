@@ -0,0 +1,62 @@
+package com.turnoapp.backend.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.turnoapp.backend.event.UserIdentityChangedEvent;
+import com.turnoapp.backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Caché acotada userId → {@link UserIdentity}.
+ *
+ * La usan el filtro JWT (vía {@link CustomUserDetailsService}) y los servicios
+ * para no repetir las búsquedas de profesional/cliente en cada request.
+ * Se invalida con {@link UserIdentityChangedEvent} una vez confirmada la transacción.
+ */
+@Component
+public class UserIdentityCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, UserIdentity> cache;
+
+    public UserIdentityCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${security.identity-cache.maximum-size:10000}") long maximumSize,
+            @Value("${security.identity-cache.expire-after-write:10m}") Duration expireAfterWrite
+    ) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userIdentity");
+    }
+
+    /**
+     * Obtiene la identidad del usuario, resolviéndola en la base si no está cacheada.
+     *
+     * @throws UsernameNotFoundException si el usuario no existe (no se cachea)
+     */
+    public UserIdentity get(Long userId) {
+        return cache.get(userId, id -> userRepository.findIdentityById(id)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id)));
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserIdentityChanged(UserIdentityChangedEvent event) {
+        evict(event.userId());
+    }
+}
@@ -2,20 +2,35 @@ package com.turnoapp.backend.controller;
 
 import com.turnoapp.backend.config.security.CustomUserDetails;
 import com.turnoapp.backend.dto.appointment.*;
+import com.turnoapp.backend.dto.common.CursorPageResponse;
+import com.turnoapp.backend.dto.common.ResourceVersion;
+import com.turnoapp.backend.dto.common.SparseFields;
+import com.turnoapp.backend.exception.ResourceNotFoundException;
+import com.turnoapp.backend.export.AppointmentExportFormat;
+import com.turnoapp.backend.export.AppointmentExporter;
+import com.turnoapp.backend.model.enums.AppointmentStatus;
 import com.turnoapp.backend.model.enums.UserRole;
 import com.turnoapp.backend.service.AppointmentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/appointments")
@@ -23,28 +38,184 @@ import java.util.List;
 @Slf4j
 public class AppointmentController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SUMMARY_DAYS = 366;
+
     private final AppointmentService appointmentService;
+    private final AppointmentExporter appointmentExporter;
 
 
     @GetMapping
     @PreAuthorize("hasRole('PROFESSIONAL')")
-    public ResponseEntity<List<AppointmentResponse>> getAppointments(Authentication authentication) {
+    public ResponseEntity<List<AppointmentResponse>> getAppointments(
+            Authentication authentication,
+            WebRequest webRequest
+    ) {
         Long professionalId = getProfessionalId(authentication);
 
+        ResourceVersion version = appointmentService.getAppointmentsVersionByProfessional(professionalId);
+        if (webRequest.checkNotModified(RepresentationEtags.of(version.etag(), webRequest), version.lastModifiedMillis())) {
+            return null;
+        }
+
         List<AppointmentResponse> appointments = appointmentService.getAppointmentsByProfessional(professionalId);
 
-        return ResponseEntity.ok(appointments);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(appointments);
     }
 
 
     @GetMapping("/client")
     @PreAuthorize("hasRole('CLIENT')")
-    public ResponseEntity<List<AppointmentResponse>> getClientAppointments(Authentication authentication) {
-        Long clientId = getUserId(authentication);
+    public ResponseEntity<List<AppointmentResponse>> getClientAppointments(
+            Authentication authentication,
+            WebRequest webRequest
+    ) {
+        Long clientId = getClientId(authentication);
+
+        ResourceVersion version = appointmentService.getAppointmentsVersionByClient(clientId);
+        if (webRequest.checkNotModified(RepresentationEtags.of(version.etag(), webRequest), version.lastModifiedMillis())) {
+            return null;
+        }
 
         List<AppointmentResponse> appointments = appointmentService.getAppointmentsByClient(clientId);
 
-        return ResponseEntity.ok(appointments);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(appointments);
+    }
+
+
+    /**
+     * Resumen del panel (turnos de hoy y de la semana, por estado e ingreso esperado).
+     * Sin fechas usa el mes actual.
+     */
+    @GetMapping("/summary")
+    @PreAuthorize("hasRole('PROFESSIONAL')")
+    public ResponseEntity<AppointmentSummaryResponse> getSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Authentication authentication
+    ) {
+        Long professionalId = getProfessionalId(authentication);
+
+        LocalDate start = from != null ? from : LocalDate.now().withDayOfMonth(1);
+        LocalDate end = to != null ? to : start.plusMonths(1).minusDays(1);
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("La fecha final debe ser posterior a la fecha inicial");
+        }
+        if (ChronoUnit.DAYS.between(start, end) + 1 > MAX_SUMMARY_DAYS) {
+            throw new IllegalArgumentException("El rango máximo es de " + MAX_SUMMARY_DAYS + " días");
+        }
+
+        return ResponseEntity.ok(appointmentService.getAppointmentSummary(professionalId, start, end));
+    }
+
+
+    /**
+     * Turnos del profesional paginados por cursor, con ventana de fechas y filtro de estado.
+     * Con {@code upcoming=true} lista solo desde hoy, del más próximo al más lejano.
+     * {@code fields} limita la respuesta y las columnas leídas (p. ej. {@code id,clientName,date,status}).
+     */
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('PROFESSIONAL')")
+    public ResponseEntity<CursorPageResponse<AppointmentResponse>> scrollAppointments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Set<AppointmentStatus> status,
+            @RequestParam(defaultValue = "false") boolean upcoming,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields,
+            Authentication authentication
+    ) {
+        validatePageSize(size);
+        Long professionalId = getProfessionalId(authentication);
+
+        CursorPageResponse<AppointmentResponse> page = appointmentService.scrollAppointmentsByProfessional(
+                professionalId, new AppointmentFilter(from, to, status, upcoming), cursor, size,
+                SparseFields.parse(fields, AppointmentResponse.class));
+
+        return ResponseEntity.ok(page);
+    }
+
+
+    /**
+     * Búsqueda en los turnos del profesional por prefijo de nombre, apellido o email
+     * del cliente, servicio, estado y rango de fechas; paginada por cursor.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('PROFESSIONAL')")
+    public ResponseEntity<CursorPageResponse<AppointmentResponse>> searchAppointments(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Set<AppointmentStatus> status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication
+    ) {
+        validatePageSize(size);
+        Long professionalId = getProfessionalId(authentication);
+
+        CursorPageResponse<AppointmentResponse> page = appointmentService.searchAppointments(
+                professionalId, q, serviceId, new AppointmentFilter(from, to, status, false), cursor, size);
+
+        return ResponseEntity.ok(page);
+    }
+
+
+    @GetMapping("/client/scroll")
+    @PreAuthorize("hasRole('CLIENT')")
+    public ResponseEntity<CursorPageResponse<AppointmentResponse>> scrollClientAppointments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Set<AppointmentStatus> status,
+            @RequestParam(defaultValue = "false") boolean upcoming,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields,
+            Authentication authentication
+    ) {
+        validatePageSize(size);
+        Long clientId = getClientId(authentication);
+
+        CursorPageResponse<AppointmentResponse> page = appointmentService.scrollAppointmentsByClient(
+                clientId, new AppointmentFilter(from, to, status, upcoming), cursor, size,
+                SparseFields.parse(fields, AppointmentResponse.class));
+
+        return ResponseEntity.ok(page);
+    }
+
+
+    /**
+     * Exporta el historial del profesional (CSV o NDJSON) escribiendo las filas a
+     * medida que se leen, sin armar la lista completa en memoria.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('PROFESSIONAL')")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Set<AppointmentStatus> status,
+            @RequestParam(required = false) String format,
+            Authentication authentication
+    ) {
+        Long professionalId = getProfessionalId(authentication);
+        AppointmentFilter filter = new AppointmentFilter(from, to, status, false);
+        AppointmentExportFormat exportFormat = AppointmentExportFormat.from(format);
+
+        StreamingResponseBody body = out -> appointmentExporter.export(professionalId, filter, exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("turnos." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .body(body);
     }
 
 
@@ -54,7 +225,7 @@ public class AppointmentController {
             @Valid @RequestBody CreateAppointmentRequest request,
             Authentication authentication
     ) {
-        Long clientId = getUserId(authentication);
+        Long clientId = getClientId(authentication);
 
         AppointmentResponse appointment = appointmentService.createAppointment(request, clientId);
 
@@ -131,6 +302,13 @@ public class AppointmentController {
     // ==================== MÉTODOS AUXILIARES ====================
 
 
+    private void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+    }
+
+
     private Long getProfessionalId(Authentication authentication) {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         Long professionalId = userDetails.getProfessionalId();
@@ -143,11 +321,15 @@ public class AppointmentController {
     }
 
 
-    private Long getUserId(Authentication authentication) {
+    private Long getClientId(Authentication authentication) {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        Long userId = userDetails.getUserId();
+        Long clientId = userDetails.getClientId();
+
+        if (clientId == null) {
+            throw new ResourceNotFoundException("Cliente no encontrado");
+        }
 
-        return userId;
+        return clientId;
     }
 
 
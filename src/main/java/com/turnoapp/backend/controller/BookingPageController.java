@@ -0,0 +1,57 @@
+package com.turnoapp.backend.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turnoapp.backend.dto.professional.BookingPageResponse;
+import com.turnoapp.backend.service.BookingPageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Página pública de reservas en una sola llamada (perfil, servicios y disponibilidad),
+ * en lugar de una llamada por recurso y otra por servicio.
+ */
+@RestController
+@RequestMapping("/api/public/booking")
+@RequiredArgsConstructor
+public class BookingPageController {
+
+    private static final int DEFAULT_DAYS = 14;
+    private static final int MAX_DAYS = 60;
+
+    private final BookingPageService bookingPageService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * El ETag es el hash del contenido: si nada cambió el navegador recibe 304 sin cuerpo.
+     */
+    @GetMapping("/{customUrl}")
+    public ResponseEntity<BookingPageResponse> getBookingPage(
+            @PathVariable String customUrl,
+            @RequestParam(defaultValue = "" + DEFAULT_DAYS) int days,
+            WebRequest webRequest
+    ) throws JsonProcessingException {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("days debe estar entre 1 y " + MAX_DAYS);
+        }
+
+        BookingPageResponse page = bookingPageService.getBookingPage(customUrl, days);
+
+        String etag = "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(page)) + "\"";
+        if (webRequest.checkNotModified(RepresentationEtags.of(etag, webRequest))) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(page);
+    }
+}
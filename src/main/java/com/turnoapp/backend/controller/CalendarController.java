@@ -0,0 +1,46 @@
+package com.turnoapp.backend.controller;
+
+import com.turnoapp.backend.calendar.CalendarFeedCache;
+import com.turnoapp.backend.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Feed iCalendar de suscripción (Google Calendar, Apple Calendar). El token del
+ * profesional funciona como credencial, por eso la ruta es pública.
+ */
+@RestController
+@RequestMapping("/api/public/calendar")
+@RequiredArgsConstructor
+public class CalendarController {
+
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
+    private final CalendarFeedCache calendarFeedCache;
+
+    /**
+     * Turnos de la ventana móvil del profesional. Los sondeos sin cambios cuestan
+     * una consulta agregada y se responden con 304.
+     */
+    @GetMapping("/{token}.ics")
+    public ResponseEntity<String> getFeed(@PathVariable String token, WebRequest webRequest) {
+        CalendarFeedCache.FeedVersion version = calendarFeedCache.version(token)
+                .orElseThrow(() -> new ResourceNotFoundException("Calendario no encontrado"));
+
+        if (webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(calendarFeedCache.render(version));
+    }
+}
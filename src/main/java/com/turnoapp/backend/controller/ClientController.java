@@ -2,6 +2,7 @@ package com.turnoapp.backend.controller;
 
 import com.turnoapp.backend.config.security.CustomUserDetails;
 import com.turnoapp.backend.dto.client.ClientResponse;
+import com.turnoapp.backend.exception.ResourceNotFoundException;
 import com.turnoapp.backend.service.ClientService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -22,9 +23,12 @@ public class ClientController {
     @GetMapping("/me")
     public ResponseEntity<ClientResponse> getMyProfile(Authentication authentication) {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        Long userId = userDetails.getUserId();
+        Long clientId = userDetails.getClientId();
+        if (clientId == null) {
+            throw new ResourceNotFoundException("Cliente no encontrado");
+        }
 
-        ClientResponse client = clientService.getClientByUserId(userId);
+        ClientResponse client = clientService.getClientById(clientId);
         return ResponseEntity.ok(client);
     }
 }
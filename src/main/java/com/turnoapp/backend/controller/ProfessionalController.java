@@ -1,17 +1,34 @@
 package com.turnoapp.backend.controller;
 
+import com.turnoapp.backend.cache.JsonSnapshot;
+import com.turnoapp.backend.cache.PublicProfileSnapshotCache;
 import com.turnoapp.backend.config.security.CustomUserDetails;
+import com.turnoapp.backend.dto.client.ClientRosterResponse;
+import com.turnoapp.backend.dto.common.CursorPageResponse;
+import com.turnoapp.backend.dto.common.ResourceVersion;
+import com.turnoapp.backend.dto.common.SparseFields;
+import com.turnoapp.backend.dto.professional.CalendarFeedResponse;
+import com.turnoapp.backend.dto.professional.FacetsResponse;
 import com.turnoapp.backend.dto.professional.FilterOptionsResponse;
+import com.turnoapp.backend.dto.professional.NearbyProfessionalResponse;
 import com.turnoapp.backend.dto.professional.ProfessionalResponse;
 import com.turnoapp.backend.dto.professional.SiteConfigRequest;
+import com.turnoapp.backend.dto.professional.SuggestionResponse;
+import com.turnoapp.backend.search.DirectorySort;
 import com.turnoapp.backend.service.ProfessionalService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/professionals")
@@ -19,19 +36,82 @@ import org.springframework.web.bind.annotation.*;
 @PreAuthorize("hasRole('PROFESSIONAL')")
 public class ProfessionalController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ProfessionalService professionalService;
+    private final PublicProfileSnapshotCache publicProfileSnapshotCache;
 
     @GetMapping("/me")
-    public ResponseEntity<ProfessionalResponse> getMyProfile(Authentication authentication) {
+    public ResponseEntity<ProfessionalResponse> getMyProfile(Authentication authentication, WebRequest webRequest) {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         Long professionalId = userDetails.getProfessionalId();
         
         if (professionalId == null) {
             throw new RuntimeException("Professional ID not found in user details");
         }
+
+        ResourceVersion version = professionalService.getProfileVersion(professionalId);
+        if (webRequest.checkNotModified(RepresentationEtags.of(version.etag(), webRequest), version.lastModifiedMillis())) {
+            return null;
+        }
         
         ProfessionalResponse professional = professionalService.getProfessionalById(professionalId);
-        return ResponseEntity.ok(professional);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(professional);
+    }
+
+    /**
+     * Datos de suscripción al feed .ics de turnos; genera el token la primera vez.
+     */
+    @GetMapping("/me/calendar-feed")
+    public ResponseEntity<CalendarFeedResponse> getCalendarFeed(Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        Long professionalId = userDetails.getProfessionalId();
+
+        if (professionalId == null) {
+            throw new RuntimeException("Professional ID not found in user details");
+        }
+
+        return ResponseEntity.ok(professionalService.getCalendarFeed(professionalId));
+    }
+
+    /**
+     * Reemplaza el token del feed, invalidando las suscripciones existentes.
+     */
+    @PostMapping("/me/calendar-feed/rotate")
+    public ResponseEntity<CalendarFeedResponse> rotateCalendarFeedToken(Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        Long professionalId = userDetails.getProfessionalId();
+
+        if (professionalId == null) {
+            throw new RuntimeException("Professional ID not found in user details");
+        }
+
+        return ResponseEntity.ok(professionalService.rotateCalendarFeedToken(professionalId));
+    }
+
+    /**
+     * Clientes del profesional con sus estadísticas de turnos, del turno más reciente
+     * al más antiguo; paginado por cursor.
+     */
+    @GetMapping("/me/clients")
+    public ResponseEntity<CursorPageResponse<ClientRosterResponse>> getMyClients(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication
+    ) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        Long professionalId = userDetails.getProfessionalId();
+
+        if (professionalId == null) {
+            throw new RuntimeException("Professional ID not found in user details");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+
+        return ResponseEntity.ok(professionalService.getClientRoster(professionalId, cursor, size));
     }
 
     @PutMapping("/me/site-config")
@@ -52,13 +132,54 @@ public class ProfessionalController {
 
     @GetMapping("/public/by-url/{customUrl}")
     @PreAuthorize("permitAll()")
-    public ResponseEntity<ProfessionalResponse> getProfessionalByCustomUrl(
-            @PathVariable String customUrl
+    public ResponseEntity<?> getProfessionalByCustomUrl(
+            @PathVariable String customUrl,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest
     ) {
-        ProfessionalResponse professional = professionalService.getProfessionalByCustomUrl(customUrl);
-        return ResponseEntity.ok(professional);
+        SparseFields sparseFields = SparseFields.parse(fields, ProfessionalResponse.class);
+
+        // Bytes pre-serializados: en un acierto no se abre transacción ni se serializa
+        JsonSnapshot snapshot = publicProfileSnapshotCache.get(
+                customUrl, () -> professionalService.getProfessionalByCustomUrl(customUrl));
+
+        boolean cbor = RepresentationEtags.prefersCbor(accept);
+        String etag = RepresentationEtags.of(snapshot.etag(), cbor, sparseFields);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        // CBOR o ?fields= se serializan desde el DTO del snapshot: SparseFieldsAdvice
+        // recorta ambos formatos igual. Los bytes pre-serializados son el perfil completo
+        if (cbor || !sparseFields.isAll()) {
+            return ResponseEntity.ok()
+                    .contentType(cbor ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON)
+                    .cacheControl(CacheControl.noCache())
+                    .body(snapshot.value());
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
     }
 
+    /**
+     * Búsqueda paginada del directorio.
+     *
+     * @param availableWithinDays solo profesionales con un turno libre en los próximos N días (0 = hoy)
+     * @param sort                {@code name} (por defecto) o {@code availability} (próximo turno libre primero)
+     * @param fields              campos de la respuesta; sin {@code siteConfig} no se lee la configuración del sitio
+     */
     @GetMapping("/public/search")
     @PreAuthorize("permitAll()")
     public ResponseEntity<Page<ProfessionalResponse>> searchProfessionals(
@@ -66,11 +187,44 @@ public class ProfessionalController {
             @RequestParam(required = false) String province,
             @RequestParam(required = false) String city,
             @RequestParam(required = false) String search,
+            @RequestParam(required = false) Integer availableWithinDays,
+            @RequestParam(required = false) String sort,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "12") int size
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(required = false) String fields
     ) {
+        if (availableWithinDays != null && availableWithinDays < 0) {
+            throw new IllegalArgumentException("availableWithinDays no puede ser negativo");
+        }
         Page<ProfessionalResponse> result = professionalService.searchProfessionals(
-                profession, province, city, search, page, size
+                profession, province, city, search, availableWithinDays, DirectorySort.from(sort), page, size,
+                SparseFields.parse(fields, ProfessionalResponse.class)
+        );
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Búsqueda para scroll infinito: paginada por cursor, con costo constante por página.
+     * El total solo se calcula si se pide con {@code includeTotal=true}.
+     */
+    @GetMapping("/public/search/scroll")
+    @PreAuthorize("permitAll()")
+    public ResponseEntity<CursorPageResponse<ProfessionalResponse>> scrollProfessionals(
+            @RequestParam(required = false) String profession,
+            @RequestParam(required = false) String province,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(required = false) String fields
+    ) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        CursorPageResponse<ProfessionalResponse> result = professionalService.scrollProfessionals(
+                profession, province, city, search, cursor, size, includeTotal,
+                SparseFields.parse(fields, ProfessionalResponse.class)
         );
         return ResponseEntity.ok(result);
     }
@@ -81,5 +235,59 @@ public class ProfessionalController {
         FilterOptionsResponse options = professionalService.getFilterOptions();
         return ResponseEntity.ok(options);
     }
-}
 
+    /**
+     * Profesionales cercanos a un punto, del más cercano al más lejano.
+     * Con {@code radiusKm} devuelve los que están dentro del radio; sin él, los
+     * {@code limit} más cercanos.
+     */
+    @GetMapping("/public/nearby")
+    @PreAuthorize("permitAll()")
+    public ResponseEntity<List<NearbyProfessionalResponse>> findNearby(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) String profession,
+            @RequestParam(defaultValue = "12") int limit
+    ) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        if (radiusKm != null && radiusKm <= 0) {
+            throw new IllegalArgumentException("radiusKm debe ser mayor a 0");
+        }
+        return ResponseEntity.ok(professionalService.findNearby(lat, lng, radiusKm, profession, limit));
+    }
+
+    /**
+     * Autocompletado del buscador: se resuelve en memoria, sin consultar la base.
+     */
+    @GetMapping("/public/suggest")
+    @PreAuthorize("permitAll()")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit
+    ) {
+        return ResponseEntity.ok(professionalService.suggest(q, limit));
+    }
+
+    /**
+     * Facetas con conteos. El ETag identifica el snapshot vigente: mientras no
+     * cambie el directorio el cliente recibe 304.
+     */
+    @GetMapping("/public/facets")
+    @PreAuthorize("permitAll()")
+    public ResponseEntity<FacetsResponse> getFacets(
+            @RequestParam(required = false) String profession,
+            @RequestParam(required = false) String province,
+            @RequestParam(required = false) String city,
+            WebRequest webRequest
+    ) {
+        String etag = RepresentationEtags.of("\"" + professionalService.getFacetsVersion() + "\"", webRequest);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        FacetsResponse facets = professionalService.getFacets(profession, province, city);
+        return ResponseEntity.ok(facets);
+    }
+}
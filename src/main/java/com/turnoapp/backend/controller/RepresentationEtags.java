@@ -0,0 +1,71 @@
+package com.turnoapp.backend.controller;
+
+import com.turnoapp.backend.dto.common.SparseFields;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * ETags por representación. Un mismo recurso se sirve en JSON o CBOR según Accept,
+ * completo o recortado con {@code ?fields=}: cada variante lleva su propio ETag
+ * fuerte, para que un 304 no valide los bytes de otra.
+ */
+final class RepresentationEtags {
+
+    private RepresentationEtags() {
+    }
+
+    /**
+     * ETag de la representación que pide la petición: formato por Accept y campos
+     * por {@code ?fields=}, como los resuelven los conversores y SparseFieldsAdvice.
+     */
+    static String of(String etag, WebRequest request) {
+        Set<String> names = SparseFields.split(request.getParameter(SparseFields.PARAM));
+        return of(etag, prefersCbor(request.getHeader(HttpHeaders.ACCEPT)),
+                names != null ? new SparseFields(names) : SparseFields.ALL);
+    }
+
+    static String of(String etag, boolean cbor, SparseFields fields) {
+        StringBuilder suffix = new StringBuilder();
+        if (cbor) {
+            suffix.append("-cbor");
+        }
+        if (!fields.isAll()) {
+            suffix.append("-f").append(Integer.toHexString(new TreeSet<>(fields.names()).hashCode()));
+        }
+        return suffix.isEmpty() ? etag : etag.replaceFirst("\"$", suffix + "\"");
+    }
+
+    /**
+     * true si el Accept de mayor calidad compatible con JSON o CBOR es CBOR;
+     * {@code *}{@code /*} y la ausencia de Accept resuelven a JSON.
+     */
+    static boolean prefersCbor(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        List<MediaType> types;
+        try {
+            types = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+        types.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : types) {
+            if (type.includes(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+            if (type.includes(MediaType.APPLICATION_CBOR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,17 +1,20 @@
 package com.turnoapp.backend.controller;
 
 import com.turnoapp.backend.config.security.CustomUserDetails;
+import com.turnoapp.backend.dto.common.ResourceVersion;
 import com.turnoapp.backend.dto.schedule.CreateScheduleRequest;
 import com.turnoapp.backend.dto.schedule.ScheduleResponse;
 import com.turnoapp.backend.dto.schedule.UpdateScheduleRequest;
 import com.turnoapp.backend.service.ScheduleService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -24,10 +27,18 @@ public class ScheduleController {
     private final ScheduleService scheduleService;
 
     @GetMapping
-    public ResponseEntity<List<ScheduleResponse>> getSchedule(Authentication authentication) {
+    public ResponseEntity<List<ScheduleResponse>> getSchedule(Authentication authentication, WebRequest webRequest) {
         Long professionalId = getProfessionalId(authentication);
+
+        ResourceVersion version = scheduleService.getScheduleVersion(professionalId);
+        if (webRequest.checkNotModified(RepresentationEtags.of(version.etag(), webRequest), version.lastModifiedMillis())) {
+            return null;
+        }
+
         List<ScheduleResponse> schedule = scheduleService.getScheduleByProfessional(professionalId);
-        return ResponseEntity.ok(schedule);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(schedule);
     }
 
     @GetMapping("/{id}")
@@ -1,17 +1,20 @@
 package com.turnoapp.backend.controller;
 
 import com.turnoapp.backend.config.security.CustomUserDetails;
+import com.turnoapp.backend.dto.common.ResourceVersion;
 import com.turnoapp.backend.dto.service.CreateServiceRequest;
 import com.turnoapp.backend.dto.service.ServiceResponse;
 import com.turnoapp.backend.dto.service.UpdateServiceRequest;
 import com.turnoapp.backend.service.ServiceService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -24,20 +27,36 @@ public class ServiceController {
     private final ServiceService serviceService;
 
     @GetMapping
-    public ResponseEntity<List<ServiceResponse>> getServices(Authentication authentication) {
+    public ResponseEntity<List<ServiceResponse>> getServices(Authentication authentication, WebRequest webRequest) {
         Long professionalId = getProfessionalId(authentication);
+
+        ResourceVersion version = serviceService.getServicesVersion(professionalId);
+        if (webRequest.checkNotModified(RepresentationEtags.of(version.etag(), webRequest), version.lastModifiedMillis())) {
+            return null;
+        }
+
         List<ServiceResponse> services = serviceService.getServicesByProfessional(professionalId);
-        return ResponseEntity.ok(services);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(services);
     }
 
 
     @GetMapping("/public/by-url/{customUrl}")
     @PreAuthorize("permitAll()")
     public ResponseEntity<List<ServiceResponse>> getServicesByCustomUrl(
-            @PathVariable String customUrl
+            @PathVariable String customUrl,
+            WebRequest webRequest
     ) {
+        ResourceVersion version = serviceService.getServicesVersionByCustomUrl(customUrl);
+        if (webRequest.checkNotModified(RepresentationEtags.of(version.etag(), webRequest), version.lastModifiedMillis())) {
+            return null;
+        }
+
         List<ServiceResponse> services = serviceService.getServicesByCustomUrl(customUrl);
-        return ResponseEntity.ok(services);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(services);
     }
 
     @GetMapping("/public/by-url/{customUrl}/{serviceId}")
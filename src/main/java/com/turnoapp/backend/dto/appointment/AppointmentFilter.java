@@ -0,0 +1,31 @@
+package com.turnoapp.backend.dto.appointment;
+
+import com.turnoapp.backend.model.enums.AppointmentStatus;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Filtros de los listados paginados de turnos.
+ *
+ * @param from     fecha mínima (inclusive), o null
+ * @param to       fecha máxima (inclusive), o null
+ * @param statuses estados a incluir; vacío o null para todos
+ * @param upcoming true para listar solo turnos desde hoy, del más próximo al más lejano
+ */
+public record AppointmentFilter(
+        LocalDate from,
+        LocalDate to,
+        Set<AppointmentStatus> statuses,
+        boolean upcoming
+) {
+    public AppointmentFilter {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("La fecha final debe ser posterior a la fecha inicial");
+        }
+        statuses = statuses == null || statuses.isEmpty()
+                ? EnumSet.allOf(AppointmentStatus.class)
+                : EnumSet.copyOf(statuses);
+    }
+}
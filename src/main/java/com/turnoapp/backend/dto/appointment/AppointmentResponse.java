@@ -65,4 +65,36 @@ public record AppointmentResponse(
                 appointment.getUpdatedAt()
         );
     }
+
+    /**
+     * Crea el DTO desde una proyección, sin cargar entidades.
+     * Los nombres se arman igual que {@code User.getFullName()}; quedan en null si
+     * la proyección no los incluyó (ver SparseFields).
+     */
+    public static AppointmentResponse fromRow(AppointmentRow row) {
+        return new AppointmentResponse(
+                row.id(),
+                row.professionalId(),
+                fullName(row.professionalFirstName(), row.professionalLastName()),
+                row.professionalCustomUrl(),
+                row.professionalProfession(),
+                row.clientId(),
+                fullName(row.clientFirstName(), row.clientLastName()),
+                row.clientEmail(),
+                row.serviceId(),
+                row.serviceName(),
+                row.serviceDuration(),
+                row.date().toString(),
+                row.startTime(),
+                row.endTime(),
+                row.status(),
+                row.notes(),
+                row.createdAt(),
+                row.updatedAt()
+        );
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        return firstName == null && lastName == null ? null : firstName + " " + lastName;
+    }
 }
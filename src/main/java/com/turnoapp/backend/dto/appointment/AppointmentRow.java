@@ -0,0 +1,33 @@
+package com.turnoapp.backend.dto.appointment;
+
+import com.turnoapp.backend.model.enums.AppointmentStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Proyección con exactamente las columnas de {@link AppointmentResponse},
+ * obtenidas en un único SELECT con joins (ver AppointmentRepository).
+ */
+public record AppointmentRow(
+        Long id,
+        Long professionalId,
+        String professionalFirstName,
+        String professionalLastName,
+        String professionalCustomUrl,
+        String professionalProfession,
+        Long clientId,
+        String clientFirstName,
+        String clientLastName,
+        String clientEmail,
+        Long serviceId,
+        String serviceName,
+        Integer serviceDuration,
+        LocalDate date,
+        String startTime,
+        String endTime,
+        AppointmentStatus status,
+        String notes,
+        Instant createdAt,
+        Instant updatedAt
+) {}
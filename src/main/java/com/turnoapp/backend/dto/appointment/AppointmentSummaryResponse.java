@@ -0,0 +1,26 @@
+package com.turnoapp.backend.dto.appointment;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Resumen del panel del profesional.
+ *
+ * {@code today} y {@code thisWeek} cuentan los turnos no cancelados del día y de la
+ * semana actual (lunes a domingo) sin importar el rango; el resto se calcula
+ * sobre {@code from}–{@code to}.
+ *
+ * @param expectedRevenue importe de los turnos confirmados y completados del rango,
+ *                        a los precios actuales de los servicios
+ */
+public record AppointmentSummaryResponse(
+        LocalDate from,
+        LocalDate to,
+        long today,
+        long thisWeek,
+        long confirmed,
+        long completed,
+        long noShow,
+        long cancelled,
+        BigDecimal expectedRevenue
+) {}
@@ -0,0 +1,18 @@
+package com.turnoapp.backend.dto.appointment;
+
+import com.turnoapp.backend.model.enums.AppointmentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Fila del agregado del resumen: cantidad de turnos e importe por día y estado.
+ *
+ * @param revenue suma de los precios actuales de los servicios
+ */
+public record AppointmentSummaryRow(
+        LocalDate date,
+        AppointmentStatus status,
+        Long count,
+        BigDecimal revenue
+) {}
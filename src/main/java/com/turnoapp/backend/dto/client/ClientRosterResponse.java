@@ -0,0 +1,40 @@
+package com.turnoapp.backend.dto.client;
+
+import java.time.LocalDate;
+
+/**
+ * Cliente del listado "mis clientes" de un profesional.
+ *
+ * @param totalAppointments turnos agendados en cualquier estado
+ * @param visits            turnos completados
+ * @param upcoming          turnos confirmados todavía sin resolver
+ */
+public record ClientRosterResponse(
+        Long clientId,
+        String name,
+        String email,
+        String phone,
+        long totalAppointments,
+        long visits,
+        long noShows,
+        long cancelled,
+        long upcoming,
+        LocalDate lastVisitDate,
+        LocalDate lastAppointmentDate
+) {
+    public static ClientRosterResponse fromRow(ClientRosterRow row) {
+        return new ClientRosterResponse(
+                row.clientId(),
+                row.firstName() + " " + row.lastName(),
+                row.email(),
+                row.phone(),
+                row.confirmed() + row.completed() + row.noShows() + row.cancelled(),
+                row.completed(),
+                row.noShows(),
+                row.cancelled(),
+                row.confirmed(),
+                row.lastVisitDate(),
+                row.lastAppointmentDate()
+        );
+    }
+}
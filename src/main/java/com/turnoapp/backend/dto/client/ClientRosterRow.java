@@ -0,0 +1,22 @@
+package com.turnoapp.backend.dto.client;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección de una fila del listado de clientes: estadísticas y datos del cliente
+ * en una sola consulta (ver ClientStatsRepository).
+ */
+public record ClientRosterRow(
+        Long statsId,
+        Long clientId,
+        String firstName,
+        String lastName,
+        String email,
+        String phone,
+        long confirmed,
+        long completed,
+        long noShows,
+        long cancelled,
+        LocalDate lastVisitDate,
+        LocalDate lastAppointmentDate
+) {}
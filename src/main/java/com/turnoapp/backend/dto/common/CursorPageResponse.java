@@ -0,0 +1,15 @@
+package com.turnoapp.backend.dto.common;
+
+import java.util.List;
+
+/**
+ * Página de una lista paginada por keyset.
+ *
+ * @param nextCursor token para pedir la página siguiente; null si no hay más
+ * @param total      total de resultados, solo si se pidió (null en otro caso)
+ */
+public record CursorPageResponse<T>(
+        List<T> content,
+        String nextCursor,
+        Long total
+) {}
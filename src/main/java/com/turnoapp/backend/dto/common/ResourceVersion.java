@@ -0,0 +1,38 @@
+package com.turnoapp.backend.dto.common;
+
+import java.time.Instant;
+
+/**
+ * Versión barata de un recurso o listado para peticiones condicionales: último
+ * {@code updatedAt} y cantidad de filas, obtenidos con un único agregado antes de
+ * cargar los datos. La cantidad detecta bajas, que no dejan rastro en {@code updatedAt}.
+ *
+ * El ETag es el validador fuerte; Last-Modified puede retroceder si se borra la
+ * fila más reciente, y por eso se informa solo como complemento.
+ *
+ * Los listados de turnos usan en su lugar el contador de cambios que guarda cada
+ * profesional y cliente (ver AppointmentVersionUpdater).
+ *
+ * @param lastModified máximo {@code updatedAt}, o null si no hay filas
+ * @param count        cantidad de filas, o contador de cambios del listado
+ */
+public record ResourceVersion(Instant lastModified, Long count) {
+
+    /**
+     * ETag de los datos; los controladores le agregan el formato y los campos
+     * pedidos antes de compararlo (ver RepresentationEtags).
+     */
+    public String etag() {
+        String modified = lastModified != null
+                ? Long.toHexString(lastModified.getEpochSecond()) + "." + Integer.toHexString(lastModified.getNano())
+                : "0";
+        return "\"" + modified + "-" + count + "\"";
+    }
+
+    /**
+     * @return milisegundos para Last-Modified, o -1 para omitirlo
+     */
+    public long lastModifiedMillis() {
+        return lastModified != null ? lastModified.toEpochMilli() : -1;
+    }
+}
@@ -0,0 +1,68 @@
+package com.turnoapp.backend.dto.common;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Campos pedidos con {@code ?fields=a,b,c} (sparse fieldsets); {@code id} se incluye siempre.
+ *
+ * La respuesta JSON se recorta en SparseFieldsAdvice; los servicios lo usan además
+ * para elegir la proyección y saltear los joins de campos no pedidos.
+ *
+ * @param names campos incluidos, o null para todos
+ */
+public record SparseFields(Set<String> names) {
+
+    public static final String PARAM = "fields";
+    public static final String FILTER = "sparseFields";
+    public static final SparseFields ALL = new SparseFields(null);
+
+    /**
+     * @param type DTO cuyos componentes son los campos válidos
+     * @throws IllegalArgumentException si se pide un campo que el DTO no tiene
+     */
+    public static SparseFields parse(String fields, Class<? extends Record> type) {
+        Set<String> names = split(fields);
+        if (names == null) {
+            return ALL;
+        }
+        Set<String> known = Arrays.stream(type.getRecordComponents())
+                .map(RecordComponent::getName)
+                .collect(Collectors.toSet());
+        for (String name : names) {
+            if (!known.contains(name)) {
+                throw new IllegalArgumentException("Campo desconocido en fields: " + name);
+            }
+        }
+        return new SparseFields(Set.copyOf(names));
+    }
+
+    /**
+     * Nombres de {@code fields} más {@code id}, sin validar; null si no se pidió ninguno.
+     */
+    public static Set<String> split(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                names.add(trimmed);
+            }
+        }
+        return names;
+    }
+
+    public boolean isAll() {
+        return names == null;
+    }
+
+    public boolean includes(String name) {
+        return names == null || names.contains(name);
+    }
+}
@@ -0,0 +1,20 @@
+package com.turnoapp.backend.dto.professional;
+
+import com.turnoapp.backend.dto.appointment.AvailabilityDateResponse;
+import com.turnoapp.backend.dto.service.ServiceResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Todo lo que necesita la página pública de reservas de un profesional en una
+ * sola respuesta: perfil (con su SiteConfig), servicios activos y los días con
+ * disponibilidad de cada servicio entre {@code from} y {@code to}.
+ */
+public record BookingPageResponse(
+        ProfessionalResponse professional,
+        List<ServiceResponse> services,
+        LocalDate from,
+        LocalDate to,
+        List<AvailabilityDateResponse> availability
+) {}
@@ -0,0 +1,14 @@
+package com.turnoapp.backend.dto.professional;
+
+/**
+ * Datos de suscripción al feed de calendario del profesional.
+ *
+ * @param token token secreto del feed
+ * @param path  ruta relativa del feed .ics
+ */
+public record CalendarFeedResponse(String token, String path) {
+
+    public static CalendarFeedResponse of(String token) {
+        return new CalendarFeedResponse(token, "/api/public/calendar/" + token + ".ics");
+    }
+}
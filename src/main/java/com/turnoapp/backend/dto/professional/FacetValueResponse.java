@@ -0,0 +1,6 @@
+package com.turnoapp.backend.dto.professional;
+
+public record FacetValueResponse(
+        String value,
+        long count
+) {}
@@ -0,0 +1,13 @@
+package com.turnoapp.backend.dto.professional;
+
+import java.util.List;
+
+/**
+ * Valores de cada filtro del directorio con la cantidad de profesionales activos.
+ * Cada faceta cuenta aplicando los demás filtros seleccionados, no el propio.
+ */
+public record FacetsResponse(
+        List<FacetValueResponse> professions,
+        List<FacetValueResponse> provinces,
+        List<FacetValueResponse> cities
+) {}
@@ -0,0 +1,9 @@
+package com.turnoapp.backend.dto.professional;
+
+/**
+ * Profesional encontrado por cercanía, con su distancia al punto consultado.
+ */
+public record NearbyProfessionalResponse(
+        ProfessionalResponse professional,
+        double distanceKm
+) {}
@@ -29,4 +29,22 @@ public record ProfessionalResponse(
                 SiteConfigResponse.fromEntity(professional.getSiteConfig())
         );
     }
+
+    /**
+     * Crea el DTO desde una proyección, sin SiteConfig ({@code siteConfig} en null).
+     */
+    public static ProfessionalResponse fromRow(ProfessionalRow row) {
+        return new ProfessionalResponse(
+                row.id(),
+                row.userId(),
+                row.firstName(),
+                row.lastName(),
+                row.email(),
+                row.profession(),
+                row.customUrl(),
+                row.phone(),
+                row.status(),
+                null
+        );
+    }
 }
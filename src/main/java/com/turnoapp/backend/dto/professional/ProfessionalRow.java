@@ -0,0 +1,19 @@
+package com.turnoapp.backend.dto.professional;
+
+import com.turnoapp.backend.model.enums.Status;
+
+/**
+ * Proyección de {@link ProfessionalResponse} sin SiteConfig: profesional y usuario
+ * en un único SELECT (ver ProfessionalRepository#findRowsByIds).
+ */
+public record ProfessionalRow(
+        Long id,
+        Long userId,
+        String firstName,
+        String lastName,
+        String email,
+        String profession,
+        String customUrl,
+        String phone,
+        Status status
+) {}
@@ -1,6 +1,7 @@
 package com.turnoapp.backend.dto.professional;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.turnoapp.backend.model.SiteConfig;
 
 public record SiteConfigResponse(
@@ -12,6 +13,8 @@ public record SiteConfigResponse(
         String city,
         String province,
         String country,
+        Double latitude,
+        Double longitude,
         String businessHours,
         String welcomeMessage,
         SocialMediaResponse socialMedia
@@ -30,6 +33,8 @@ public record SiteConfigResponse(
                 siteConfig.getCity(),
                 siteConfig.getProvince(),
                 siteConfig.getCountry(),
+                siteConfig.getLatitude(),
+                siteConfig.getLongitude(),
                 siteConfig.getBusinessHours(),
                 siteConfig.getWelcomeMessage(),
                 SocialMediaResponse.fromJson(siteConfig.getSocialMedia())
@@ -47,6 +52,8 @@ public record SiteConfigResponse(
                 null,
                 "Argentina",
                 null,
+                null,
+                null,
                 "Bienvenido",
                 new SocialMediaResponse(null, null, null)
         );
@@ -57,13 +64,17 @@ public record SiteConfigResponse(
             String facebook,
             String linkedin
     ) {
+        /**
+         * Lector compartido: inmutable y thread-safe, evita crear un ObjectMapper por llamada.
+         */
+        private static final ObjectReader READER = new ObjectMapper().readerFor(SocialMediaResponse.class);
+
         public static SocialMediaResponse fromJson(String json) {
             if (json == null || json.isEmpty()) {
                 return new SocialMediaResponse(null, null, null);
             }
             try {
-                ObjectMapper mapper = new ObjectMapper();
-                return mapper.readValue(json, SocialMediaResponse.class);
+                return READER.readValue(json);
             } catch (Exception e) {
                 return new SocialMediaResponse(null, null, null);
             }
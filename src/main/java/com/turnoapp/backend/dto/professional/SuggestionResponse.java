@@ -0,0 +1,17 @@
+package com.turnoapp.backend.dto.professional;
+
+import com.turnoapp.backend.search.SuggestionIndex;
+import com.turnoapp.backend.search.SuggestionType;
+
+/**
+ * @param count cantidad de profesionales activos con ese término
+ */
+public record SuggestionResponse(
+        SuggestionType type,
+        String value,
+        long count
+) {
+    public static SuggestionResponse fromSuggestion(SuggestionIndex.Suggestion suggestion) {
+        return new SuggestionResponse(suggestion.type(), suggestion.value(), suggestion.count());
+    }
+}
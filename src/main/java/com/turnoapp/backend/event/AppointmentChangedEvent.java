@@ -0,0 +1,26 @@
+package com.turnoapp.backend.event;
+
+import com.turnoapp.backend.model.enums.AppointmentStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Evento publicado al crear un turno o cambiar su estado. Actualiza las
+ * estadísticas por cliente (ver ClientStatsUpdater) y la versión de los listados
+ * (ver AppointmentVersionUpdater), e invalida los agregados cacheados del
+ * profesional (ver AppointmentSummaryCache).
+ *
+ * @param professionalId ID del profesional del turno
+ * @param clientId       ID del cliente del turno
+ * @param date           fecha del turno
+ * @param previousStatus estado anterior, o null si el turno es nuevo
+ * @param status         estado actual
+ */
+public record AppointmentChangedEvent(
+        Long professionalId,
+        Long clientId,
+        LocalDate date,
+        AppointmentStatus previousStatus,
+        AppointmentStatus status
+) {
+}
@@ -0,0 +1,12 @@
+package com.turnoapp.backend.event;
+
+/**
+ * Evento publicado cuando cambian datos que muestran los listados de turnos de
+ * un profesional sin modificar los turnos (su perfil, o el nombre o la duración
+ * de un servicio). Avanza la versión de los listados del profesional y de sus
+ * clientes (ver AppointmentVersionUpdater).
+ *
+ * @param professionalId ID del profesional afectado
+ */
+public record AppointmentListChangedEvent(Long professionalId) {
+}
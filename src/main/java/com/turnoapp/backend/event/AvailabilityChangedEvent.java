@@ -0,0 +1,10 @@
+package com.turnoapp.backend.event;
+
+/**
+ * Evento publicado cuando cambia algo que afecta los horarios libres de un
+ * profesional (turnos, agenda o servicios). Recalcula su próximo turno libre.
+ *
+ * @param professionalId ID del profesional afectado
+ */
+public record AvailabilityChangedEvent(Long professionalId) {
+}
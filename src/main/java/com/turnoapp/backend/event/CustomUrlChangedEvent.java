@@ -0,0 +1,11 @@
+package com.turnoapp.backend.event;
+
+/**
+ * Evento publicado cuando se asigna o cambia la URL personalizada de un
+ * profesional. Invalida la resolución cacheada de ambas URLs.
+ *
+ * @param previousUrl URL anterior, o null si el profesional es nuevo
+ * @param currentUrl  URL vigente
+ */
+public record CustomUrlChangedEvent(String previousUrl, String currentUrl) {
+}
@@ -0,0 +1,15 @@
+package com.turnoapp.backend.event;
+
+import com.turnoapp.backend.availability.EarliestSlot;
+
+import java.util.List;
+
+/**
+ * Evento publicado cuando cambia la fecha del próximo turno libre de uno o más
+ * profesionales. Solo actualiza ese dato en el directorio en memoria; el resto
+ * del perfil no cambió.
+ *
+ * @param changes nueva fecha por profesional (null si ya no tiene turnos libres)
+ */
+public record NextAvailableChangedEvent(List<EarliestSlot> changes) {
+}
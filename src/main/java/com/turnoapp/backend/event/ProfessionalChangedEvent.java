@@ -0,0 +1,11 @@
+package com.turnoapp.backend.event;
+
+/**
+ * Evento publicado cuando cambian datos visibles en el directorio de un
+ * profesional (alta, perfil, estado o configuración del sitio). Actualiza las
+ * estructuras en memoria del directorio.
+ *
+ * @param professionalId ID del profesional modificado
+ */
+public record ProfessionalChangedEvent(Long professionalId) {
+}
@@ -0,0 +1,10 @@
+package com.turnoapp.backend.event;
+
+/**
+ * Evento publicado cuando cambian datos de identidad de un usuario
+ * (estado, email, perfil). Invalida la caché de identidades.
+ *
+ * @param userId ID del usuario modificado
+ */
+public record UserIdentityChangedEvent(Long userId) {
+}
@@ -4,4 +4,12 @@ public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
         super(message);
     }
+
+    /**
+     * @param writableStackTrace false para rutas calientes (ej: URLs inexistentes
+     *                           pedidas por bots): el handler no usa el stack trace
+     */
+    public ResourceNotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
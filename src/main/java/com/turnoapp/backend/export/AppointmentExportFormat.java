@@ -0,0 +1,49 @@
+package com.turnoapp.backend.export;
+
+import java.util.Locale;
+
+/**
+ * Formatos de exportación del historial de turnos.
+ */
+public enum AppointmentExportFormat {
+
+    /**
+     * Planilla separada por comas con encabezado (RFC 4180)
+     */
+    CSV("text/csv", "csv"),
+
+    /**
+     * Un objeto JSON por línea, con los mismos campos que el listado
+     */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    AppointmentExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * @param value nombre del formato sin distinguir mayúsculas, o null para {@link #CSV}
+     */
+    public static AppointmentExportFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Formato de exportación inválido: " + value);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.turnoapp.backend.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turnoapp.backend.dto.appointment.AppointmentFilter;
+import com.turnoapp.backend.dto.appointment.AppointmentResponse;
+import com.turnoapp.backend.service.AppointmentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Exporta el historial de turnos de un profesional escribiendo cada fila en la
+ * respuesta a medida que sale del cursor: la memoria usada no depende del tamaño
+ * del historial.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentExporter {
+
+    /**
+     * Filas entre vaciados del buffer hacia el cliente
+     */
+    private static final int FLUSH_EVERY = 500;
+
+    private static final String CSV_HEADER = "id,date,startTime,endTime,status," +
+            "clientName,clientEmail,serviceName,serviceDuration,notes,createdAt";
+
+    private final AppointmentService appointmentService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Escribe los turnos del profesional en {@code out}, en orden cronológico.
+     * No cierra {@code out}.
+     */
+    public void export(
+            Long professionalId,
+            AppointmentFilter filter,
+            AppointmentExportFormat format,
+            OutputStream out
+    ) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == AppointmentExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        RowWriter rowWriter = new RowWriter(writer, format);
+        try {
+            appointmentService.forEachAppointmentByProfessional(professionalId, filter, rowWriter);
+        } catch (UncheckedIOException e) {
+            // Típicamente el cliente cortó la descarga
+            throw e.getCause();
+        }
+        writer.flush();
+
+        log.debug("Exportados {} turnos del profesional {} como {}", rowWriter.count, professionalId, format);
+    }
+
+    private final class RowWriter implements Consumer<AppointmentResponse> {
+
+        private final Writer writer;
+        private final AppointmentExportFormat format;
+        private long count;
+
+        private RowWriter(Writer writer, AppointmentExportFormat format) {
+            this.writer = writer;
+            this.format = format;
+        }
+
+        @Override
+        public void accept(AppointmentResponse appointment) {
+            try {
+                if (format == AppointmentExportFormat.NDJSON) {
+                    writer.write(objectMapper.writeValueAsString(appointment));
+                } else {
+                    writeCsv(appointment);
+                }
+                writer.write('\n');
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeCsv(AppointmentResponse a) throws IOException {
+            writer.write(String.valueOf(a.id()));
+            writer.write(',');
+            writer.write(a.date());
+            writer.write(',');
+            writer.write(a.startTime());
+            writer.write(',');
+            writer.write(a.endTime());
+            writer.write(',');
+            writer.write(a.status().name());
+            writer.write(',');
+            writer.write(csv(a.clientName()));
+            writer.write(',');
+            writer.write(csv(a.clientEmail()));
+            writer.write(',');
+            writer.write(csv(a.serviceName()));
+            writer.write(',');
+            writer.write(a.serviceDuration() != null ? a.serviceDuration().toString() : "");
+            writer.write(',');
+            writer.write(csv(a.notes()));
+            writer.write(',');
+            writer.write(a.createdAt() != null ? a.createdAt().toString() : "");
+        }
+    }
+
+    /**
+     * Escapa un campo de texto libre: comillas según RFC 4180 y prefijo {@code '} para
+     * que una planilla no lo interprete como fórmula.
+     */
+    static String csv(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String text = "=+-@\t\r".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
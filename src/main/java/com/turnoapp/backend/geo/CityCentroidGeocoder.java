@@ -0,0 +1,46 @@
+package com.turnoapp.backend.geo;
+
+import com.turnoapp.backend.search.SearchKeys;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Geocoder offline: ubica cada sitio en el centro de su ciudad usando una tabla
+ * fija de ciudades argentinas. Ignora la calle, así que la precisión es de
+ * kilómetros; alcanza para "cerca de mí" y para tests sin red.
+ */
+public class CityCentroidGeocoder implements Geocoder {
+
+    private static final Map<String, GeoPoint> CITIES = Map.ofEntries(
+            Map.entry("buenos aires", new GeoPoint(-34.6037, -58.3816)),
+            Map.entry("caba", new GeoPoint(-34.6037, -58.3816)),
+            Map.entry("la plata", new GeoPoint(-34.9205, -57.9536)),
+            Map.entry("mar del plata", new GeoPoint(-38.0055, -57.5426)),
+            Map.entry("bahia blanca", new GeoPoint(-38.7196, -62.2724)),
+            Map.entry("cordoba", new GeoPoint(-31.4201, -64.1888)),
+            Map.entry("villa maria", new GeoPoint(-32.4075, -63.2402)),
+            Map.entry("rio cuarto", new GeoPoint(-33.1232, -64.3493)),
+            Map.entry("rosario", new GeoPoint(-32.9442, -60.6505)),
+            Map.entry("santa fe", new GeoPoint(-31.6333, -60.7000)),
+            Map.entry("mendoza", new GeoPoint(-32.8895, -68.8458)),
+            Map.entry("godoy cruz", new GeoPoint(-32.9267, -68.8446)),
+            Map.entry("guaymallen", new GeoPoint(-32.8994, -68.7864)),
+            Map.entry("lujan de cuyo", new GeoPoint(-33.0392, -68.8780)),
+            Map.entry("maipu", new GeoPoint(-32.9833, -68.7833)),
+            Map.entry("las heras", new GeoPoint(-32.8500, -68.8167)),
+            Map.entry("san rafael", new GeoPoint(-34.6177, -68.3301)),
+            Map.entry("san juan", new GeoPoint(-31.5375, -68.5364)),
+            Map.entry("san luis", new GeoPoint(-33.3017, -66.3378)),
+            Map.entry("san miguel de tucuman", new GeoPoint(-26.8083, -65.2176)),
+            Map.entry("salta", new GeoPoint(-24.7821, -65.4232)),
+            Map.entry("neuquen", new GeoPoint(-38.9516, -68.0591)),
+            Map.entry("bariloche", new GeoPoint(-41.1335, -71.3103))
+    );
+
+    @Override
+    public Optional<GeoPoint> geocode(String address, String city, String province, String country) {
+        String key = SearchKeys.normalize(city);
+        return key == null ? Optional.empty() : Optional.ofNullable(CITIES.get(key));
+    }
+}
@@ -0,0 +1,19 @@
+package com.turnoapp.backend.geo;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class GeoConfig {
+
+    /**
+     * Geocoder por defecto. Otro proveedor se elige con {@code geo.geocoder} y su
+     * propio bean condicionado a ese valor.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "geo.geocoder", havingValue = "city-centroid", matchIfMissing = true)
+    public Geocoder geocoder() {
+        return new CityCentroidGeocoder();
+    }
+}
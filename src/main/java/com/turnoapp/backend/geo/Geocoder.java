@@ -0,0 +1,19 @@
+package com.turnoapp.backend.geo;
+
+import java.util.Optional;
+
+/**
+ * Convierte la dirección de un sitio en coordenadas.
+ *
+ * Para usar un proveedor externo se declara su bean con
+ * {@code @ConditionalOnProperty(name = "geo.geocoder", havingValue = "<proveedor>")}
+ * y se configura {@code geo.geocoder}; sin la propiedad se usa {@link CityCentroidGeocoder}.
+ * Puede hacer I/O de red: no se llama dentro de transacciones de escritura.
+ */
+public interface Geocoder {
+
+    /**
+     * @return las coordenadas, o vacío si la dirección no se pudo resolver
+     */
+    Optional<GeoPoint> geocode(String address, String city, String province, String country);
+}
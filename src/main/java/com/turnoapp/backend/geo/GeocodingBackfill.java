@@ -0,0 +1,54 @@
+package com.turnoapp.backend.geo;
+
+import com.turnoapp.backend.model.SiteConfig;
+import com.turnoapp.backend.repository.SiteConfigRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Geocodifica al iniciar los sitios con ciudad y sin coordenadas (creados antes
+ * de existir las columnas). Los sitios que el Geocoder no resuelve se reintentan
+ * en el próximo inicio.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GeocodingBackfill implements ApplicationRunner {
+
+    private final SiteConfigRepository siteConfigRepository;
+    private final Geocoder geocoder;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<SiteConfig> pending = siteConfigRepository.findByLatitudeIsNullAndCityIsNotNull();
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // El Geocoder puede hacer I/O de red: se consulta fuera de la transacción
+        Map<Long, GeoPoint> locations = new HashMap<>();
+        for (SiteConfig siteConfig : pending) {
+            geocoder.geocode(siteConfig.getAddress(), siteConfig.getCity(),
+                            siteConfig.getProvince(), siteConfig.getCountry())
+                    .ifPresent(location -> locations.put(siteConfig.getId(), location));
+        }
+        if (locations.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status ->
+                siteConfigRepository.findAllById(locations.keySet()).stream()
+                        .filter(siteConfig -> siteConfig.getLatitude() == null)
+                        .forEach(siteConfig -> siteConfig.setLocation(locations.get(siteConfig.getId()))));
+        log.info("Coordenadas calculadas para {} sitios", locations.size());
+    }
+}
@@ -1,6 +1,7 @@
 package com.turnoapp.backend.model;
 
 import com.turnoapp.backend.model.enums.AppointmentStatus;
+import com.turnoapp.backend.search.SearchKeys;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -31,7 +32,14 @@ import java.time.LocalDate;
     indexes = {
         @Index(name = "idx_professional_date", columnList = "professional_id, date"),
         @Index(name = "idx_client_date", columnList = "client_id, date"),
-        @Index(name = "idx_date_time", columnList = "date, start_time")
+        @Index(name = "idx_date_time", columnList = "date, start_time"),
+        @Index(name = "idx_professional_service_date", columnList = "professional_id, service_id, date"),
+        @Index(name = "idx_professional_client_name_date",
+                columnList = "professional_id, client_name_key, date, start_time, id"),
+        @Index(name = "idx_professional_client_surname_date",
+                columnList = "professional_id, client_surname_key, date, start_time, id"),
+        @Index(name = "idx_professional_client_email_date",
+                columnList = "professional_id, client_email_key, date, start_time, id")
     }
 )
 @Getter
@@ -108,6 +116,25 @@ public class Appointment {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
+    /**
+     * Nombre y apellido del cliente normalizados (ver SearchKeys), desnormalizados
+     * para buscar por prefijo dentro de los turnos de un profesional.
+     */
+    @Column(name = "client_name_key", length = 200)
+    private String clientNameKey;
+
+    /**
+     * Apellido y nombre del cliente normalizados: búsqueda por prefijo del apellido.
+     */
+    @Column(name = "client_surname_key", length = 200)
+    private String clientSurnameKey;
+
+    /**
+     * Email del cliente en minúsculas.
+     */
+    @Column(name = "client_email_key")
+    private String clientEmailKey;
+
     /**
      * Fecha de creación (auto-generada)
      */
@@ -122,6 +149,24 @@ public class Appointment {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    @PrePersist
+    void prePersist() {
+        refreshClientKeys();
+    }
+
+    /**
+     * Recalcula las claves de búsqueda a partir del usuario del cliente.
+     */
+    public void refreshClientKeys() {
+        if (client == null || client.getUser() == null) {
+            return;
+        }
+        User user = client.getUser();
+        this.clientNameKey = SearchKeys.normalize(user.getFirstName() + " " + user.getLastName());
+        this.clientSurnameKey = SearchKeys.normalize(user.getLastName() + " " + user.getFirstName());
+        this.clientEmailKey = SearchKeys.normalize(user.getEmail());
+    }
+
     // Business methods
 
     /**
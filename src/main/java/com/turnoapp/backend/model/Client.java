@@ -25,6 +25,16 @@ public class Client {
 
     private Instant lastAccess;
 
+    /**
+     * Versión del listado de turnos del cliente (ver AppointmentVersionUpdater).
+     * Solo la avanza un UPDATE directo, igual que en Professional.
+     */
+    @Column(name = "appointments_version", nullable = false, updatable = false)
+    private long appointmentsVersion;
+
+    @Column(name = "appointments_changed_at", insertable = false, updatable = false)
+    private Instant appointmentsChangedAt;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
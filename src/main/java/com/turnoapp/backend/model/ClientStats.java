@@ -0,0 +1,75 @@
+package com.turnoapp.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Estadísticas de turnos de un cliente con un profesional.
+ *
+ * Las mantiene {@code ClientStatsUpdater} de forma incremental al crear un turno
+ * o cambiar su estado, así el listado de clientes del profesional es una lectura
+ * indexada sin recorrer el historial.
+ */
+@Entity
+@Table(
+    name = "professional_client_stats",
+    uniqueConstraints = @UniqueConstraint(name = "uk_client_stats_professional_client",
+            columnNames = {"professional_id", "client_id"}),
+    indexes = @Index(name = "idx_client_stats_professional_last",
+            columnList = "professional_id, last_appointment_date, id")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClientStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "professional_id", nullable = false)
+    private Professional professional;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id", nullable = false)
+    private Client client;
+
+    /**
+     * Turnos confirmados (todavía sin resolver)
+     */
+    @Column(nullable = false)
+    private long confirmed;
+
+    /**
+     * Turnos completados: las visitas
+     */
+    @Column(nullable = false)
+    private long completed;
+
+    @Column(name = "no_shows", nullable = false)
+    private long noShows;
+
+    @Column(nullable = false)
+    private long cancelled;
+
+    /**
+     * Fecha del último turno completado, o null si nunca vino
+     */
+    @Column(name = "last_visit_date")
+    private LocalDate lastVisitDate;
+
+    /**
+     * Fecha del turno más lejano agendado, en cualquier estado: orden del listado
+     */
+    @Column(name = "last_appointment_date", nullable = false)
+    private LocalDate lastAppointmentDate;
+
+    public long getTotal() {
+        return confirmed + completed + noShows + cancelled;
+    }
+}
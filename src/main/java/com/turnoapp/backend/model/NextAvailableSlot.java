@@ -0,0 +1,56 @@
+package com.turnoapp.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Próximo turno libre precalculado de un servicio.
+ *
+ * Lo mantiene {@code NextAvailableSlotUpdater} cuando cambian turnos, agenda o
+ * servicios, así la búsqueda puede ordenar y filtrar por disponibilidad sin
+ * calcular slots. Un servicio sin fila no tiene horarios libres dentro del
+ * horizonte configurado.
+ */
+@Entity
+@Table(
+    name = "next_available_slots",
+    uniqueConstraints = @UniqueConstraint(name = "uk_next_available_slots_service", columnNames = "service_id"),
+    indexes = @Index(name = "idx_next_available_slots_professional_date", columnList = "professional_id, date")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NextAvailableSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "professional_id", nullable = false)
+    private Professional professional;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "service_id", nullable = false)
+    private Service service;
+
+    /**
+     * Fecha del primer slot libre
+     */
+    @Column(nullable = false)
+    private LocalDate date;
+
+    /**
+     * Hora de inicio del primer slot libre (formato: HH:mm)
+     */
+    @Column(name = "start_time", nullable = false, length = 5)
+    private String startTime;
+
+    @Column(name = "computed_at", nullable = false)
+    private Instant computedAt;
+}
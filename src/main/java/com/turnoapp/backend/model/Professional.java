@@ -1,9 +1,11 @@
 package com.turnoapp.backend.model;
 
 import com.turnoapp.backend.model.enums.Status;
+import com.turnoapp.backend.search.SearchKeys;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 
@@ -30,13 +32,76 @@ public class Professional {
     @Column(nullable = false)
     private String profession;
 
+    /**
+     * Profesión normalizada (ver SearchKeys); el filtro compara por subcadena y
+     * por eso no tiene índice: recorre los profesionales activos.
+     */
+    @Column(name = "profession_key")
+    private String professionKey;
+
     @Column(nullable = false, unique = true)
     private String customUrl;
 
+    /**
+     * Palabras normalizadas de nombre y profesión (ver SearchKeys#textKey): lo que
+     * recorre el texto libre del directorio. Tiene índice FULLTEXT en MySQL (ver
+     * FullTextSearchSupport); sin él se compara por LIKE sobre la misma columna.
+     */
+    @Column(name = "text_key", columnDefinition = "TEXT")
+    private String textKey;
+
+    /**
+     * Token secreto del feed iCalendar de turnos (ver CalendarFeedCache); null hasta que se pide.
+     */
+    @Column(name = "calendar_token", unique = true, length = 64)
+    private String calendarToken;
+
+    /**
+     * Versión del listado de turnos del profesional (ver AppointmentVersionUpdater).
+     * Solo la avanza un UPDATE directo: la entidad no la escribe para no pisarla
+     * con un valor viejo del contexto de persistencia.
+     */
+    @Column(name = "appointments_version", nullable = false, updatable = false)
+    private long appointmentsVersion;
+
+    @Column(name = "appointments_changed_at", insertable = false, updatable = false)
+    private Instant appointmentsChangedAt;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @PrePersist
+    void prePersist() {
+        refreshTextKey();
+        refreshSearchKeys();
+    }
+
+    @PreUpdate
+    void preUpdate() {
+        refreshSearchKeys();
+    }
+
+    /**
+     * Recalcula las claves normalizadas a partir de los campos visibles.
+     */
+    public void refreshSearchKeys() {
+        this.professionKey = SearchKeys.normalize(profession);
+    }
+
+    /**
+     * Recalcula {@link #textKey}. Debe llamarse al cambiar nombre o profesión.
+     */
+    public void refreshTextKey() {
+        this.textKey = user != null
+                ? SearchKeys.textKey(user.getFirstName(), user.getLastName(), profession)
+                : SearchKeys.textKey(profession);
+    }
+
     // Helper methods
     public String getFullName() {
         return user != null ? user.getFullName() : "";
@@ -1,5 +1,6 @@
 package com.turnoapp.backend.model;
 
+import com.turnoapp.backend.geo.GeoPoint;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -48,6 +49,13 @@ public class SiteConfig {
     @Column(length = 100)
     private String country;
 
+    /**
+     * Coordenadas del sitio, calculadas por el Geocoder a partir de la dirección.
+     */
+    private Double latitude;
+
+    private Double longitude;
+
     @Column(length = 255)
     private String businessHours;
 
@@ -61,6 +69,15 @@ public class SiteConfig {
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
 
+    public GeoPoint getLocation() {
+        return latitude != null && longitude != null ? new GeoPoint(latitude, longitude) : null;
+    }
+
+    public void setLocation(GeoPoint location) {
+        this.latitude = location != null ? location.latitude() : null;
+        this.longitude = location != null ? location.longitude() : null;
+    }
+
     @UpdateTimestamp
     @Column(nullable = false)
     private Instant updatedAt;
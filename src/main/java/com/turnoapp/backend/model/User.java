@@ -2,6 +2,7 @@ package com.turnoapp.backend.model;
 
 import com.turnoapp.backend.model.enums.Status;
 import com.turnoapp.backend.model.enums.UserRole;
+import com.turnoapp.backend.search.SearchKeys;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -11,7 +12,10 @@ import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_name_key", columnList = "name_key, id"),
+        @Index(name = "idx_users_location_key", columnList = "province_key, city_key")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -49,6 +53,23 @@ public class User {
     @Column(length = 100)
     private String city;
 
+    /**
+     * Provincia y ciudad normalizadas: los filtros del directorio comparan por igualdad.
+     */
+    @Column(name = "province_key", length = 100)
+    private String provinceKey;
+
+    @Column(name = "city_key", length = 100)
+    private String cityKey;
+
+    /**
+     * Nombre completo normalizado (ver SearchKeys): orden estable del directorio.
+     * idx_users_name_key sirve a ese orden; el filtro por texto compara por
+     * subcadena y no lo usa.
+     */
+    @Column(name = "name_key")
+    private String nameKey;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @Builder.Default
@@ -62,6 +83,17 @@ public class User {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    /**
+     * Recalcula las claves normalizadas a partir de los campos visibles.
+     */
+    @PrePersist
+    @PreUpdate
+    public void refreshSearchKeys() {
+        this.nameKey = SearchKeys.normalize(getFullName());
+        this.provinceKey = SearchKeys.normalize(province);
+        this.cityKey = SearchKeys.normalize(city);
+    }
+
     // Helper method para obtener nombre completo
     public String getFullName() {
         return firstName + " " + lastName;
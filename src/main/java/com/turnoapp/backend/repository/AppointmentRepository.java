@@ -1,19 +1,272 @@
 package com.turnoapp.backend.repository;
 
+import com.turnoapp.backend.calendar.CalendarVersion;
+import com.turnoapp.backend.dto.appointment.AppointmentRow;
+import com.turnoapp.backend.dto.appointment.AppointmentSummaryRow;
 import com.turnoapp.backend.model.Appointment;
 import com.turnoapp.backend.model.enums.AppointmentStatus;
+import com.turnoapp.backend.roster.ClientStatsAggregate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, AppointmentRowQueries {
+
+    /**
+     * SELECT de {@link AppointmentRow}: profesional, cliente (con sus usuarios) y
+     * servicio unidos en la misma consulta.
+     */
+    String SELECT_ROW = "SELECT new com.turnoapp.backend.dto.appointment.AppointmentRow(" +
+            "a.id, p.id, pu.firstName, pu.lastName, p.customUrl, p.profession, " +
+            "c.id, cu.firstName, cu.lastName, cu.email, " +
+            "s.id, s.name, s.duration, " +
+            "a.date, a.startTime, a.endTime, a.status, a.notes, a.createdAt, a.updatedAt) " +
+            "FROM Appointment a " +
+            "JOIN a.professional p JOIN p.user pu " +
+            "JOIN a.client c JOIN c.user cu " +
+            "JOIN a.service s ";
+
+    /**
+     * Ventana de fechas y estados de los listados paginados.
+     */
+    String WINDOW_FILTERS = "AND (:from IS NULL OR a.date >= :from) " +
+            "AND (:to IS NULL OR a.date <= :to) " +
+            "AND a.status IN :statuses ";
+
+    /**
+     * Keyset: filas posteriores al cursor (fecha, hora, id) en orden descendente o ascendente.
+     */
+    String AFTER_DESC = "AND (:afterDate IS NULL OR a.date < :afterDate " +
+            "     OR (a.date = :afterDate AND (a.startTime < :afterStart " +
+            "         OR (a.startTime = :afterStart AND a.id < :afterId)))) ";
+
+    String AFTER_ASC = "AND (:afterDate IS NULL OR a.date > :afterDate " +
+            "     OR (a.date = :afterDate AND (a.startTime > :afterStart " +
+            "         OR (a.startTime = :afterStart AND a.id > :afterId)))) ";
+
+    /**
+     * Turnos de un profesional como proyección, ordenados por fecha descendente.
+     * Una sola consulta sin importar la cantidad de turnos.
+     */
+    @Query(SELECT_ROW +
+           "WHERE a.professional.id = :professionalId " +
+           "ORDER BY a.date DESC, a.startTime DESC")
+    List<AppointmentRow> findRowsByProfessionalId(@Param("professionalId") Long professionalId);
+
+    /**
+     * Turnos de un cliente como proyección, ordenados por fecha descendente.
+     */
+    @Query(SELECT_ROW +
+           "WHERE a.client.id = :clientId " +
+           "ORDER BY a.date DESC, a.startTime DESC")
+    List<AppointmentRow> findRowsByClientId(@Param("clientId") Long clientId);
+
+    /**
+     * Página por keyset del historial de un profesional, en orden (fecha, hora, id)
+     * descendente. Usa el rango de idx_professional_date; con {@code afterDate}
+     * null empieza por el turno más reciente.
+     */
+    @Query(SELECT_ROW +
+           "WHERE a.professional.id = :ownerId " + WINDOW_FILTERS + AFTER_DESC +
+           "ORDER BY a.date DESC, a.startTime DESC, a.id DESC")
+    List<AppointmentRow> findRowsByProfessionalIdBefore(
+            @Param("ownerId") Long professionalId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("statuses") Collection<AppointmentStatus> statuses,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterStart") String afterStart,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    /**
+     * Como {@link #findRowsByProfessionalIdBefore} pero en orden ascendente: para los
+     * próximos turnos, con {@code from} en hoy solo se leen filas futuras.
+     */
+    @Query(SELECT_ROW +
+           "WHERE a.professional.id = :ownerId " + WINDOW_FILTERS + AFTER_ASC +
+           "ORDER BY a.date, a.startTime, a.id")
+    List<AppointmentRow> findRowsByProfessionalIdAfter(
+            @Param("ownerId") Long professionalId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("statuses") Collection<AppointmentStatus> statuses,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterStart") String afterStart,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    /**
+     * Página por keyset del historial de un cliente (idx_client_date), en orden descendente.
+     */
+    @Query(SELECT_ROW +
+           "WHERE a.client.id = :ownerId " + WINDOW_FILTERS + AFTER_DESC +
+           "ORDER BY a.date DESC, a.startTime DESC, a.id DESC")
+    List<AppointmentRow> findRowsByClientIdBefore(
+            @Param("ownerId") Long clientId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("statuses") Collection<AppointmentStatus> statuses,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterStart") String afterStart,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    /**
+     * Próximos turnos de un cliente por keyset, en orden ascendente.
+     */
+    @Query(SELECT_ROW +
+           "WHERE a.client.id = :ownerId " + WINDOW_FILTERS + AFTER_ASC +
+           "ORDER BY a.date, a.startTime, a.id")
+    List<AppointmentRow> findRowsByClientIdAfter(
+            @Param("ownerId") Long clientId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("statuses") Collection<AppointmentStatus> statuses,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterStart") String afterStart,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    /**
+     * Búsqueda por keyset en los turnos de un profesional, en orden descendente.
+     * {@code clientKey} (normalizada y escapada con SearchKeys.escapeLike) se compara
+     * por prefijo contra nombre, apellido y email del cliente. Cada predicado tiene
+     * su índice (professional_id, clave, date, start_time, id): el rango por prefijo
+     * y el cursor se evalúan en el índice antes de leer la fila. El servicio usa
+     * idx_professional_service_date.
+     */
+    @Query(SELECT_ROW +
+           "WHERE a.professional.id = :ownerId " + WINDOW_FILTERS +
+           "AND (:serviceId IS NULL OR a.service.id = :serviceId) " +
+           "AND (:clientKey IS NULL OR a.clientNameKey LIKE CONCAT(:clientKey, '%') ESCAPE '!' " +
+           "     OR a.clientSurnameKey LIKE CONCAT(:clientKey, '%') ESCAPE '!' " +
+           "     OR a.clientEmailKey LIKE CONCAT(:clientKey, '%') ESCAPE '!') " + AFTER_DESC +
+           "ORDER BY a.date DESC, a.startTime DESC, a.id DESC")
+    List<AppointmentRow> searchRowsByProfessionalId(
+            @Param("ownerId") Long professionalId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("statuses") Collection<AppointmentStatus> statuses,
+            @Param("clientKey") String clientKey,
+            @Param("serviceId") Long serviceId,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterStart") String afterStart,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    /**
+     * Turnos sin claves de cliente (creados antes de que existieran las columnas),
+     * con cliente y usuario para recalcularlas.
+     */
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.client c JOIN FETCH c.user " +
+           "WHERE a.clientNameKey IS NULL")
+    List<Appointment> findWithMissingClientKeys(Limit limit);
+
+    /**
+     * Filas leídas del cursor JDBC por tanda en las exportaciones.
+     * En MySQL requiere {@code useCursorFetch=true} en el datasource (application-prod.yaml);
+     * sin eso el driver trae todo el resultado.
+     */
+    String EXPORT_FETCH_SIZE = "500";
+
+    /**
+     * Historial completo de un profesional en orden cronológico, como cursor de solo avance.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SELECT_ROW +
+           "WHERE a.professional.id = :ownerId " + WINDOW_FILTERS +
+           "ORDER BY a.date, a.startTime, a.id")
+    Stream<AppointmentRow> streamRowsByProfessionalId(
+            @Param("ownerId") Long professionalId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("statuses") Collection<AppointmentStatus> statuses
+    );
+
+    /**
+     * Agregado del resumen del panel: cantidad e importe por día y estado, sobre el
+     * rango pedido y la semana actual. Una consulta con dos rangos de
+     * idx_professional_date; a lo sumo (días × estados) filas.
+     */
+    @Query("SELECT new com.turnoapp.backend.dto.appointment.AppointmentSummaryRow(" +
+           "a.date, a.status, COUNT(a.id), SUM(s.price)) " +
+           "FROM Appointment a JOIN a.service s " +
+           "WHERE a.professional.id = :professionalId " +
+           "AND (a.date BETWEEN :from AND :to OR a.date BETWEEN :weekStart AND :weekEnd) " +
+           "GROUP BY a.date, a.status")
+    List<AppointmentSummaryRow> summarizeByProfessional(
+            @Param("professionalId") Long professionalId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("weekStart") LocalDate weekStart,
+            @Param("weekEnd") LocalDate weekEnd
+    );
+
+    /**
+     * Turnos agrupados por profesional, cliente y estado: cálculo inicial de las
+     * estadísticas por cliente.
+     */
+    @Query("SELECT new com.turnoapp.backend.roster.ClientStatsAggregate(" +
+           "a.professional.id, a.client.id, a.status, COUNT(a.id), MAX(a.date)) " +
+           "FROM Appointment a " +
+           "GROUP BY a.professional.id, a.client.id, a.status")
+    List<ClientStatsAggregate> aggregateByProfessionalAndClient();
+
+    /**
+     * Versión del feed de calendario de un token: un único agregado sobre el rango
+     * de idx_professional_date. Vacío si el token no existe.
+     */
+    @Query("SELECT new com.turnoapp.backend.calendar.CalendarVersion(p.id, MAX(a.updatedAt), COUNT(a.id)) " +
+           "FROM Professional p LEFT JOIN Appointment a " +
+           "     ON a.professional = p AND a.date BETWEEN :from AND :to " +
+           "WHERE p.calendarToken = :token " +
+           "GROUP BY p.id")
+    Optional<CalendarVersion> findCalendarVersion(
+            @Param("token") String token,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Turnos de la ventana del feed modificados desde {@code since} (todos si es null).
+     */
+    @Query(SELECT_ROW +
+           "WHERE a.professional.id = :professionalId AND a.date BETWEEN :from AND :to " +
+           "AND (:since IS NULL OR a.updatedAt >= :since)")
+    List<AppointmentRow> findCalendarRows(
+            @Param("professionalId") Long professionalId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("since") Instant since
+    );
+
+    @Query(SELECT_ROW +
+           "WHERE a.id = :id AND a.professional.id = :professionalId")
+    Optional<AppointmentRow> findRowByIdAndProfessionalId(
+            @Param("id") Long id,
+            @Param("professionalId") Long professionalId
+    );
 
     /**
      * Busca todos los turnos de un profesional, ordenados por fecha descendente
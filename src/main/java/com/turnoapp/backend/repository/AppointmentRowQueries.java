@@ -0,0 +1,57 @@
+package com.turnoapp.backend.repository;
+
+import com.turnoapp.backend.dto.appointment.AppointmentRow;
+import com.turnoapp.backend.dto.common.SparseFields;
+import com.turnoapp.backend.model.enums.AppointmentStatus;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Consultas de {@link AppointmentRow} con proyección variable: el SELECT y los joins
+ * se arman según los campos pedidos, de modo que una lista que no muestra nombres
+ * no une usuarios ni servicios.
+ */
+public interface AppointmentRowQueries {
+
+    /**
+     * Columna dueña del listado; ambas tienen índice compuesto con la fecha.
+     */
+    enum RowOwner {
+        PROFESSIONAL("a.professional.id"),
+        CLIENT("a.client.id");
+
+        private final String column;
+
+        RowOwner(String column) {
+            this.column = column;
+        }
+
+        public String column() {
+            return column;
+        }
+    }
+
+    /**
+     * Como {@code findRowsByProfessionalIdBefore/After} (o las del cliente) con la
+     * proyección reducida a {@code fields}. Las columnas no pedidas llegan en null;
+     * id, fecha y hora se leen siempre porque forman el cursor.
+     *
+     * @param ascending true para el orden de los próximos turnos
+     */
+    List<AppointmentRow> findRowPage(
+            RowOwner owner,
+            Long ownerId,
+            SparseFields fields,
+            boolean ascending,
+            LocalDate from,
+            LocalDate to,
+            Collection<AppointmentStatus> statuses,
+            LocalDate afterDate,
+            String afterStart,
+            Long afterId,
+            Limit limit
+    );
+}
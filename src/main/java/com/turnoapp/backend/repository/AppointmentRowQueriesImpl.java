@@ -0,0 +1,118 @@
+package com.turnoapp.backend.repository;
+
+import com.turnoapp.backend.dto.appointment.AppointmentRow;
+import com.turnoapp.backend.dto.common.SparseFields;
+import com.turnoapp.backend.model.enums.AppointmentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+class AppointmentRowQueriesImpl implements AppointmentRowQueries {
+
+    /**
+     * Columnas de {@link AppointmentRow} en orden. {@code field} es el campo de
+     * AppointmentResponse que la necesita (null: siempre se lee) y {@code nullType}
+     * el tipo con que se reemplaza cuando no se pide.
+     */
+    private record Column(String expression, String field, String nullType) {}
+
+    private static final List<Column> COLUMNS = List.of(
+            new Column("a.id", null, null),
+            new Column("a.professional.id", null, null),
+            new Column("pu.firstName", "professionalName", "String"),
+            new Column("pu.lastName", "professionalName", "String"),
+            new Column("p.customUrl", "professionalCustomUrl", "String"),
+            new Column("p.profession", "professionalProfession", "String"),
+            new Column("a.client.id", null, null),
+            new Column("cu.firstName", "clientName", "String"),
+            new Column("cu.lastName", "clientName", "String"),
+            new Column("cu.email", "clientEmail", "String"),
+            new Column("a.service.id", null, null),
+            new Column("s.name", "serviceName", "String"),
+            new Column("s.duration", "serviceDuration", "Integer"),
+            new Column("a.date", null, null),
+            new Column("a.startTime", null, null),
+            new Column("a.endTime", null, null),
+            new Column("a.status", null, null),
+            new Column("a.notes", "notes", "String"),
+            new Column("a.createdAt", null, null),
+            new Column("a.updatedAt", null, null)
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AppointmentRow> findRowPage(
+            RowOwner owner,
+            Long ownerId,
+            SparseFields fields,
+            boolean ascending,
+            LocalDate from,
+            LocalDate to,
+            Collection<AppointmentStatus> statuses,
+            LocalDate afterDate,
+            String afterStart,
+            Long afterId,
+            Limit limit
+    ) {
+        String jpql = select(fields) +
+                "WHERE " + owner.column() + " = :ownerId " + AppointmentRepository.WINDOW_FILTERS +
+                (ascending
+                        ? AppointmentRepository.AFTER_ASC + "ORDER BY a.date, a.startTime, a.id"
+                        : AppointmentRepository.AFTER_DESC + "ORDER BY a.date DESC, a.startTime DESC, a.id DESC");
+
+        TypedQuery<AppointmentRow> query = entityManager.createQuery(jpql, AppointmentRow.class)
+                .setParameter("ownerId", ownerId)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setParameter("statuses", statuses)
+                .setParameter("afterDate", afterDate)
+                .setParameter("afterStart", afterStart)
+                .setParameter("afterId", afterId);
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * SELECT y FROM con solo los joins que usan las columnas pedidas. Con todos los
+     * campos equivale a {@link AppointmentRepository#SELECT_ROW}.
+     */
+    static String select(SparseFields fields) {
+        StringJoiner select = new StringJoiner(", ",
+                "SELECT new com.turnoapp.backend.dto.appointment.AppointmentRow(", ") ");
+        Set<String> aliases = new HashSet<>();
+        for (Column column : COLUMNS) {
+            if (column.field() == null || fields.includes(column.field())) {
+                select.add(column.expression());
+                aliases.add(column.expression().substring(0, column.expression().indexOf('.')));
+            } else {
+                select.add("CAST(NULL AS " + column.nullType() + ")");
+            }
+        }
+
+        StringBuilder from = new StringBuilder("FROM Appointment a ");
+        if (aliases.contains("pu")) {
+            from.append("JOIN a.professional p JOIN p.user pu ");
+        } else if (aliases.contains("p")) {
+            from.append("JOIN a.professional p ");
+        }
+        if (aliases.contains("cu")) {
+            from.append("JOIN a.client c JOIN c.user cu ");
+        }
+        if (aliases.contains("s")) {
+            from.append("JOIN a.service s ");
+        }
+        return select + from.toString();
+    }
+}
@@ -1,18 +1,52 @@
 package com.turnoapp.backend.repository;
 
+import com.turnoapp.backend.dto.common.ResourceVersion;
 import com.turnoapp.backend.model.Client;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Long> {
 
-    Optional<Client> findByUserId(Long userId);
+    @Query("SELECT c FROM Client c JOIN FETCH c.user WHERE c.id = :id")
+    Optional<Client> findByIdWithUser(@Param("id") Long id);
 
     @Query("SELECT c FROM Client c JOIN FETCH c.user")
     List<Client> findAllWithUser();
+
+    /**
+     * Versión del listado de turnos del cliente: una lectura por clave primaria.
+     *
+     * @see ProfessionalRepository#findAppointmentsVersion
+     */
+    @Query("SELECT new com.turnoapp.backend.dto.common.ResourceVersion(" +
+           "COALESCE(c.appointmentsChangedAt, c.createdAt), c.appointmentsVersion) " +
+           "FROM Client c WHERE c.id = :id")
+    Optional<ResourceVersion> findAppointmentsVersion(@Param("id") Long id);
+
+    /**
+     * Avanza la versión del listado de turnos en un único UPDATE, sin leer la fila.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Client c SET c.appointmentsVersion = c.appointmentsVersion + 1, " +
+           "c.appointmentsChangedAt = :now WHERE c.id = :id")
+    int advanceAppointmentsVersion(@Param("id") Long id, @Param("now") Instant now);
+
+    /**
+     * Avanza la versión de todos los clientes con turnos del profesional. Los pares
+     * salen de professional_client_stats, sin recorrer el historial de turnos.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Client c SET c.appointmentsVersion = c.appointmentsVersion + 1, " +
+           "c.appointmentsChangedAt = :now " +
+           "WHERE c.id IN (SELECT s.client.id FROM ClientStats s WHERE s.professional.id = :professionalId)")
+    int advanceAppointmentsVersionByProfessional(@Param("professionalId") Long professionalId,
+                                                 @Param("now") Instant now);
 }
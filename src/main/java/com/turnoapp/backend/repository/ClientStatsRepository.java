@@ -0,0 +1,65 @@
+package com.turnoapp.backend.repository;
+
+import com.turnoapp.backend.dto.client.ClientRosterRow;
+import com.turnoapp.backend.model.ClientStats;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ClientStatsRepository extends JpaRepository<ClientStats, Long> {
+
+    /**
+     * Aplica un cambio a los contadores en un único UPDATE (sin leer la fila),
+     * para que dos cambios concurrentes no se pisen.
+     *
+     * @param visitDate fecha a registrar como última visita, o null si el cambio no es una visita
+     * @return filas actualizadas: 0 si el par todavía no tiene estadísticas
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ClientStats s SET " +
+           "s.confirmed = s.confirmed + :confirmed, " +
+           "s.completed = s.completed + :completed, " +
+           "s.noShows = s.noShows + :noShows, " +
+           "s.cancelled = s.cancelled + :cancelled, " +
+           "s.lastAppointmentDate = CASE WHEN s.lastAppointmentDate < :date THEN :date ELSE s.lastAppointmentDate END, " +
+           "s.lastVisitDate = CASE WHEN :visitDate IS NOT NULL " +
+           "     AND (s.lastVisitDate IS NULL OR s.lastVisitDate < :visitDate) " +
+           "     THEN :visitDate ELSE s.lastVisitDate END " +
+           "WHERE s.professional.id = :professionalId AND s.client.id = :clientId")
+    int applyDelta(
+            @Param("professionalId") Long professionalId,
+            @Param("clientId") Long clientId,
+            @Param("confirmed") long confirmed,
+            @Param("completed") long completed,
+            @Param("noShows") long noShows,
+            @Param("cancelled") long cancelled,
+            @Param("date") LocalDate date,
+            @Param("visitDate") LocalDate visitDate
+    );
+
+    /**
+     * Página por keyset del listado de clientes, del turno más reciente al más antiguo.
+     * Lee el rango de idx_client_stats_professional_last y une cliente y usuario.
+     */
+    @Query("SELECT new com.turnoapp.backend.dto.client.ClientRosterRow(" +
+           "s.id, c.id, u.firstName, u.lastName, u.email, u.phone, " +
+           "s.confirmed, s.completed, s.noShows, s.cancelled, s.lastVisitDate, s.lastAppointmentDate) " +
+           "FROM ClientStats s JOIN s.client c JOIN c.user u " +
+           "WHERE s.professional.id = :professionalId " +
+           "AND (:afterDate IS NULL OR s.lastAppointmentDate < :afterDate " +
+           "     OR (s.lastAppointmentDate = :afterDate AND s.id < :afterId)) " +
+           "ORDER BY s.lastAppointmentDate DESC, s.id DESC")
+    List<ClientRosterRow> findRoster(
+            @Param("professionalId") Long professionalId,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+}
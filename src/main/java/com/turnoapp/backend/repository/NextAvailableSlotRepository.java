@@ -0,0 +1,37 @@
+package com.turnoapp.backend.repository;
+
+import com.turnoapp.backend.availability.EarliestSlot;
+import com.turnoapp.backend.model.NextAvailableSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NextAvailableSlotRepository extends JpaRepository<NextAvailableSlot, Long> {
+
+    List<NextAvailableSlot> findByProfessionalId(Long professionalId);
+
+    /**
+     * Próximo turno libre de cada profesional que tiene alguno, en una sola consulta agrupada.
+     */
+    @Query("SELECT new com.turnoapp.backend.availability.EarliestSlot(s.professional.id, MIN(s.date)) " +
+           "FROM NextAvailableSlot s GROUP BY s.professional.id")
+    List<EarliestSlot> findEarliestByProfessional();
+
+    @Query("SELECT MIN(s.date) FROM NextAvailableSlot s WHERE s.professional.id = :professionalId")
+    Optional<LocalDate> findEarliestDate(@Param("professionalId") Long professionalId);
+
+    /**
+     * Profesionales con algún slot precalculado que ya empezó: hay que buscarles el siguiente.
+     *
+     * @param now hora actual (HH:mm)
+     */
+    @Query("SELECT DISTINCT s.professional.id FROM NextAvailableSlot s " +
+           "WHERE s.date < :today OR (s.date = :today AND s.startTime < :now)")
+    List<Long> findProfessionalIdsWithPastSlots(@Param("today") LocalDate today, @Param("now") String now);
+}
@@ -1,59 +1,158 @@
 package com.turnoapp.backend.repository;
 
+import com.turnoapp.backend.dto.common.ResourceVersion;
+import com.turnoapp.backend.dto.professional.ProfessionalRow;
 import com.turnoapp.backend.model.Professional;
+import com.turnoapp.backend.search.FacetRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProfessionalRepository extends JpaRepository<Professional, Long> {
+public interface ProfessionalRepository extends JpaRepository<Professional, Long>, ProfessionalSearchQueries {
 
     Optional<Professional> findByCustomUrl(String customUrl);
 
     boolean existsByCustomUrl(String customUrl);
 
+    @Query("SELECT p.id FROM Professional p WHERE p.customUrl = :customUrl")
+    Optional<Long> findIdByCustomUrl(@Param("customUrl") String customUrl);
+
     Optional<Professional> findByUserId(Long userId);
 
+    @Query("SELECT p.id FROM Professional p")
+    List<Long> findAllIds();
+
     @Query("SELECT p FROM Professional p JOIN FETCH p.user")
     List<Professional> findAllWithUser();
 
-    @Query("SELECT DISTINCT p FROM Professional p " +
-           "JOIN p.user u " +
-           "LEFT JOIN p.siteConfig sc " +
+    @Query("SELECT p FROM Professional p JOIN FETCH p.user LEFT JOIN FETCH p.siteConfig")
+    List<Professional> findAllWithUserAndSiteConfig();
+
+    @Query("SELECT p FROM Professional p JOIN FETCH p.user LEFT JOIN FETCH p.siteConfig WHERE p.id = :id")
+    Optional<Professional> findByIdWithUserAndSiteConfig(@Param("id") Long id);
+
+    @Query("SELECT p FROM Professional p JOIN FETCH p.user LEFT JOIN FETCH p.siteConfig WHERE p.customUrl = :customUrl")
+    Optional<Professional> findByCustomUrlWithUserAndSiteConfig(@Param("customUrl") String customUrl);
+
+    /**
+     * Versión del perfil: la modificación más reciente entre profesional, usuario y
+     * SiteConfig, sin cargar las entidades. Vacío si el profesional no existe.
+     */
+    @Query("SELECT new com.turnoapp.backend.dto.common.ResourceVersion(" +
+           "GREATEST(COALESCE(p.updatedAt, p.createdAt), COALESCE(u.updatedAt, p.createdAt), " +
+           "COALESCE(sc.updatedAt, p.createdAt)), 1L) " +
+           "FROM Professional p JOIN p.user u LEFT JOIN p.siteConfig sc " +
+           "WHERE p.id = :id")
+    Optional<ResourceVersion> findProfileVersion(@Param("id") Long id);
+
+    /**
+     * Versión del listado de turnos del profesional: una lectura por clave primaria
+     * de la fila que mantiene AppointmentVersionUpdater. Vacío si el profesional no existe.
+     */
+    @Query("SELECT new com.turnoapp.backend.dto.common.ResourceVersion(" +
+           "COALESCE(p.appointmentsChangedAt, p.createdAt), p.appointmentsVersion) " +
+           "FROM Professional p WHERE p.id = :id")
+    Optional<ResourceVersion> findAppointmentsVersion(@Param("id") Long id);
+
+    /**
+     * Avanza la versión del listado de turnos en un único UPDATE, sin leer la fila.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Professional p SET p.appointmentsVersion = p.appointmentsVersion + 1, " +
+           "p.appointmentsChangedAt = :now WHERE p.id = :id")
+    int advanceAppointmentsVersion(@Param("id") Long id, @Param("now") Instant now);
+
+    @Query("SELECT p FROM Professional p JOIN FETCH p.user LEFT JOIN FETCH p.siteConfig WHERE p.id IN :ids")
+    List<Professional> findAllByIdWithUserAndSiteConfig(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Como {@link #findAllByIdWithUserAndSiteConfig} pero como proyección sin SiteConfig:
+     * ni el join ni la carga aparte del lado inverso del 1:1.
+     */
+    @Query("SELECT new com.turnoapp.backend.dto.professional.ProfessionalRow(" +
+           "p.id, u.id, u.firstName, u.lastName, u.email, p.profession, p.customUrl, u.phone, u.status) " +
+           "FROM Professional p JOIN p.user u WHERE p.id IN :ids")
+    List<ProfessionalRow> findRowsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Filtros del directorio sobre claves normalizadas (ver SearchKeys): los
+     * parámetros deben llegar normalizados, y la profesión con los comodines
+     * escapados ({@code SearchKeys.escapeLike}). La profesión se compara por
+     * subcadena: con el comodín inicial ningún índice la resuelve y se recorren los
+     * profesionales activos. Provincia y ciudad por igualdad, sobre
+     * idx_users_location_key. Espera los alias {@code p} y {@code u}. El texto libre
+     * lo agrega {@link ProfessionalSearchQueries}, una condición por palabra.
+     */
+    String DIRECTORY_FILTERS = "WHERE u.status = 'ACTIVE' " +
+            "AND (:professionKey IS NULL OR p.professionKey LIKE CONCAT('%', :professionKey, '%') ESCAPE '!') " +
+            "AND (:provinceKey IS NULL OR u.provinceKey = :provinceKey) " +
+            "AND (:cityKey IS NULL OR u.cityKey = :cityKey) ";
+
+    /**
+     * Solo los que tienen un turno libre hasta {@code availableBy}, si no es null.
+     */
+    String AVAILABLE_BY = "AND (:availableBy IS NULL OR EXISTS (SELECT 1 FROM NextAvailableSlot s " +
+            "     WHERE s.professional = p AND s.date <= :availableBy)) ";
+
+    /**
+     * Keyset: profesionales posteriores al cursor en orden (nameKey, id). name_key
+     * tiene intercalación binaria (ver NameKeyCollation): el orden coincide con el
+     * del índice en memoria y el cursor sirve en los dos caminos.
+     */
+    String AFTER_NAME = "AND (:afterNameKey IS NULL OR u.nameKey > :afterNameKey " +
+            "     OR (u.nameKey = :afterNameKey AND p.id > :afterId)) ";
+
+    /**
+     * Búsqueda full-text (MySQL) sobre text_key, ordenada por relevancia. Mismos
+     * filtros que {@link #findActiveProfessionalsWithFilters} y mismo criterio para
+     * el texto libre. Devuelve solo ids: la página se carga con
+     * {@link #findAllByIdWithUserAndSiteConfig}.
+     *
+     * @param query consulta en BOOLEAN MODE (ver FullTextSearchSupport.toBooleanQuery)
+     */
+    @Query(value = "SELECT p.id FROM professionals p " +
+           "JOIN users u ON u.id = p.user_id " +
            "WHERE u.status = 'ACTIVE' " +
-           "AND (:profession IS NULL OR LOWER(p.profession) LIKE LOWER(CONCAT('%', :profession, '%'))) " +
-           "AND (:province IS NULL OR LOWER(TRIM(u.province)) = LOWER(TRIM(:province))) " +
-           "AND (:city IS NULL OR LOWER(TRIM(u.city)) = LOWER(TRIM(:city))) " +
-           "AND (:search IS NULL OR LOWER(CONCAT(u.firstName, ' ', u.lastName)) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<Professional> findActiveProfessionalsWithFilters(
-            @Param("profession") String profession,
-            @Param("province") String province,
-            @Param("city") String city,
-            @Param("search") String search,
+           "AND MATCH(p.text_key) AGAINST (:query IN BOOLEAN MODE) " +
+           "AND (:professionKey IS NULL OR p.profession_key LIKE CONCAT('%', :professionKey, '%') ESCAPE '!') " +
+           "AND (:provinceKey IS NULL OR u.province_key = :provinceKey) " +
+           "AND (:cityKey IS NULL OR u.city_key = :cityKey) " +
+           "ORDER BY MATCH(p.text_key) AGAINST (:query IN BOOLEAN MODE) DESC, p.id",
+           countQuery = "SELECT COUNT(*) FROM professionals p " +
+           "JOIN users u ON u.id = p.user_id " +
+           "WHERE u.status = 'ACTIVE' " +
+           "AND MATCH(p.text_key) AGAINST (:query IN BOOLEAN MODE) " +
+           "AND (:professionKey IS NULL OR p.profession_key LIKE CONCAT('%', :professionKey, '%') ESCAPE '!') " +
+           "AND (:provinceKey IS NULL OR u.province_key = :provinceKey) " +
+           "AND (:cityKey IS NULL OR u.city_key = :cityKey)",
+           nativeQuery = true)
+    Page<Long> searchActiveProfessionalsFullText(
+            @Param("query") String query,
+            @Param("professionKey") String professionKey,
+            @Param("provinceKey") String provinceKey,
+            @Param("cityKey") String cityKey,
             Pageable pageable
     );
 
-    @Query("SELECT DISTINCT p.profession FROM Professional p " +
-           "JOIN p.user u " +
-           "WHERE u.status = 'ACTIVE' AND p.profession IS NOT NULL AND p.profession != '' " +
-           "ORDER BY p.profession")
-    List<String> findDistinctProfessions();
-
-    @Query("SELECT DISTINCT u.province FROM Professional p " +
-           "JOIN p.user u " +
-           "WHERE u.status = 'ACTIVE' AND u.province IS NOT NULL AND u.province != '' " +
-           "ORDER BY u.province")
-    List<String> findDistinctProvinces();
-
-    @Query("SELECT DISTINCT u.city FROM Professional p " +
-           "JOIN p.user u " +
-           "WHERE u.status = 'ACTIVE' AND u.city IS NOT NULL AND u.city != '' " +
-           "ORDER BY u.city")
-    List<String> findDistinctCities();
+    @Query("SELECT p FROM Professional p WHERE p.professionKey IS NULL")
+    List<Professional> findWithMissingSearchKeys();
+
+    @Query("SELECT p FROM Professional p JOIN FETCH p.user WHERE p.textKey IS NULL")
+    List<Professional> findByTextKeyIsNull();
+
+    @Query("SELECT new com.turnoapp.backend.search.FacetRow(p.profession, u.province, u.city, COUNT(p)) " +
+           "FROM Professional p JOIN p.user u " +
+           "WHERE u.status = 'ACTIVE' " +
+           "GROUP BY p.profession, u.province, u.city")
+    List<FacetRow> countActiveByFacets();
 }
@@ -0,0 +1,60 @@
+package com.turnoapp.backend.repository;
+
+import com.turnoapp.backend.model.Professional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Búsquedas del directorio con texto libre. Cada palabra agrega su propia
+ * condición, así que la consulta se arma según cuántas haya.
+ *
+ * El texto libre tiene un solo criterio en todos los caminos: cada palabra debe
+ * ser el comienzo de una palabra de {@code Professional.textKey} (nombre y
+ * profesión), como en ProfessionalDirectoryIndex. Con FULLTEXT es
+ * {@code +palabra*} en BOOLEAN MODE; sin él,
+ * {@code CONCAT(' ', text_key) LIKE '% palabra%'}. Las palabras llegan de
+ * {@code SearchKeys.words}: solo letras y dígitos, sin comodines que escapar.
+ * Los demás filtros son los de {@link ProfessionalRepository#DIRECTORY_FILTERS}; la
+ * variante FULLTEXT es {@link ProfessionalRepository#searchActiveProfessionalsFullText}.
+ */
+public interface ProfessionalSearchQueries {
+
+    /**
+     * Página de profesionales activos con usuario y SiteConfig en la misma consulta.
+     * Con {@code availableBy} solo entran los que tienen un turno libre hasta esa fecha.
+     */
+    Page<Professional> findActiveProfessionalsWithFilters(
+            String professionKey,
+            String provinceKey,
+            String cityKey,
+            List<String> words,
+            LocalDate availableBy,
+            Pageable pageable
+    );
+
+    /**
+     * Página por keyset en orden (nameKey, id): mismos filtros que
+     * {@link #findActiveProfessionalsWithFilters}, sin OFFSET ni COUNT.
+     * Con {@code afterNameKey} null empieza desde el principio.
+     */
+    List<Professional> findActiveProfessionalsAfter(
+            String professionKey,
+            String provinceKey,
+            String cityKey,
+            List<String> words,
+            String afterNameKey,
+            Long afterId,
+            Limit limit
+    );
+
+    long countActiveProfessionals(
+            String professionKey,
+            String provinceKey,
+            String cityKey,
+            List<String> words
+    );
+}
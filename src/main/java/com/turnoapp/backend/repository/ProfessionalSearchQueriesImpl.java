@@ -0,0 +1,105 @@
+package com.turnoapp.backend.repository;
+
+import com.turnoapp.backend.model.Professional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+class ProfessionalSearchQueriesImpl implements ProfessionalSearchQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Professional> findActiveProfessionalsWithFilters(
+            String professionKey,
+            String provinceKey,
+            String cityKey,
+            List<String> words,
+            LocalDate availableBy,
+            Pageable pageable
+    ) {
+        String where = ProfessionalRepository.DIRECTORY_FILTERS + wordFilters(words)
+                + ProfessionalRepository.AVAILABLE_BY;
+
+        TypedQuery<Professional> query = entityManager.createQuery(
+                "SELECT p FROM Professional p JOIN FETCH p.user u LEFT JOIN FETCH p.siteConfig " + where,
+                Professional.class);
+        bind(query, professionKey, provinceKey, cityKey, words).setParameter("availableBy", availableBy);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> {
+            TypedQuery<Long> count = entityManager.createQuery(
+                    "SELECT COUNT(p) FROM Professional p JOIN p.user u " + where, Long.class);
+            return bind(count, professionKey, provinceKey, cityKey, words)
+                    .setParameter("availableBy", availableBy)
+                    .getSingleResult();
+        });
+    }
+
+    @Override
+    public List<Professional> findActiveProfessionalsAfter(
+            String professionKey,
+            String provinceKey,
+            String cityKey,
+            List<String> words,
+            String afterNameKey,
+            Long afterId,
+            Limit limit
+    ) {
+        TypedQuery<Professional> query = entityManager.createQuery(
+                "SELECT p FROM Professional p JOIN FETCH p.user u LEFT JOIN FETCH p.siteConfig " +
+                ProfessionalRepository.DIRECTORY_FILTERS + wordFilters(words) +
+                ProfessionalRepository.AFTER_NAME + "ORDER BY u.nameKey, p.id",
+                Professional.class);
+        bind(query, professionKey, provinceKey, cityKey, words)
+                .setParameter("afterNameKey", afterNameKey)
+                .setParameter("afterId", afterId);
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public long countActiveProfessionals(String professionKey, String provinceKey, String cityKey, List<String> words) {
+        TypedQuery<Long> query = entityManager.createQuery(
+                "SELECT COUNT(p) FROM Professional p JOIN p.user u " +
+                ProfessionalRepository.DIRECTORY_FILTERS + wordFilters(words),
+                Long.class);
+        return bind(query, professionKey, provinceKey, cityKey, words).getSingleResult();
+    }
+
+    /**
+     * Una condición por palabra: debe empezar alguna palabra de text_key, que son
+     * palabras separadas por un espacio.
+     */
+    private static String wordFilters(List<String> words) {
+        StringBuilder filters = new StringBuilder();
+        for (int i = 0; i < words.size(); i++) {
+            filters.append("AND CONCAT(' ', p.textKey) LIKE :word").append(i).append(' ');
+        }
+        return filters.toString();
+    }
+
+    private static <T> TypedQuery<T> bind(TypedQuery<T> query, String professionKey, String provinceKey,
+                                          String cityKey, List<String> words) {
+        query.setParameter("professionKey", professionKey)
+                .setParameter("provinceKey", provinceKey)
+                .setParameter("cityKey", cityKey);
+        for (int i = 0; i < words.size(); i++) {
+            query.setParameter("word" + i, "% " + words.get(i) + "%");
+        }
+        return query;
+    }
+}
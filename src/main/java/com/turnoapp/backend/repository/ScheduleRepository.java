@@ -1,5 +1,6 @@
 package com.turnoapp.backend.repository;
 
+import com.turnoapp.backend.dto.common.ResourceVersion;
 import com.turnoapp.backend.model.ScheduleSlot;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -20,6 +21,13 @@ public interface ScheduleRepository extends JpaRepository<ScheduleSlot, Long> {
 
     List<ScheduleSlot> findByProfessionalIdAndDayOfWeekAndActiveTrue(Long professionalId, Integer dayOfWeek);
 
+    /**
+     * Versión de la agenda de un profesional; la cantidad refleja los bloques borrados.
+     */
+    @Query("SELECT new com.turnoapp.backend.dto.common.ResourceVersion(MAX(s.updatedAt), COUNT(s.id)) " +
+           "FROM ScheduleSlot s WHERE s.professional.id = :professionalId")
+    ResourceVersion findVersionByProfessionalId(@Param("professionalId") Long professionalId);
+
     @Query("SELECT s FROM ScheduleSlot s WHERE s.professional.id = :professionalId " +
            "AND s.dayOfWeek = :dayOfWeek " +
            "AND s.active = true " +
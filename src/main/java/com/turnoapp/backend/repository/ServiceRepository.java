@@ -1,8 +1,11 @@
 package com.turnoapp.backend.repository;
 
+import com.turnoapp.backend.dto.common.ResourceVersion;
 import com.turnoapp.backend.model.Service;
 import com.turnoapp.backend.model.enums.Status;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +17,11 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
     List<Service> findByProfessionalIdAndStatus(Long professionalId, Status status);
     Optional<Service> findByIdAndProfessionalId(Long id, Long professionalId);
     Optional<Service> findByIdAndProfessionalIdAndStatus(Long id, Long professionalId, Status status);
+
+    /**
+     * Versión del catálogo de un profesional (activos e inactivos).
+     */
+    @Query("SELECT new com.turnoapp.backend.dto.common.ResourceVersion(MAX(s.updatedAt), COUNT(s.id)) " +
+           "FROM Service s WHERE s.professional.id = :professionalId")
+    ResourceVersion findVersionByProfessionalId(@Param("professionalId") Long professionalId);
 }
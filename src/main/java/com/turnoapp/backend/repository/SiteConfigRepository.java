@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,5 +17,7 @@ public interface SiteConfigRepository extends JpaRepository<SiteConfig, Long> {
     Optional<SiteConfig> findByProfessionalIdWithProfessional(Long professionalId);
 
     boolean existsByProfessionalId(Long professionalId);
+
+    List<SiteConfig> findByLatitudeIsNullAndCityIsNotNull();
 }
 
@@ -1,8 +1,11 @@
 package com.turnoapp.backend.repository;
 
+import com.turnoapp.backend.config.security.UserIdentity;
 import com.turnoapp.backend.model.User;
 import com.turnoapp.backend.model.enums.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +19,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     List<User> findByRole(UserRole role);
+
+    /**
+     * Resuelve usuario, rol, estado e IDs de profesional/cliente en una sola consulta.
+     */
+    @Query("SELECT new com.turnoapp.backend.config.security.UserIdentity(" +
+           "u.id, u.email, u.role, u.status, p.id, c.id) " +
+           "FROM User u " +
+           "LEFT JOIN Professional p ON p.user = u " +
+           "LEFT JOIN Client c ON c.user = u " +
+           "WHERE u.id = :userId")
+    Optional<UserIdentity> findIdentityById(@Param("userId") Long userId);
+
+    @Query("SELECT u FROM User u WHERE u.nameKey IS NULL " +
+           "OR (u.province IS NOT NULL AND u.provinceKey IS NULL) " +
+           "OR (u.city IS NOT NULL AND u.cityKey IS NULL)")
+    List<User> findWithMissingSearchKeys();
 }
@@ -0,0 +1,70 @@
+package com.turnoapp.backend.roster;
+
+import com.turnoapp.backend.event.AppointmentChangedEvent;
+import com.turnoapp.backend.event.AppointmentListChangedEvent;
+import com.turnoapp.backend.repository.ClientRepository;
+import com.turnoapp.backend.repository.ProfessionalRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+/**
+ * Mantiene la versión de los listados de turnos guardada en cada profesional y
+ * cliente, para que una petición condicional lea una sola fila en lugar de
+ * agregar el historial.
+ *
+ * Avanza después del commit, en una transacción propia y corta: las reservas no
+ * toman el bloqueo de la fila del profesional mientras dura su transacción, así
+ * dos reservas concurrentes del mismo profesional no se serializan. Entre el
+ * commit y el avance una petición condicional todavía puede recibir 304 con la
+ * versión anterior; la siguiente ya ve el cambio.
+ */
+@Component
+@Slf4j
+public class AppointmentVersionUpdater {
+
+    private final ProfessionalRepository professionalRepository;
+    private final ClientRepository clientRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public AppointmentVersionUpdater(
+            ProfessionalRepository professionalRepository,
+            ClientRepository clientRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.professionalRepository = professionalRepository;
+        this.clientRepository = clientRepository;
+        // Los eventos llegan después del commit: se escribe en una transacción propia
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        Instant now = Instant.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            professionalRepository.advanceAppointmentsVersion(event.professionalId(), now);
+            clientRepository.advanceAppointmentsVersion(event.clientId(), now);
+        });
+    }
+
+    /**
+     * Los listados de los clientes muestran nombre del profesional y del servicio:
+     * avanzan todos los que tienen turnos con él.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentListChanged(AppointmentListChangedEvent event) {
+        Instant now = Instant.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            professionalRepository.advanceAppointmentsVersion(event.professionalId(), now);
+            int clients = clientRepository.advanceAppointmentsVersionByProfessional(event.professionalId(), now);
+            log.debug("Versión de turnos avanzada para el profesional {} y {} clientes",
+                    event.professionalId(), clients);
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.turnoapp.backend.roster;
+
+import com.turnoapp.backend.model.enums.AppointmentStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Cantidad y última fecha de turnos por profesional, cliente y estado; insumo del
+ * cálculo inicial de {@code ClientStats}.
+ */
+public record ClientStatsAggregate(
+        Long professionalId,
+        Long clientId,
+        AppointmentStatus status,
+        Long count,
+        LocalDate lastDate
+) {}
@@ -0,0 +1,162 @@
+package com.turnoapp.backend.roster;
+
+import com.turnoapp.backend.event.AppointmentChangedEvent;
+import com.turnoapp.backend.model.ClientStats;
+import com.turnoapp.backend.model.enums.AppointmentStatus;
+import com.turnoapp.backend.repository.AppointmentRepository;
+import com.turnoapp.backend.repository.ClientRepository;
+import com.turnoapp.backend.repository.ClientStatsRepository;
+import com.turnoapp.backend.repository.ProfessionalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Savepoint;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mantiene {@link ClientStats} a partir de los cambios de turnos.
+ *
+ * A diferencia de los índices en memoria, escucha el evento dentro de la misma
+ * transacción que modifica el turno: los contadores se actualizan o se
+ * descartan junto con él. Al iniciar, si la tabla está vacía, la calcula desde
+ * el historial con una consulta agrupada.
+ *
+ * El primer turno de un par inserta la fila dentro de un savepoint: si otro
+ * turno concurrente la insertó antes, se vuelve al savepoint y se repite el
+ * UPDATE, sin abortar la reserva del paciente.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClientStatsUpdater implements ApplicationRunner {
+
+    private static final String INSERT_SQL = "INSERT INTO professional_client_stats " +
+            "(professional_id, client_id, confirmed, completed, no_shows, cancelled, " +
+            "last_appointment_date, last_visit_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final ClientStatsRepository clientStatsRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ProfessionalRepository professionalRepository;
+    private final ClientRepository clientRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        Map<AppointmentStatus, Long> delta = new EnumMap<>(AppointmentStatus.class);
+        if (event.previousStatus() != null) {
+            delta.merge(event.previousStatus(), -1L, Long::sum);
+        }
+        delta.merge(event.status(), 1L, Long::sum);
+        LocalDate visitDate = event.status() == AppointmentStatus.COMPLETED ? event.date() : null;
+
+        long confirmed = delta.getOrDefault(AppointmentStatus.CONFIRMED, 0L);
+        long completed = delta.getOrDefault(AppointmentStatus.COMPLETED, 0L);
+        long noShows = delta.getOrDefault(AppointmentStatus.NO_SHOW, 0L);
+        long cancelled = delta.getOrDefault(AppointmentStatus.CANCELLED, 0L);
+
+        int updated = clientStatsRepository.applyDelta(event.professionalId(), event.clientId(),
+                confirmed, completed, noShows, cancelled, event.date(), visitDate);
+        if (updated > 0) {
+            return;
+        }
+
+        // Primer turno del cliente con este profesional
+        if (!insertIfAbsent(event.professionalId(), event.clientId(),
+                confirmed, completed, noShows, cancelled, event.date(), visitDate)) {
+            // Otro turno concurrente creó la fila: ya está confirmada, se le suma el cambio
+            log.debug("Estadísticas creadas en paralelo para profesional {} y cliente {}",
+                    event.professionalId(), event.clientId());
+            clientStatsRepository.applyDelta(event.professionalId(), event.clientId(),
+                    confirmed, completed, noShows, cancelled, event.date(), visitDate);
+        }
+    }
+
+    /**
+     * Inserta la fila del par dentro de un savepoint de la transacción en curso.
+     * Un duplicado vuelve al savepoint en lugar de marcar la transacción para rollback.
+     *
+     * @return false si la fila ya existía
+     */
+    private boolean insertIfAbsent(Long professionalId, Long clientId,
+                                   long confirmed, long completed, long noShows, long cancelled,
+                                   LocalDate date, LocalDate visitDate) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                statement.setLong(1, professionalId);
+                statement.setLong(2, clientId);
+                statement.setLong(3, Math.max(confirmed, 0));
+                statement.setLong(4, Math.max(completed, 0));
+                statement.setLong(5, Math.max(noShows, 0));
+                statement.setLong(6, Math.max(cancelled, 0));
+                statement.setDate(7, Date.valueOf(date));
+                if (visitDate != null) {
+                    statement.setDate(8, Date.valueOf(visitDate));
+                } else {
+                    statement.setNull(8, Types.DATE);
+                }
+                statement.executeUpdate();
+            } catch (SQLIntegrityConstraintViolationException e) {
+                connection.rollback(savepoint);
+                return false;
+            }
+            connection.releaseSavepoint(savepoint);
+            return true;
+        }));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer created = transactionTemplate.execute(status -> {
+            if (clientStatsRepository.count() > 0) {
+                return 0;
+            }
+            Map<List<Long>, ClientStats> byPair = new HashMap<>();
+            for (ClientStatsAggregate row : appointmentRepository.aggregateByProfessionalAndClient()) {
+                ClientStats stats = byPair.computeIfAbsent(List.of(row.professionalId(), row.clientId()), pair ->
+                        ClientStats.builder()
+                                .professional(professionalRepository.getReferenceById(row.professionalId()))
+                                .client(clientRepository.getReferenceById(row.clientId()))
+                                .lastAppointmentDate(row.lastDate())
+                                .build());
+                apply(stats, row.status(), row.count());
+                if (row.lastDate().isAfter(stats.getLastAppointmentDate())) {
+                    stats.setLastAppointmentDate(row.lastDate());
+                }
+                if (row.status() == AppointmentStatus.COMPLETED) {
+                    stats.setLastVisitDate(row.lastDate());
+                }
+            }
+            clientStatsRepository.saveAll(byPair.values());
+            return byPair.size();
+        });
+        if (created != null && created > 0) {
+            log.info("Estadísticas de clientes calculadas para {} pares profesional-cliente", created);
+        }
+    }
+
+    private static void apply(ClientStats stats, AppointmentStatus status, long count) {
+        switch (status) {
+            case CONFIRMED -> stats.setConfirmed(stats.getConfirmed() + count);
+            case COMPLETED -> stats.setCompleted(stats.getCompleted() + count);
+            case NO_SHOW -> stats.setNoShows(stats.getNoShows() + count);
+            case CANCELLED -> stats.setCancelled(stats.getCancelled() + count);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.turnoapp.backend.search;
+
+import com.turnoapp.backend.dto.professional.FacetValueResponse;
+import com.turnoapp.backend.dto.professional.FacetsResponse;
+import com.turnoapp.backend.dto.professional.FilterOptionsResponse;
+import com.turnoapp.backend.event.ProfessionalChangedEvent;
+import com.turnoapp.backend.repository.ProfessionalRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Facetas del directorio (profesión, provincia, ciudad) con cantidad de
+ * profesionales activos.
+ *
+ * Se guarda en memoria el resultado de una única consulta agrupada por las tres
+ * columnas; cada {@link ProfessionalChangedEvent} confirmado la vuelve a
+ * ejecutar. Las facetas filtradas se calculan sobre esas combinaciones (mucho
+ * menos que profesionales), sin consultar la base.
+ */
+@Component
+@RequiredArgsConstructor
+public class DirectoryFacets {
+
+    private final ProfessionalRepository professionalRepository;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Versión del snapshot actual, apta para ETag: cambia solo si cambian los datos.
+     */
+    public String version() {
+        return current().version();
+    }
+
+    /**
+     * @param profession subcadena de la profesión seleccionada, o null
+     * @param province   provincia seleccionada, o null
+     * @param city       ciudad seleccionada, o null
+     */
+    public FacetsResponse facets(String profession, String province, String city) {
+        String professionKey = SearchKeys.normalize(profession);
+        String provinceKey = SearchKeys.normalize(province);
+        String cityKey = SearchKeys.normalize(city);
+        Snapshot current = current();
+
+        Map<String, Long> professions = new HashMap<>();
+        Map<String, Long> provinces = new HashMap<>();
+        Map<String, Long> cities = new HashMap<>();
+        for (Entry entry : current.entries()) {
+            boolean professionMatches = professionKey == null
+                    || (entry.professionKey() != null && entry.professionKey().contains(professionKey));
+            boolean provinceMatches = provinceKey == null || provinceKey.equals(entry.provinceKey());
+            boolean cityMatches = cityKey == null || cityKey.equals(entry.cityKey());
+
+            // Conteo disjuntivo: cada faceta ignora su propio filtro
+            if (provinceMatches && cityMatches && entry.professionKey() != null) {
+                professions.merge(entry.professionKey(), entry.count(), Long::sum);
+            }
+            if (professionMatches && cityMatches && entry.provinceKey() != null) {
+                provinces.merge(entry.provinceKey(), entry.count(), Long::sum);
+            }
+            if (professionMatches && provinceMatches && entry.cityKey() != null) {
+                cities.merge(entry.cityKey(), entry.count(), Long::sum);
+            }
+        }
+
+        return new FacetsResponse(
+                toValues(professions, current.labels()),
+                toValues(provinces, current.labels()),
+                toValues(cities, current.labels())
+        );
+    }
+
+    /**
+     * Valores distintos de cada filtro, ordenados alfabéticamente.
+     */
+    public FilterOptionsResponse options() {
+        Snapshot current = current();
+        return new FilterOptionsResponse(
+                sortedLabels(current, Entry::professionKey),
+                sortedLabels(current, Entry::provinceKey),
+                sortedLabels(current, Entry::cityKey)
+        );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfessionalChanged(ProfessionalChangedEvent event) {
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        snapshot = Snapshot.of(professionalRepository.countActiveByFacets());
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static List<FacetValueResponse> toValues(Map<String, Long> counts, Map<String, String> labels) {
+        return counts.entrySet().stream()
+                .map(count -> new FacetValueResponse(labels.get(count.getKey()), count.getValue()))
+                .sorted(Comparator.comparingLong(FacetValueResponse::count).reversed()
+                        .thenComparing(FacetValueResponse::value))
+                .toList();
+    }
+
+    private static List<String> sortedLabels(Snapshot current, Function<Entry, String> key) {
+        return current.entries().stream()
+                .map(key)
+                .filter(value -> value != null)
+                .distinct()
+                .sorted()
+                .map(current.labels()::get)
+                .toList();
+    }
+
+    /**
+     * Combinación agrupada con sus claves normalizadas.
+     */
+    private record Entry(String professionKey, String provinceKey, String cityKey, long count) {
+    }
+
+    /**
+     * @param labels clave normalizada → texto a mostrar (la variante más frecuente)
+     */
+    private record Snapshot(List<Entry> entries, Map<String, String> labels, String version) {
+
+        static Snapshot of(List<FacetRow> rows) {
+            Map<String, Map<String, Long>> variants = new HashMap<>();
+            StringBuilder content = new StringBuilder();
+            List<Entry> entries = rows.stream()
+                    .sorted(Comparator.comparing(FacetRow::profession, Comparator.nullsFirst(Comparator.naturalOrder()))
+                            .thenComparing(FacetRow::province, Comparator.nullsFirst(Comparator.naturalOrder()))
+                            .thenComparing(FacetRow::city, Comparator.nullsFirst(Comparator.naturalOrder())))
+                    .map(row -> {
+                        content.append(row.profession()).append('|').append(row.province()).append('|')
+                                .append(row.city()).append('|').append(row.count()).append('\n');
+                        return new Entry(
+                                register(variants, row.profession(), row.count()),
+                                register(variants, row.province(), row.count()),
+                                register(variants, row.city(), row.count()),
+                                row.count());
+                    })
+                    .toList();
+
+            Map<String, String> labels = new HashMap<>();
+            variants.forEach((key, counts) -> labels.put(key, counts.entrySet().stream()
+                    .max(Map.Entry.<String, Long>comparingByValue()
+                            .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                    .orElseThrow()
+                    .getKey()));
+
+            String version = DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+            return new Snapshot(entries, Map.copyOf(labels), version);
+        }
+
+        private static String register(Map<String, Map<String, Long>> variants, String value, long count) {
+            String key = SearchKeys.normalize(value);
+            if (key != null) {
+                variants.computeIfAbsent(key, k -> new HashMap<>()).merge(value.trim(), count, Long::sum);
+            }
+            return key;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.turnoapp.backend.search;
+
+import com.turnoapp.backend.dto.professional.ProfessionalResponse;
+
+/**
+ * Posición de un profesional en el orden del directorio (nombre normalizado, id).
+ * Es lo que codifica el cursor de la búsqueda paginada por keyset.
+ */
+public record DirectoryPosition(String nameKey, long id) {
+
+    /**
+     * El nombre se normaliza igual que {@code User.nameKey}.
+     */
+    public static DirectoryPosition of(ProfessionalResponse professional) {
+        String nameKey = SearchKeys.normalize(professional.firstName() + " " + professional.lastName());
+        return new DirectoryPosition(nameKey != null ? nameKey : "", professional.id());
+    }
+}
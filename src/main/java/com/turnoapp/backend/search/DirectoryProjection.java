@@ -0,0 +1,35 @@
+package com.turnoapp.backend.search;
+
+import com.turnoapp.backend.availability.EarliestSlot;
+
+import java.util.Collection;
+
+/**
+ * Estructura en memoria derivada del directorio de profesionales activos.
+ * {@link ProfessionalDirectorySynchronizer} la construye al iniciar y la
+ * mantiene al día ante cada cambio confirmado.
+ */
+public interface DirectoryProjection {
+
+    /**
+     * Reemplaza todo el contenido.
+     */
+    void rebuild(Collection<ProfessionalDocument> documents);
+
+    /**
+     * Agrega o reemplaza un profesional activo.
+     */
+    void upsert(ProfessionalDocument document);
+
+    /**
+     * Quita un profesional (inactivo o inexistente). No falla si no estaba.
+     */
+    void remove(Long professionalId);
+
+    /**
+     * Actualiza solo la fecha del próximo turno libre de los profesionales indicados.
+     * Las proyecciones que no usan esa fecha la ignoran.
+     */
+    default void updateNextAvailable(Collection<EarliestSlot> changes) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.turnoapp.backend.search;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Filtros de búsqueda del directorio, ya normalizados con {@link SearchKeys}.
+ *
+ * @param profession  subcadena de la profesión
+ * @param province    provincia exacta
+ * @param city        ciudad exacta
+ * @param words       palabras del texto libre; cada una debe ser el comienzo de una
+ *                    palabra del nombre o la profesión (ver SearchKeys#startsAnyWord)
+ * @param availableBy último día aceptable para el próximo turno libre, o null
+ */
+public record DirectoryQuery(
+        String profession,
+        String province,
+        String city,
+        List<String> words,
+        LocalDate availableBy
+) {
+    public static DirectoryQuery of(String profession, String province, String city, String search) {
+        return of(profession, province, city, search, null);
+    }
+
+    public static DirectoryQuery of(String profession, String province, String city, String search,
+                                    LocalDate availableBy) {
+        return new DirectoryQuery(
+                SearchKeys.normalize(profession),
+                SearchKeys.normalize(province),
+                SearchKeys.normalize(city),
+                SearchKeys.words(search),
+                availableBy
+        );
+    }
+}
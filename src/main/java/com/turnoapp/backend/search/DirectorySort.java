@@ -0,0 +1,33 @@
+package com.turnoapp.backend.search;
+
+import java.util.Locale;
+
+/**
+ * Orden de los resultados del directorio.
+ */
+public enum DirectorySort {
+
+    /**
+     * Por nombre e id (orden por defecto, el que usa el scroll por cursor)
+     */
+    NAME,
+
+    /**
+     * Por próximo turno libre, los que no tienen al final; empates por nombre e id
+     */
+    AVAILABILITY;
+
+    /**
+     * @param value nombre del orden sin distinguir mayúsculas, o null para {@link #NAME}
+     */
+    public static DirectorySort from(String value) {
+        if (value == null || value.isBlank()) {
+            return NAME;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Orden inválido: " + value);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.turnoapp.backend.search;
+
+/**
+ * Cantidad de profesionales activos por combinación profesión/provincia/ciudad.
+ */
+public record FacetRow(
+        String profession,
+        String province,
+        String city,
+        long count
+) {}
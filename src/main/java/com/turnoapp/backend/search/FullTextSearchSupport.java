@@ -0,0 +1,134 @@
+package com.turnoapp.backend.search;
+
+import com.turnoapp.backend.model.Professional;
+import com.turnoapp.backend.repository.ProfessionalRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Búsqueda full-text del directorio de profesionales sobre {@code professionals.text_key}.
+ *
+ * Al iniciar completa {@code text_key} en filas viejas y, si
+ * {@code search.fulltext.enabled} está activo (MySQL), crea el índice FULLTEXT.
+ * Si el índice no está disponible la búsqueda sigue por LIKE sobre la misma
+ * columna y con el mismo criterio (ver SearchKeys#startsAnyWord).
+ */
+@Component
+@Slf4j
+public class FullTextSearchSupport implements ApplicationRunner {
+
+    static final String INDEX_NAME = "ft_professionals_text";
+
+    /**
+     * Índice anterior sobre search_text (nombre, profesión y descripción); se borra
+     * para no mantenerlo en cada escritura
+     */
+    private static final String LEGACY_INDEX_NAME = "ft_professionals_search";
+
+    /**
+     * Tamaño mínimo de token indexado por InnoDB (innodb_ft_min_token_size)
+     */
+    private static final int MIN_TOKEN_LENGTH = 3;
+
+    private final ProfessionalRepository professionalRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean configured;
+    private volatile boolean available;
+
+    public FullTextSearchSupport(
+            ProfessionalRepository professionalRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${search.fulltext.enabled:false}") boolean configured
+    ) {
+        this.professionalRepository = professionalRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.configured = configured;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        backfillTextKey();
+        if (configured) {
+            available = ensureFullTextIndex();
+        }
+    }
+
+    /**
+     * true si las búsquedas por texto pueden usar MATCH ... AGAINST.
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Convierte el texto del usuario en una consulta BOOLEAN MODE: todas las palabras
+     * obligatorias y con comodín de prefijo ("ana gom" → "+ana* +gom*"). Las palabras
+     * son las de {@link SearchKeys#words}, las mismas que compara el LIKE.
+     *
+     * InnoDB no indexa palabras de menos de {@value #MIN_TOKEN_LENGTH} letras, así que
+     * MATCH las ignoraría y ampliaría el resultado. Si el texto tiene alguna, la
+     * búsqueda sigue por LIKE, que sí la tiene en cuenta.
+     *
+     * @return la consulta, o null si alguna palabra es demasiado corta para el índice
+     */
+    public static String toBooleanQuery(String search) {
+        if (search == null) {
+            return null;
+        }
+        List<String> terms = new ArrayList<>();
+        for (String word : SearchKeys.words(search)) {
+            if (word.length() < MIN_TOKEN_LENGTH) {
+                return null;
+            }
+            terms.add("+" + word + "*");
+        }
+        return terms.isEmpty() ? null : String.join(" ", terms);
+    }
+
+    private void backfillTextKey() {
+        Integer updated = transactionTemplate.execute(status -> {
+            List<Professional> pending = professionalRepository.findByTextKeyIsNull();
+            pending.forEach(Professional::refreshTextKey);
+            return pending.size();
+        });
+        if (updated != null && updated > 0) {
+            log.info("text_key calculado para {} profesionales", updated);
+        }
+    }
+
+    private boolean ensureFullTextIndex() {
+        try {
+            if (indexExists(LEGACY_INDEX_NAME)) {
+                log.info("Borrando índice FULLTEXT {}", LEGACY_INDEX_NAME);
+                jdbcTemplate.execute("ALTER TABLE professionals DROP INDEX " + LEGACY_INDEX_NAME);
+            }
+            if (!indexExists(INDEX_NAME)) {
+                log.info("Creando índice FULLTEXT {}", INDEX_NAME);
+                jdbcTemplate.execute("ALTER TABLE professionals ADD FULLTEXT INDEX " + INDEX_NAME + " (text_key)");
+            }
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("Índice FULLTEXT no disponible, la búsqueda usará LIKE: {}", ex.getMessage());
+            return false;
+        }
+    }
+
+    private boolean indexExists(String name) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = 'professionals' AND index_name = ?",
+                Integer.class, name);
+        return existing != null && existing > 0;
+    }
+}
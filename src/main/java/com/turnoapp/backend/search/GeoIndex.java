@@ -0,0 +1,212 @@
+package com.turnoapp.backend.search;
+
+import com.turnoapp.backend.geo.GeoPoint;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice geográfico en memoria de los profesionales activos con coordenadas.
+ *
+ * Divide el mapa en celdas de {@link #CELL_DEGREES} grados (unos 11 km de
+ * latitud) y guarda por celda un {@code long[]} ordenado de ids. Una búsqueda
+ * por radio solo visita las celdas del rectángulo que lo contiene; la de los k
+ * más cercanos recorre anillos de celdas alrededor del punto y se detiene cuando
+ * ninguna celda sin visitar puede tener algo más cerca que el k-ésimo resultado.
+ */
+@Component
+public class GeoIndex implements DirectoryProjection {
+
+    public static final double MAX_RADIUS_KM = 500;
+
+    static final double CELL_DEGREES = 0.1;
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final long[] NO_IDS = new long[0];
+
+    private final Map<Long, Located> located = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> cells = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public synchronized void rebuild(Collection<ProfessionalDocument> documents) {
+        located.clear();
+        cells.clear();
+        Map<Long, List<Long>> byCell = new HashMap<>();
+        for (ProfessionalDocument document : documents) {
+            Located entry = Located.of(document);
+            if (entry != null) {
+                located.put(entry.id(), entry);
+                byCell.computeIfAbsent(entry.cell(), cell -> new ArrayList<>()).add(entry.id());
+            }
+        }
+        byCell.forEach((cell, ids) -> {
+            long[] sorted = ids.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            cells.put(cell, sorted);
+        });
+        ready = true;
+    }
+
+    @Override
+    public synchronized void upsert(ProfessionalDocument document) {
+        Located entry = Located.of(document);
+        Located previous = entry != null ? located.put(document.id(), entry) : located.remove(document.id());
+        if (previous != null && (entry == null || previous.cell() != entry.cell())) {
+            removeFromCell(previous.cell(), previous.id());
+        }
+        if (entry != null && (previous == null || previous.cell() != entry.cell())) {
+            long[] ids = cells.getOrDefault(entry.cell(), NO_IDS);
+            int position = Arrays.binarySearch(ids, entry.id());
+            if (position < 0) {
+                int at = -position - 1;
+                long[] out = new long[ids.length + 1];
+                System.arraycopy(ids, 0, out, 0, at);
+                out[at] = entry.id();
+                System.arraycopy(ids, at, out, at + 1, ids.length - at);
+                cells.put(entry.cell(), out);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void remove(Long professionalId) {
+        Located previous = located.remove(professionalId);
+        if (previous != null) {
+            removeFromCell(previous.cell(), previous.id());
+        }
+    }
+
+    /**
+     * Profesionales a menos de {@code radiusKm} del centro, del más cercano al más lejano.
+     *
+     * @param professionKey subcadena normalizada de la profesión, o null
+     */
+    public List<GeoMatch> withinRadius(GeoPoint center, double radiusKm, String professionKey, int limit) {
+        double radius = Math.min(radiusKm, MAX_RADIUS_KM);
+        double latDegrees = radius / KM_PER_DEGREE;
+        double lngDegrees = radius / (KM_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(center.latitude()))));
+
+        int minLat = latIndex(Math.max(-90, center.latitude() - latDegrees));
+        int maxLat = latIndex(Math.min(90, center.latitude() + latDegrees));
+        int minLng = lngIndex(Math.max(-180, center.longitude() - lngDegrees));
+        int maxLng = lngIndex(Math.min(180, center.longitude() + lngDegrees));
+
+        List<GeoMatch> matches = new ArrayList<>();
+        for (int lat = minLat; lat <= maxLat; lat++) {
+            for (int lng = minLng; lng <= maxLng; lng++) {
+                collect(cellKey(lat, lng), center, radius, professionKey, matches);
+            }
+        }
+        matches.sort(Comparator.comparingDouble(GeoMatch::distanceKm).thenComparingLong(GeoMatch::id));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Los {@code k} profesionales más cercanos al centro (hasta {@link #MAX_RADIUS_KM}).
+     *
+     * @param professionKey subcadena normalizada de la profesión, o null
+     */
+    public List<GeoMatch> nearest(GeoPoint center, int k, String professionKey) {
+        int centerLat = latIndex(center.latitude());
+        int centerLng = lngIndex(center.longitude());
+        // Lado mínimo de una celda en km: el de longitud se achica hacia los polos
+        double cellKm = CELL_DEGREES * KM_PER_DEGREE
+                * Math.max(0.01, Math.cos(Math.toRadians(Math.min(89, Math.abs(center.latitude()) + 1))));
+        int maxRing = (int) Math.ceil(MAX_RADIUS_KM / cellKm);
+
+        List<GeoMatch> matches = new ArrayList<>();
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int lat = centerLat - ring; lat <= centerLat + ring; lat++) {
+                boolean edgeRow = lat == centerLat - ring || lat == centerLat + ring;
+                int step = edgeRow || ring == 0 ? 1 : 2 * ring;
+                for (int lng = centerLng - ring; lng <= centerLng + ring; lng += step) {
+                    collect(cellKey(lat, lng), center, MAX_RADIUS_KM, professionKey, matches);
+                }
+            }
+
+            if (matches.size() >= k) {
+                matches.sort(Comparator.comparingDouble(GeoMatch::distanceKm).thenComparingLong(GeoMatch::id));
+                // Toda celda no visitada está al menos a ring celdas completas del punto
+                if (matches.get(k - 1).distanceKm() <= ring * cellKm) {
+                    break;
+                }
+            }
+        }
+        matches.sort(Comparator.comparingDouble(GeoMatch::distanceKm).thenComparingLong(GeoMatch::id));
+        return matches.size() > k ? new ArrayList<>(matches.subList(0, k)) : matches;
+    }
+
+    private void collect(long cell, GeoPoint center, double radiusKm, String professionKey, List<GeoMatch> matches) {
+        for (long id : cells.getOrDefault(cell, NO_IDS)) {
+            Located entry = located.get(id);
+            if (entry == null || (professionKey != null && !entry.professionKey().contains(professionKey))) {
+                continue;
+            }
+            double distance = center.distanceKm(entry.location());
+            if (distance <= radiusKm) {
+                matches.add(new GeoMatch(id, distance));
+            }
+        }
+    }
+
+    private void removeFromCell(long cell, long id) {
+        long[] ids = cells.get(cell);
+        if (ids == null) {
+            return;
+        }
+        int at = Arrays.binarySearch(ids, id);
+        if (at < 0) {
+            return;
+        }
+        if (ids.length == 1) {
+            cells.remove(cell);
+            return;
+        }
+        long[] out = new long[ids.length - 1];
+        System.arraycopy(ids, 0, out, 0, at);
+        System.arraycopy(ids, at + 1, out, at, ids.length - at - 1);
+        cells.put(cell, out);
+    }
+
+    private static int latIndex(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    private static int lngIndex(double longitude) {
+        return (int) Math.floor((longitude + 180) / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latIndex, int lngIndex) {
+        return ((long) latIndex << 32) | (lngIndex & 0xffffffffL);
+    }
+
+    public record GeoMatch(long id, double distanceKm) {
+    }
+
+    private record Located(long id, GeoPoint location, String professionKey, long cell) {
+
+        static Located of(ProfessionalDocument document) {
+            if (document.location() == null) {
+                return null;
+            }
+            String professionKey = SearchKeys.normalize(document.profession());
+            return new Located(
+                    document.id(),
+                    document.location(),
+                    professionKey != null ? professionKey : "",
+                    cellKey(latIndex(document.location().latitude()), lngIndex(document.location().longitude()))
+            );
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.turnoapp.backend.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deja {@code users.name_key} con intercalación binaria en MySQL.
+ *
+ * El directorio pagina por keyset sobre (name_key, id) tanto en memoria
+ * (ProfessionalDirectoryIndex, con {@link String#compareTo}) como en SQL. Con la
+ * intercalación por defecto de la tabla (utf8mb4_0900_ai_ci) MySQL ordena
+ * signos y letras fuera de a-z distinto que Java, y un cursor emitido por un
+ * camino saltearía o repetiría filas en el otro. Las claves ya están en
+ * minúsculas y sin acentos, así que comparar por bytes no cambia qué filas
+ * coinciden. H2 ya compara por código de carácter.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NameKeyCollation implements ApplicationRunner {
+
+    static final String COLLATION = "utf8mb4_bin";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(product)) {
+            return;
+        }
+        try {
+            String current = jdbcTemplate.queryForObject(
+                    "SELECT collation_name FROM information_schema.columns " +
+                    "WHERE table_schema = DATABASE() AND table_name = 'users' AND column_name = 'name_key'",
+                    String.class);
+            if (!COLLATION.equals(current)) {
+                log.info("Cambiando la intercalación de users.name_key de {} a {}", current, COLLATION);
+                jdbcTemplate.execute("ALTER TABLE users MODIFY name_key VARCHAR(255) " +
+                        "CHARACTER SET utf8mb4 COLLATE " + COLLATION);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("No se pudo fijar la intercalación de users.name_key: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,466 @@
+package com.turnoapp.backend.search;
+
+import com.turnoapp.backend.availability.EarliestSlot;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice invertido en memoria del directorio de profesionales activos.
+ *
+ * Cada término apunta a un {@code long[]} ordenado de ids:
+ * <ul>
+ *   <li>{@code province:<clave>} y {@code city:<clave>}: valor exacto normalizado</li>
+ *   <li>{@code profession:<trigrama>}: trigramas de la profesión</li>
+ *   <li>{@code text:<trigrama>}: trigramas de la clave de texto libre (nombre y profesión)</li>
+ * </ul>
+ * Una búsqueda intersecta las listas de sus filtros (de la más corta a la más
+ * larga) y verifica cada candidato contra su documento, así que los trigramas
+ * solo descartan: la profesión se compara por "contains" y cada palabra del texto
+ * libre debe empezar una palabra del nombre o la profesión, el mismo criterio de
+ * la búsqueda FULLTEXT y del LIKE (ver SearchKeys#startsAnyWord). Los resultados salen ordenados
+ * por nombre e id, o por próximo turno libre ({@link DirectorySort#AVAILABILITY}).
+ * Ambos órdenes se precalculan: la carga completa los ordena y cada escritura
+ * saca e inserta al profesional en su posición por búsqueda binaria.
+ *
+ * El orden por nombre compara {@code nameKey} con {@link String#compareTo}, igual
+ * que la consulta SQL del mismo listado sobre {@code users.name_key} (intercalación
+ * binaria, ver NameKeyCollation): un cursor sirve en cualquiera de los dos caminos.
+ *
+ * Las escrituras se serializan; las lecturas no toman lock. Una lectura
+ * concurrente con una escritura puede no ver todavía al profesional que se está
+ * actualizando, pero nunca devuelve uno que no cumpla los filtros.
+ */
+@Component
+public class ProfessionalDirectoryIndex implements DirectoryProjection {
+
+    private static final long[] NO_IDS = new long[0];
+    private static final int GRAM = 3;
+
+    private final Map<Long, IndexedProfessional> documents = new ConcurrentHashMap<>();
+    private final Map<String, long[]> postings = new ConcurrentHashMap<>();
+    private volatile Ordering ordering = Ordering.sorted(List.of(), IndexedProfessional.ORDER);
+    private volatile Ordering availabilityOrdering = Ordering.sorted(List.of(), IndexedProfessional.AVAILABILITY_ORDER);
+    private volatile boolean ready;
+
+    /**
+     * @return true una vez completada la primera carga
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    @Override
+    public synchronized void rebuild(Collection<ProfessionalDocument> newDocuments) {
+        documents.clear();
+        postings.clear();
+
+        Map<String, Set<Long>> terms = new HashMap<>();
+        for (ProfessionalDocument document : newDocuments) {
+            IndexedProfessional indexed = IndexedProfessional.of(document);
+            documents.put(document.id(), indexed);
+            for (String term : indexed.terms()) {
+                terms.computeIfAbsent(term, key -> new HashSet<>()).add(document.id());
+            }
+        }
+        terms.forEach((term, ids) -> {
+            long[] sorted = ids.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            postings.put(term, sorted);
+        });
+
+        ordering = Ordering.sorted(documents.values(), IndexedProfessional.ORDER);
+        availabilityOrdering = Ordering.sorted(documents.values(), IndexedProfessional.AVAILABILITY_ORDER);
+        ready = true;
+    }
+
+    @Override
+    public synchronized void upsert(ProfessionalDocument document) {
+        IndexedProfessional indexed = IndexedProfessional.of(document);
+        IndexedProfessional previous = documents.get(document.id());
+        Set<String> previousTerms = previous != null ? previous.terms() : Set.of();
+
+        for (String term : indexed.terms()) {
+            if (!previousTerms.contains(term)) {
+                postings.put(term, insert(postings.getOrDefault(term, NO_IDS), document.id()));
+            }
+        }
+        documents.put(document.id(), indexed);
+        for (String term : previousTerms) {
+            if (!indexed.terms().contains(term)) {
+                removePosting(term, document.id());
+            }
+        }
+
+        Ordering byName = ordering;
+        Ordering byAvailability = availabilityOrdering;
+        if (previous != null) {
+            byName = byName.without(previous);
+            byAvailability = byAvailability.without(previous);
+        }
+        ordering = byName.with(indexed);
+        availabilityOrdering = byAvailability.with(indexed);
+    }
+
+    @Override
+    public synchronized void remove(Long professionalId) {
+        IndexedProfessional previous = documents.remove(professionalId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            removePosting(term, professionalId);
+        }
+        ordering = ordering.without(previous);
+        availabilityOrdering = availabilityOrdering.without(previous);
+    }
+
+    @Override
+    public synchronized void updateNextAvailable(Collection<EarliestSlot> changes) {
+        List<IndexedProfessional[]> moved = new ArrayList<>();
+        for (EarliestSlot change : changes) {
+            IndexedProfessional previous = documents.get(change.professionalId());
+            if (previous != null && !Objects.equals(previous.nextAvailable(), change.date())) {
+                IndexedProfessional updated = previous.withNextAvailable(change.date());
+                documents.put(change.professionalId(), updated);
+                moved.add(new IndexedProfessional[] {previous, updated});
+            }
+        }
+        if (moved.isEmpty()) {
+            return;
+        }
+        // El orden por nombre no depende de la fecha. Cada movimiento copia el arreglo,
+        // así que con más de log2(n) cambios (el recálculo completo) sale más barato ordenar
+        if (moved.size() > Integer.SIZE - Integer.numberOfLeadingZeros(documents.size())) {
+            availabilityOrdering = Ordering.sorted(documents.values(), IndexedProfessional.AVAILABILITY_ORDER);
+            return;
+        }
+        Ordering byAvailability = availabilityOrdering;
+        for (IndexedProfessional[] move : moved) {
+            byAvailability = byAvailability.without(move[0]).with(move[1]);
+        }
+        availabilityOrdering = byAvailability;
+    }
+
+    /**
+     * @return ids de los profesionales que cumplen la consulta, ordenados por nombre e id
+     */
+    public List<Long> search(DirectoryQuery query) {
+        return searchAfter(query, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return ids de los profesionales que cumplen la consulta, en el orden pedido
+     */
+    public List<Long> search(DirectoryQuery query, DirectorySort sort) {
+        if (sort != DirectorySort.AVAILABILITY) {
+            return search(query);
+        }
+
+        List<long[]> lists = candidateLists(query);
+        List<Long> result = new ArrayList<>();
+
+        if (lists.isEmpty()) {
+            // Se recorre el orden por disponibilidad; pasada la fecha límite no hay más
+            for (IndexedProfessional entry : availabilityOrdering.entries()) {
+                IndexedProfessional indexed = documents.get(entry.id());
+                if (indexed == null) {
+                    continue;
+                }
+                if (query.availableBy() != null && !indexed.isAvailableBy(query.availableBy())) {
+                    break;
+                }
+                if (indexed.matches(query)) {
+                    result.add(indexed.id());
+                }
+            }
+            return result;
+        }
+
+        List<IndexedProfessional> matches = new ArrayList<>();
+        for (long id : intersectAll(lists)) {
+            IndexedProfessional indexed = documents.get(id);
+            if (indexed != null && indexed.matches(query)) {
+                matches.add(indexed);
+            }
+        }
+        matches.sort(IndexedProfessional.AVAILABILITY_ORDER);
+        matches.forEach(indexed -> result.add(indexed.id()));
+        return result;
+    }
+
+    /**
+     * Página por keyset: los primeros {@code limit} resultados posteriores a {@code after}
+     * en el orden nombre/id. Sin filtros indexables el costo no depende de la profundidad.
+     *
+     * @param after posición del último resultado ya entregado, o null para empezar
+     */
+    public List<Long> searchAfter(DirectoryQuery query, DirectoryPosition after, int limit) {
+        List<long[]> lists = candidateLists(query);
+        List<Long> result = new ArrayList<>();
+
+        if (lists.isEmpty()) {
+            // Sin filtros indexables: se recorre en orden desde la posición y se verifica
+            Ordering current = ordering;
+            IndexedProfessional[] entries = current.entries();
+            for (int i = current.startAfter(after); i < entries.length && result.size() < limit; i++) {
+                IndexedProfessional indexed = documents.get(entries[i].id());
+                if (indexed != null && indexed.matches(query)) {
+                    result.add(indexed.id());
+                }
+            }
+            return result;
+        }
+
+        long[] candidates = intersectAll(lists);
+        List<IndexedProfessional> matches = new ArrayList<>(candidates.length);
+        for (long id : candidates) {
+            IndexedProfessional indexed = documents.get(id);
+            if (indexed != null && indexed.matches(query) && (after == null || indexed.isAfter(after))) {
+                matches.add(indexed);
+            }
+        }
+        matches.sort(IndexedProfessional.ORDER);
+        for (int i = 0; i < matches.size() && result.size() < limit; i++) {
+            result.add(matches.get(i).id());
+        }
+        return result;
+    }
+
+    /**
+     * Intersección de las listas, de la más corta a la más larga.
+     */
+    private static long[] intersectAll(List<long[]> lists) {
+        lists.sort(Comparator.comparingInt(ids -> ids.length));
+        long[] candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+        return candidates;
+    }
+
+    private List<long[]> candidateLists(DirectoryQuery query) {
+        List<long[]> lists = new ArrayList<>();
+        if (query.province() != null) {
+            lists.add(postings.getOrDefault("province:" + query.province(), NO_IDS));
+        }
+        if (query.city() != null) {
+            lists.add(postings.getOrDefault("city:" + query.city(), NO_IDS));
+        }
+        if (query.profession() != null) {
+            addGramPostings(lists, "profession:", query.profession());
+        }
+        for (String word : query.words()) {
+            addGramPostings(lists, "text:", word);
+        }
+        return lists;
+    }
+
+    private void addGramPostings(List<long[]> lists, String prefix, String key) {
+        for (String gram : grams(key)) {
+            lists.add(postings.getOrDefault(prefix + gram, NO_IDS));
+        }
+    }
+
+    private void removePosting(String term, long id) {
+        long[] ids = postings.get(term);
+        if (ids == null) {
+            return;
+        }
+        long[] updated = delete(ids, id);
+        if (updated.length == 0) {
+            postings.remove(term);
+        } else {
+            postings.put(term, updated);
+        }
+    }
+
+    static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return ids;
+        }
+        int at = -position - 1;
+        long[] out = new long[ids.length + 1];
+        System.arraycopy(ids, 0, out, 0, at);
+        out[at] = id;
+        System.arraycopy(ids, at, out, at + 1, ids.length - at);
+        return out;
+    }
+
+    private static long[] delete(long[] ids, long id) {
+        int at = Arrays.binarySearch(ids, id);
+        if (at < 0) {
+            return ids;
+        }
+        long[] out = new long[ids.length - 1];
+        System.arraycopy(ids, 0, out, 0, at);
+        System.arraycopy(ids, at + 1, out, at, ids.length - at - 1);
+        return out;
+    }
+
+    private static Set<String> grams(String key) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= key.length(); i++) {
+            grams.add(key.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * Todos los profesionales en un orden fijo. Es inmutable: cada escritura publica
+     * una copia con el profesional sacado o insertado en su posición.
+     */
+    private record Ordering(IndexedProfessional[] entries, Comparator<IndexedProfessional> order) {
+
+        static Ordering sorted(Collection<IndexedProfessional> documents, Comparator<IndexedProfessional> order) {
+            IndexedProfessional[] entries = documents.toArray(new IndexedProfessional[0]);
+            Arrays.sort(entries, order);
+            return new Ordering(entries, order);
+        }
+
+        /**
+         * Los comparadores terminan en el id, así que cada profesional ocupa una sola posición.
+         */
+        Ordering with(IndexedProfessional indexed) {
+            int position = Arrays.binarySearch(entries, indexed, order);
+            if (position >= 0) {
+                return this;
+            }
+            int at = -position - 1;
+            IndexedProfessional[] out = new IndexedProfessional[entries.length + 1];
+            System.arraycopy(entries, 0, out, 0, at);
+            out[at] = indexed;
+            System.arraycopy(entries, at, out, at + 1, entries.length - at);
+            return new Ordering(out, order);
+        }
+
+        Ordering without(IndexedProfessional indexed) {
+            int at = Arrays.binarySearch(entries, indexed, order);
+            if (at < 0) {
+                return this;
+            }
+            IndexedProfessional[] out = new IndexedProfessional[entries.length - 1];
+            System.arraycopy(entries, 0, out, 0, at);
+            System.arraycopy(entries, at + 1, out, at, entries.length - at - 1);
+            return new Ordering(out, order);
+        }
+
+        /**
+         * @return índice del primer profesional posterior a {@code after} en el orden nombre/id
+         */
+        int startAfter(DirectoryPosition after) {
+            if (after == null) {
+                return 0;
+            }
+            int low = 0;
+            int high = entries.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (entries[mid].isAfter(after)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+    }
+
+    private record IndexedProfessional(
+            long id,
+            String nameKey,
+            String professionKey,
+            String provinceKey,
+            String cityKey,
+            String textKey,
+            LocalDate nextAvailable,
+            Set<String> terms
+    ) {
+        static final Comparator<IndexedProfessional> ORDER = Comparator
+                .comparing(IndexedProfessional::nameKey)
+                .thenComparingLong(IndexedProfessional::id);
+
+        static final Comparator<IndexedProfessional> AVAILABILITY_ORDER = Comparator
+                .comparing(IndexedProfessional::nextAvailable, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(ORDER);
+
+        static IndexedProfessional of(ProfessionalDocument document) {
+            String nameKey = orEmpty(SearchKeys.normalize(document.fullName()));
+            String professionKey = orEmpty(SearchKeys.normalize(document.profession()));
+            String provinceKey = SearchKeys.normalize(document.province());
+            String cityKey = SearchKeys.normalize(document.city());
+            String textKey = orEmpty(SearchKeys.textKey(document.fullName(), document.profession()));
+
+            Set<String> terms = new HashSet<>();
+            if (provinceKey != null) {
+                terms.add("province:" + provinceKey);
+            }
+            if (cityKey != null) {
+                terms.add("city:" + cityKey);
+            }
+            grams(professionKey).forEach(gram -> terms.add("profession:" + gram));
+            grams(textKey).forEach(gram -> terms.add("text:" + gram));
+
+            return new IndexedProfessional(document.id(), nameKey, professionKey, provinceKey, cityKey,
+                    textKey, document.nextAvailableDate(), Set.copyOf(terms));
+        }
+
+        IndexedProfessional withNextAvailable(LocalDate date) {
+            return new IndexedProfessional(id, nameKey, professionKey, provinceKey, cityKey, textKey, date, terms);
+        }
+
+        boolean matches(DirectoryQuery query) {
+            return (query.province() == null || query.province().equals(provinceKey))
+                    && (query.city() == null || query.city().equals(cityKey))
+                    && (query.profession() == null || professionKey.contains(query.profession()))
+                    && query.words().stream().allMatch(word -> SearchKeys.startsAnyWord(textKey, word))
+                    && (query.availableBy() == null || isAvailableBy(query.availableBy()));
+        }
+
+        boolean isAvailableBy(LocalDate date) {
+            return nextAvailable != null && !nextAvailable.isAfter(date);
+        }
+
+        boolean isAfter(DirectoryPosition position) {
+            int cmp = nameKey.compareTo(position.nameKey());
+            return cmp > 0 || (cmp == 0 && id > position.id());
+        }
+
+        private static String orEmpty(String key) {
+            return key != null ? key : "";
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.turnoapp.backend.search;
+
+import com.turnoapp.backend.availability.EarliestSlot;
+import com.turnoapp.backend.event.NextAvailableChangedEvent;
+import com.turnoapp.backend.event.ProfessionalChangedEvent;
+import com.turnoapp.backend.model.Professional;
+import com.turnoapp.backend.model.enums.Status;
+import com.turnoapp.backend.repository.NextAvailableSlotRepository;
+import com.turnoapp.backend.repository.ProfessionalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Mantiene las {@link DirectoryProjection} en memoria: las construye al iniciar
+ * con todos los profesionales activos y aplica cada {@link ProfessionalChangedEvent}
+ * una vez confirmada la transacción. Los {@link NextAvailableChangedEvent} solo
+ * cambian la fecha del próximo turno libre, sin volver a leer el perfil.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProfessionalDirectorySynchronizer {
+
+    private final ProfessionalRepository professionalRepository;
+    private final NextAvailableSlotRepository nextAvailableSlotRepository;
+    private final List<DirectoryProjection> projections;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        Map<Long, LocalDate> nextAvailable = nextAvailableSlotRepository.findEarliestByProfessional().stream()
+                .collect(Collectors.toMap(EarliestSlot::professionalId, EarliestSlot::date));
+        List<ProfessionalDocument> documents = professionalRepository.findAllWithUserAndSiteConfig().stream()
+                .filter(professional -> professional.getStatus() == Status.ACTIVE)
+                .map(professional -> ProfessionalDocument.fromEntity(
+                        professional, nextAvailable.get(professional.getId())))
+                .toList();
+        projections.forEach(projection -> projection.rebuild(documents));
+        log.info("Directorio en memoria cargado: {} profesionales activos", documents.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfessionalChanged(ProfessionalChangedEvent event) {
+        Optional<Professional> professional = professionalRepository.findByIdWithUserAndSiteConfig(event.professionalId())
+                .filter(found -> found.getStatus() == Status.ACTIVE);
+
+        if (professional.isPresent()) {
+            ProfessionalDocument document = ProfessionalDocument.fromEntity(professional.get(),
+                    nextAvailableSlotRepository.findEarliestDate(event.professionalId()).orElse(null));
+            projections.forEach(projection -> projection.upsert(document));
+        } else {
+            projections.forEach(projection -> projection.remove(event.professionalId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNextAvailableChanged(NextAvailableChangedEvent event) {
+        projections.forEach(projection -> projection.updateNextAvailable(event.changes()));
+    }
+}
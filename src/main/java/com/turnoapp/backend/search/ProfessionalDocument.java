@@ -0,0 +1,46 @@
+package com.turnoapp.backend.search;
+
+import com.turnoapp.backend.geo.GeoPoint;
+import com.turnoapp.backend.model.Professional;
+
+import java.time.LocalDate;
+
+/**
+ * Datos de un profesional activo que indexan las estructuras en memoria del directorio.
+ *
+ * @param location          coordenadas del sitio, o null si no tiene
+ * @param nextAvailableDate fecha del próximo turno libre precalculado, o null si no tiene
+ */
+public record ProfessionalDocument(
+        Long id,
+        String fullName,
+        String profession,
+        String province,
+        String city,
+        GeoPoint location,
+        LocalDate nextAvailableDate
+) {
+    public ProfessionalDocument(Long id, String fullName, String profession, String province, String city) {
+        this(id, fullName, profession, province, city, null, null);
+    }
+
+    public ProfessionalDocument(Long id, String fullName, String profession, String province, String city,
+                                GeoPoint location) {
+        this(id, fullName, profession, province, city, location, null);
+    }
+
+    /**
+     * Requiere {@code professional.user} y {@code professional.siteConfig} cargados.
+     */
+    public static ProfessionalDocument fromEntity(Professional professional, LocalDate nextAvailableDate) {
+        return new ProfessionalDocument(
+                professional.getId(),
+                professional.getFullName(),
+                professional.getProfession(),
+                professional.getUser().getProvince(),
+                professional.getUser().getCity(),
+                professional.getSiteConfig() != null ? professional.getSiteConfig().getLocation() : null,
+                nextAvailableDate
+        );
+    }
+}
@@ -0,0 +1,64 @@
+package com.turnoapp.backend.search;
+
+import com.turnoapp.backend.model.Appointment;
+import com.turnoapp.backend.model.Professional;
+import com.turnoapp.backend.model.User;
+import com.turnoapp.backend.repository.AppointmentRepository;
+import com.turnoapp.backend.repository.ProfessionalRepository;
+import com.turnoapp.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Completa al iniciar las claves normalizadas de filas creadas antes de que
+ * existieran las columnas. Las filas nuevas las calculan los callbacks de JPA.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchKeyBackfill implements ApplicationRunner {
+
+    private static final int APPOINTMENT_BATCH = 500;
+
+    private final UserRepository userRepository;
+    private final ProfessionalRepository professionalRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer updated = transactionTemplate.execute(status -> {
+            List<User> users = userRepository.findWithMissingSearchKeys();
+            users.forEach(User::refreshSearchKeys);
+            List<Professional> professionals = professionalRepository.findWithMissingSearchKeys();
+            professionals.forEach(Professional::refreshSearchKeys);
+            return users.size() + professionals.size();
+        });
+        if (updated != null && updated > 0) {
+            log.info("Claves de búsqueda calculadas para {} filas", updated);
+        }
+
+        // Turnos por tandas: el historial puede ser grande
+        int appointments = 0;
+        Integer batch;
+        do {
+            batch = transactionTemplate.execute(status -> {
+                List<Appointment> pending = appointmentRepository.findWithMissingClientKeys(Limit.of(APPOINTMENT_BATCH));
+                pending.forEach(Appointment::refreshClientKeys);
+                // Las que siguen sin clave (nombre vacío) cortan el ciclo en vez de repetirse
+                return (int) pending.stream().filter(a -> a.getClientNameKey() != null).count();
+            });
+            appointments += batch != null ? batch : 0;
+        } while (batch != null && batch == APPOINTMENT_BATCH);
+        if (appointments > 0) {
+            log.info("Claves de cliente calculadas para {} turnos", appointments);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.turnoapp.backend.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de texto para búsquedas: minúsculas, sin acentos y con
+ * espacios colapsados ("  Córdoba " → "cordoba").
+ */
+public final class SearchKeys {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern LIKE_SPECIAL = Pattern.compile("[!%_]");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Carácter de escape de los LIKE sobre claves ({@code ESCAPE '!'}): a
+     * diferencia de la barra invertida, se escribe igual en MySQL y en H2.
+     */
+    public static final char LIKE_ESCAPE = '!';
+
+    private SearchKeys() {
+    }
+
+    /**
+     * @return la clave normalizada, o null si el valor es null o está vacío
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        String key = WHITESPACE.matcher(folded.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+        return key.isEmpty() ? null : key;
+    }
+
+    /**
+     * Palabras de un texto libre, normalizadas y cortadas en cualquier signo, como
+     * corta el índice FULLTEXT de MySQL: "Ana, Gómez-Paz" → [ana, gomez, paz].
+     */
+    public static List<String> words(String value) {
+        String key = normalize(value);
+        if (key == null) {
+            return List.of();
+        }
+        return Arrays.stream(NON_WORD.split(key)).filter(word -> !word.isEmpty()).toList();
+    }
+
+    /**
+     * Clave del texto libre: las palabras de los valores separadas por un espacio
+     * ("María Gómez", "Psicóloga" → "maria gomez psicologa").
+     *
+     * @return la clave, o null si no hay ninguna palabra
+     */
+    public static String textKey(String... values) {
+        StringJoiner key = new StringJoiner(" ");
+        for (String value : values) {
+            words(value).forEach(key::add);
+        }
+        return key.length() > 0 ? key.toString() : null;
+    }
+
+    /**
+     * Criterio del texto libre del directorio: true si {@code word} es el comienzo
+     * de alguna palabra de {@code textKey}. Es lo mismo que resuelven
+     * {@code MATCH ... AGAINST ('+word*')} y {@code CONCAT(' ', text_key) LIKE '% word%'}.
+     */
+    public static boolean startsAnyWord(String textKey, String word) {
+        return textKey.startsWith(word) || textKey.contains(" " + word);
+    }
+
+    /**
+     * Escapa los comodines de una clave para usarla dentro de un LIKE con
+     * {@code ESCAPE '!'}: "50%_off" → "50!%!_off".
+     *
+     * @return la clave escapada, o null si es null
+     */
+    public static String escapeLike(String key) {
+        return key != null ? LIKE_SPECIAL.matcher(key).replaceAll("!$0") : null;
+    }
+}
@@ -0,0 +1,325 @@
+package com.turnoapp.backend.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Autocompletado del directorio: trie compacto (radix) de profesiones, ciudades
+ * y nombres de profesionales activos.
+ *
+ * Cada término se inserta una vez por palabra ("ana gomez" y "gomez"), con peso
+ * igual a la cantidad de profesionales activos que lo tienen. Cada nodo guarda
+ * los {@link #MAX_SUGGESTIONS} mejores términos de su subárbol, así que una
+ * consulta solo recorre el prefijo. Los cambios recalculan únicamente los nodos
+ * del camino de cada término afectado.
+ */
+@Component
+public class SuggestionIndex implements DirectoryProjection {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final Comparator<Term> RANKING = Comparator
+            .comparingLong(Term::weight).reversed()
+            .thenComparing(Term::label);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, ProfessionalDocument> documents = new HashMap<>();
+    private final Map<TermKey, Term> terms = new HashMap<>();
+    private Node root = new Node("");
+
+    /**
+     * @param limit máximo de sugerencias, acotado a {@link #MAX_SUGGESTIONS}
+     * @return términos que empiezan con alguna palabra de {@code prefix}, por peso descendente
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = SearchKeys.normalize(prefix);
+        if (key == null || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = find(key);
+            if (node == null) {
+                return List.of();
+            }
+            return node.top.stream()
+                    .limit(Math.min(limit, MAX_SUGGESTIONS))
+                    .map(term -> new Suggestion(term.key().type(), term.label(), term.weight()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuild(Collection<ProfessionalDocument> newDocuments) {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            terms.clear();
+            root = new Node("");
+            newDocuments.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(ProfessionalDocument document) {
+        lock.writeLock().lock();
+        try {
+            ProfessionalDocument previous = documents.remove(document.id());
+            if (previous != null) {
+                termsOf(previous).forEach((key, label) -> adjust(key, label, -1));
+            }
+            add(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long professionalId) {
+        lock.writeLock().lock();
+        try {
+            ProfessionalDocument previous = documents.remove(professionalId);
+            if (previous != null) {
+                termsOf(previous).forEach((key, label) -> adjust(key, label, -1));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(ProfessionalDocument document) {
+        documents.put(document.id(), document);
+        termsOf(document).forEach((key, label) -> adjust(key, label, 1));
+    }
+
+    private static Map<TermKey, String> termsOf(ProfessionalDocument document) {
+        Map<TermKey, String> result = new HashMap<>();
+        put(result, SuggestionType.PROFESSION, document.profession());
+        put(result, SuggestionType.CITY, document.city());
+        put(result, SuggestionType.NAME, document.fullName());
+        return result;
+    }
+
+    private static void put(Map<TermKey, String> result, SuggestionType type, String value) {
+        String key = SearchKeys.normalize(value);
+        if (key != null) {
+            result.put(new TermKey(type, key), value.trim());
+        }
+    }
+
+    private void adjust(TermKey key, String label, int delta) {
+        Term term = terms.get(key);
+        if (term == null) {
+            if (delta <= 0) {
+                return;
+            }
+            term = new Term(key, label);
+            terms.put(key, term);
+            term.weight = delta;
+            for (String suffix : wordSuffixes(key.key())) {
+                insert(suffix, term);
+            }
+            return;
+        }
+
+        term.weight += delta;
+        if (delta > 0) {
+            term.label = label;
+        }
+        for (String suffix : wordSuffixes(key.key())) {
+            if (term.weight <= 0) {
+                delete(suffix, term);
+            } else {
+                refresh(path(suffix));
+            }
+        }
+        if (term.weight <= 0) {
+            terms.remove(key);
+        }
+    }
+
+    private void insert(String key, Term term) {
+        Node node = root;
+        List<Node> path = new ArrayList<>();
+        path.add(node);
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.children.get(key.charAt(position));
+            if (child == null) {
+                child = new Node(key.substring(position));
+                node.children.put(key.charAt(position), child);
+                node = child;
+                path.add(node);
+                break;
+            }
+            int common = commonPrefix(child.edge, key, position);
+            if (common < child.edge.length()) {
+                // Se parte la arista: el nodo intermedio toma el prefijo común
+                Node middle = new Node(child.edge.substring(0, common));
+                child.edge = child.edge.substring(common);
+                middle.children.put(child.edge.charAt(0), child);
+                middle.top = child.top;
+                node.children.put(middle.edge.charAt(0), middle);
+                child = middle;
+            }
+            node = child;
+            path.add(node);
+            position += common;
+        }
+        if (!node.terms.contains(term)) {
+            node.terms.add(term);
+        }
+        refresh(path);
+    }
+
+    private void delete(String key, Term term) {
+        List<Node> path = path(key);
+        if (path.isEmpty()) {
+            return;
+        }
+        Node node = path.get(path.size() - 1);
+        node.terms.remove(term);
+
+        // Se podan las hojas vacías
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            if (!current.terms.isEmpty() || !current.children.isEmpty()) {
+                break;
+            }
+            path.get(i - 1).children.remove(current.edge.charAt(0));
+            path.remove(i);
+        }
+        refresh(path);
+    }
+
+    /**
+     * Nodos desde la raíz hasta el que termina exactamente en {@code key}; vacío si no existe.
+     */
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.children.get(key.charAt(position));
+            if (child == null || !key.startsWith(child.edge, position)) {
+                return new ArrayList<>();
+            }
+            node = child;
+            path.add(node);
+            position += child.edge.length();
+        }
+        return path;
+    }
+
+    /**
+     * Nodo cuyo subárbol contiene todas las claves que empiezan con {@code prefix}.
+     */
+    private Node find(String prefix) {
+        Node node = root;
+        int position = 0;
+        while (position < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(position));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefix(child.edge, prefix, position);
+            if (position + common == prefix.length()) {
+                return child;
+            }
+            if (common < child.edge.length()) {
+                return null;
+            }
+            node = child;
+            position += common;
+        }
+        return node;
+    }
+
+    /**
+     * Recalcula los mejores términos de cada nodo del camino, de la hoja a la raíz.
+     */
+    private void refresh(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            List<Term> candidates = new ArrayList<>(node.terms);
+            node.children.values().forEach(child -> candidates.addAll(child.top));
+            // Un término aparece en varias ramas (una por palabra): se cuenta una vez
+            node.top = candidates.stream()
+                    .distinct()
+                    .sorted(RANKING)
+                    .limit(MAX_SUGGESTIONS)
+                    .toList();
+        }
+    }
+
+    private static int commonPrefix(String edge, String key, int offset) {
+        int max = Math.min(edge.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && edge.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static List<String> wordSuffixes(String key) {
+        List<String> suffixes = new ArrayList<>();
+        suffixes.add(key);
+        for (int i = key.indexOf(' '); i >= 0; i = key.indexOf(' ', i + 1)) {
+            suffixes.add(key.substring(i + 1));
+        }
+        return suffixes;
+    }
+
+    public record Suggestion(SuggestionType type, String value, long count) {
+    }
+
+    private record TermKey(SuggestionType type, String key) {
+    }
+
+    private static final class Term {
+        private final TermKey key;
+        private String label;
+        private long weight;
+
+        Term(TermKey key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+
+        TermKey key() {
+            return key;
+        }
+
+        String label() {
+            return label;
+        }
+
+        long weight() {
+            return weight;
+        }
+    }
+
+    private static final class Node {
+        private String edge;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final List<Term> terms = new ArrayList<>(1);
+        private List<Term> top = List.of();
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+    }
+}
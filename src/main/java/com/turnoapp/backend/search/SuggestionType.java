@@ -0,0 +1,10 @@
+package com.turnoapp.backend.search;
+
+/**
+ * Tipo de término sugerido por el autocompletado del directorio.
+ */
+public enum SuggestionType {
+    PROFESSION,
+    CITY,
+    NAME
+}
@@ -1,9 +1,13 @@
 package com.turnoapp.backend.service;
 
 import com.turnoapp.backend.dto.appointment.*;
+import com.turnoapp.backend.dto.common.CursorPageResponse;
+import com.turnoapp.backend.dto.common.ResourceVersion;
+import com.turnoapp.backend.dto.common.SparseFields;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface para gestión de turnos.
@@ -35,6 +39,90 @@ public interface AppointmentService {
      */
     List<AppointmentResponse> getAppointmentsByClient(Long clientId);
 
+    /**
+     * Versión de los turnos de un profesional (último cambio y contador de cambios),
+     * para responder 304 sin cargar el listado.
+     */
+    ResourceVersion getAppointmentsVersionByProfessional(Long professionalId);
+
+    /**
+     * Versión de los turnos de un cliente.
+     *
+     * @see #getAppointmentsVersionByProfessional
+     */
+    ResourceVersion getAppointmentsVersionByClient(Long clientId);
+
+    /**
+     * Página por keyset de los turnos de un profesional.
+     *
+     * @param filter ventana de fechas, estados y modo "próximos"
+     * @param cursor token de la página anterior, o null para la primera
+     * @param size   tamaño de página
+     * @param fields campos pedidos; los joins de los no pedidos se omiten y llegan en null
+     * @return turnos del más reciente al más antiguo, o del más próximo al más lejano con {@code upcoming}
+     * @throws IllegalArgumentException si el cursor es inválido
+     */
+    CursorPageResponse<AppointmentResponse> scrollAppointmentsByProfessional(
+            Long professionalId,
+            AppointmentFilter filter,
+            String cursor,
+            int size,
+            SparseFields fields
+    );
+
+    /**
+     * Página por keyset de los turnos de un cliente.
+     *
+     * @see #scrollAppointmentsByProfessional
+     */
+    CursorPageResponse<AppointmentResponse> scrollAppointmentsByClient(
+            Long clientId,
+            AppointmentFilter filter,
+            String cursor,
+            int size,
+            SparseFields fields
+    );
+
+    /**
+     * Búsqueda paginada por keyset en los turnos de un profesional, del más reciente
+     * al más antiguo.
+     *
+     * @param query     prefijo de nombre, apellido o email del cliente; null para no filtrar
+     * @param serviceId servicio del turno; null para todos
+     * @param filter    ventana de fechas y estados ({@code upcoming} no aplica)
+     * @throws IllegalArgumentException si el cursor es inválido
+     */
+    CursorPageResponse<AppointmentResponse> searchAppointments(
+            Long professionalId,
+            String query,
+            Long serviceId,
+            AppointmentFilter filter,
+            String cursor,
+            int size
+    );
+
+    /**
+     * Resumen del panel del profesional, calculado con un único agregado y cacheado
+     * hasta el próximo cambio de sus turnos.
+     *
+     * @param from fecha inicial del rango (inclusive)
+     * @param to   fecha final del rango (inclusive)
+     */
+    AppointmentSummaryResponse getAppointmentSummary(Long professionalId, LocalDate from, LocalDate to);
+
+    /**
+     * Recorre los turnos de un profesional en orden cronológico sin cargarlos en memoria:
+     * las filas se leen del cursor por tandas y se entregan una a una.
+     *
+     * @param filter ventana de fechas y estados
+     * @param action consumidor de cada turno; se invoca dentro de la transacción de lectura
+     */
+    void forEachAppointmentByProfessional(
+            Long professionalId,
+            AppointmentFilter filter,
+            Consumer<AppointmentResponse> action
+    );
+
     /**
      * Obtiene un turno específico por ID
      *
@@ -0,0 +1,15 @@
+package com.turnoapp.backend.service;
+
+import com.turnoapp.backend.dto.professional.BookingPageResponse;
+
+public interface BookingPageService {
+
+    /**
+     * Arma la página de reservas con una resolución de la URL y consultas por lote
+     * (servicios, agenda y turnos del rango), sin importar la cantidad de servicios.
+     *
+     * @param days cantidad de días de disponibilidad a partir de hoy
+     * @throws com.turnoapp.backend.exception.ResourceNotFoundException si la URL no existe
+     */
+    BookingPageResponse getBookingPage(String customUrl, int days);
+}
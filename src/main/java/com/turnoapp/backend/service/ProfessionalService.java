@@ -1,10 +1,19 @@
 package com.turnoapp.backend.service;
 
+import com.turnoapp.backend.dto.client.ClientRosterResponse;
+import com.turnoapp.backend.dto.common.CursorPageResponse;
+import com.turnoapp.backend.dto.common.ResourceVersion;
+import com.turnoapp.backend.dto.common.SparseFields;
+import com.turnoapp.backend.dto.professional.CalendarFeedResponse;
 import com.turnoapp.backend.dto.professional.CreateProfessionalRequest;
+import com.turnoapp.backend.dto.professional.FacetsResponse;
 import com.turnoapp.backend.dto.professional.FilterOptionsResponse;
+import com.turnoapp.backend.dto.professional.NearbyProfessionalResponse;
 import com.turnoapp.backend.dto.professional.ProfessionalResponse;
 import com.turnoapp.backend.dto.professional.SiteConfigRequest;
+import com.turnoapp.backend.dto.professional.SuggestionResponse;
 import com.turnoapp.backend.dto.professional.UpdateProfessionalRequest;
+import com.turnoapp.backend.search.DirectorySort;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
@@ -12,11 +21,20 @@ import java.util.List;
 public interface ProfessionalService {
     List<ProfessionalResponse> getAllProfessionals();
     ProfessionalResponse getProfessionalById(Long id);
+    ResourceVersion getProfileVersion(Long id);
     ProfessionalResponse createProfessional(CreateProfessionalRequest request);
     ProfessionalResponse updateProfessional(Long id, UpdateProfessionalRequest request);
     void toggleProfessionalStatus(Long id);
     ProfessionalResponse updateSiteConfig(Long professionalId, SiteConfigRequest request);
     ProfessionalResponse getProfessionalByCustomUrl(String customUrl);
-    Page<ProfessionalResponse> searchProfessionals(String profession, String province, String city, String search, int page, int size);
+    CalendarFeedResponse getCalendarFeed(Long professionalId);
+    CalendarFeedResponse rotateCalendarFeedToken(Long professionalId);
+    CursorPageResponse<ClientRosterResponse> getClientRoster(Long professionalId, String cursor, int size);
+    Page<ProfessionalResponse> searchProfessionals(String profession, String province, String city, String search, Integer availableWithinDays, DirectorySort sort, int page, int size, SparseFields fields);
+    CursorPageResponse<ProfessionalResponse> scrollProfessionals(String profession, String province, String city, String search, String cursor, int size, boolean includeTotal, SparseFields fields);
     FilterOptionsResponse getFilterOptions();
+    FacetsResponse getFacets(String profession, String province, String city);
+    String getFacetsVersion();
+    List<SuggestionResponse> suggest(String query, int limit);
+    List<NearbyProfessionalResponse> findNearby(double latitude, double longitude, Double radiusKm, String profession, int limit);
 }
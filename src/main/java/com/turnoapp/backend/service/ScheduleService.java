@@ -1,5 +1,6 @@
 package com.turnoapp.backend.service;
 
+import com.turnoapp.backend.dto.common.ResourceVersion;
 import com.turnoapp.backend.dto.schedule.CreateScheduleRequest;
 import com.turnoapp.backend.dto.schedule.ScheduleResponse;
 import com.turnoapp.backend.dto.schedule.UpdateScheduleRequest;
@@ -8,6 +9,7 @@ import java.util.List;
 
 public interface ScheduleService {
     List<ScheduleResponse> getScheduleByProfessional(Long professionalId);
+    ResourceVersion getScheduleVersion(Long professionalId);
     ScheduleResponse getScheduleById(Long id, Long professionalId);
     ScheduleResponse createSchedule(CreateScheduleRequest request, Long professionalId);
     ScheduleResponse updateSchedule(Long id, UpdateScheduleRequest request, Long professionalId);
@@ -1,5 +1,6 @@
 package com.turnoapp.backend.service;
 
+import com.turnoapp.backend.dto.common.ResourceVersion;
 import com.turnoapp.backend.dto.service.CreateServiceRequest;
 import com.turnoapp.backend.dto.service.ServiceResponse;
 import com.turnoapp.backend.dto.service.UpdateServiceRequest;
@@ -9,6 +10,8 @@ import java.util.List;
 public interface ServiceService {
     List<ServiceResponse> getServicesByProfessional(Long professionalId);
     List<ServiceResponse> getServicesByCustomUrl(String customUrl);
+    ResourceVersion getServicesVersion(Long professionalId);
+    ResourceVersion getServicesVersionByCustomUrl(String customUrl);
     ServiceResponse getServiceByCustomUrlAndId(String customUrl, Long serviceId);
     ServiceResponse getServiceById(Long id, Long professionalId);
     ServiceResponse createService(CreateServiceRequest request, Long professionalId);
@@ -1,23 +1,42 @@
 package com.turnoapp.backend.service.impl;
 
+import com.turnoapp.backend.availability.SlotCalculator;
+import com.turnoapp.backend.cache.AppointmentSummaryCache;
 import com.turnoapp.backend.dto.appointment.*;
+import com.turnoapp.backend.dto.common.CursorPageResponse;
+import com.turnoapp.backend.dto.common.ResourceVersion;
+import com.turnoapp.backend.dto.common.SparseFields;
+import com.turnoapp.backend.event.AppointmentChangedEvent;
+import com.turnoapp.backend.event.AvailabilityChangedEvent;
 import com.turnoapp.backend.exception.ResourceNotFoundException;
 import com.turnoapp.backend.model.*;
 import com.turnoapp.backend.model.enums.AppointmentStatus;
+import com.turnoapp.backend.repository.AppointmentRowQueries.RowOwner;
 import com.turnoapp.backend.repository.*;
+import com.turnoapp.backend.search.SearchKeys;
 import com.turnoapp.backend.service.AppointmentService;
+import com.turnoapp.backend.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 @Service
@@ -30,56 +49,141 @@ public class AppointmentServiceImpl implements AppointmentService {
     private final ClientRepository clientRepository;
     private final ServiceRepository serviceRepository;
     private final ScheduleRepository scheduleRepository;
-
-    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppointmentSummaryCache summaryCache;
 
     @Override
     @Transactional(readOnly = true)
     public List<AppointmentResponse> getAppointmentsByProfessional(Long professionalId) {
         log.debug("Obteniendo turnos del profesional: {}", professionalId);
 
-        List<Appointment> appointments = appointmentRepository
-                .findByProfessionalIdOrderByDateDescStartTimeDesc(professionalId);
+        // Proyección en una sola consulta: sin cargas lazy por fila
+        return appointmentRepository.findRowsByProfessionalId(professionalId).stream()
+                .map(AppointmentResponse::fromRow)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AppointmentResponse> getAppointmentsByClient(Long clientId) {
+        log.debug("Obteniendo turnos del cliente: {}", clientId);
 
-        return appointments.stream()
-                .map(AppointmentResponse::fromEntity)
+        return appointmentRepository.findRowsByClientId(clientId).stream()
+                .map(AppointmentResponse::fromRow)
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<AppointmentResponse> getAppointmentsByClient(Long userId) {
+    public ResourceVersion getAppointmentsVersionByProfessional(Long professionalId) {
+        return professionalRepository.findAppointmentsVersion(professionalId)
+                .orElseThrow(() -> new ResourceNotFoundException("Profesional no encontrado"));
+    }
 
-        var clientId = clientRepository.findByUserId(userId)
-                .map(Client::getId)
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getAppointmentsVersionByClient(Long clientId) {
+        return clientRepository.findAppointmentsVersion(clientId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado"));
+    }
 
-        List<Appointment> appointments = appointmentRepository
-                .findByClientIdOrderByDateDescStartTimeDesc(clientId);
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<AppointmentResponse> scrollAppointmentsByProfessional(
+            Long professionalId,
+            AppointmentFilter filter,
+            String cursor,
+            int size,
+            SparseFields fields
+    ) {
+        if (!fields.isAll()) {
+            return scroll(professionalId, filter, cursor, size,
+                    projected(RowOwner.PROFESSIONAL, fields, false), projected(RowOwner.PROFESSIONAL, fields, true));
+        }
+        return scroll(professionalId, filter, cursor, size,
+                appointmentRepository::findRowsByProfessionalIdBefore,
+                appointmentRepository::findRowsByProfessionalIdAfter);
+    }
 
-        return appointments.stream()
-                .map(AppointmentResponse::fromEntity)
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<AppointmentResponse> scrollAppointmentsByClient(
+            Long clientId,
+            AppointmentFilter filter,
+            String cursor,
+            int size,
+            SparseFields fields
+    ) {
+        if (!fields.isAll()) {
+            return scroll(clientId, filter, cursor, size,
+                    projected(RowOwner.CLIENT, fields, false), projected(RowOwner.CLIENT, fields, true));
+        }
+        return scroll(clientId, filter, cursor, size,
+                appointmentRepository::findRowsByClientIdBefore,
+                appointmentRepository::findRowsByClientIdAfter);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<AppointmentResponse> searchAppointments(
+            Long professionalId,
+            String query,
+            Long serviceId,
+            AppointmentFilter filter,
+            String cursor,
+            int size
+    ) {
+        // Sin comodines del usuario: "%" o "_" se buscan literalmente
+        String clientKey = SearchKeys.escapeLike(SearchKeys.normalize(query));
+        RowPageQuery search = (ownerId, from, to, statuses, afterDate, afterStart, afterId, limit) ->
+                appointmentRepository.searchRowsByProfessionalId(ownerId, from, to, statuses,
+                        clientKey, serviceId, afterDate, afterStart, afterId, limit);
+
+        // Siempre del más reciente al más antiguo: la búsqueda no tiene modo "próximos"
+        AppointmentFilter history = new AppointmentFilter(filter.from(), filter.to(), filter.statuses(), false);
+        return scroll(professionalId, history, cursor, size, search, search);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AppointmentSummaryResponse getAppointmentSummary(Long professionalId, LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        return summaryCache.get(professionalId, from, to, today, () -> summarize(professionalId, from, to, today));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachAppointmentByProfessional(
+            Long professionalId,
+            AppointmentFilter filter,
+            Consumer<AppointmentResponse> action
+    ) {
+        // Las proyecciones no quedan en el contexto de persistencia: la memoria no crece con el historial
+        try (Stream<AppointmentRow> rows = appointmentRepository.streamRowsByProfessionalId(
+                professionalId, effectiveFrom(filter), filter.to(), filter.statuses())) {
+            rows.map(AppointmentResponse::fromRow).forEach(action);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
     public AppointmentResponse getAppointmentById(Long id, Long professionalId) {
 
-        Appointment appointment = appointmentRepository
-                .findByIdAndProfessionalId(id, professionalId)
+        return appointmentRepository
+                .findRowByIdAndProfessionalId(id, professionalId)
+                .map(AppointmentResponse::fromRow)
                 .orElseThrow(() -> new ResourceNotFoundException("Turno no encontrado"));
-
-        return AppointmentResponse.fromEntity(appointment);
     }
 
     @Override
     @Transactional
-    public AppointmentResponse createAppointment(CreateAppointmentRequest request, Long userId) {
+    public AppointmentResponse createAppointment(CreateAppointmentRequest request, Long clientId) {
 
-        // 1. Validar que el cliente existe
-        Client client = clientRepository.findByUserId(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Cliente no encontrado"));
+        // 1. El cliente viene de la identidad autenticada: referencia sin consultar
+        if (clientId == null) {
+            throw new ResourceNotFoundException("Cliente no encontrado");
+        }
+        Client client = clientRepository.getReferenceById(clientId);
 
         // 2. Validar que el servicio existe
         var service = serviceRepository.findById(request.serviceId())
@@ -96,9 +200,9 @@ public class AppointmentServiceImpl implements AppointmentService {
         }
 
         // 5. Calcular hora de fin (startTime + duration)
-        LocalTime start = LocalTime.parse(request.startTime(), TIME_FORMATTER);
+        LocalTime start = LocalTime.parse(request.startTime(), SlotCalculator.TIME_FORMATTER);
         LocalTime end = start.plusMinutes(service.getDuration());
-        String endTime = end.format(TIME_FORMATTER);
+        String endTime = end.format(SlotCalculator.TIME_FORMATTER);
 
         // 6. Validar que esté dentro del horario de agenda
         validateWithinSchedule(professional.getId(), date, request.startTime(), endTime);
@@ -119,6 +223,9 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .build();
 
         appointment = appointmentRepository.save(appointment);
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(professional.getId()));
+        eventPublisher.publishEvent(new AppointmentChangedEvent(
+                professional.getId(), client.getId(), date, null, appointment.getStatus()));
 
         log.info("Turno creado exitosamente: ID={}", appointment.getId());
         return AppointmentResponse.fromEntity(appointment);
@@ -172,8 +279,15 @@ public class AppointmentServiceImpl implements AppointmentService {
         }
 
         // 4. Actualizar estado
+        AppointmentStatus previousStatus = appointment.getStatus();
         appointment.setStatus(newStatus);
         appointment = appointmentRepository.save(appointment);
+        eventPublisher.publishEvent(new AppointmentChangedEvent(appointment.getProfessional().getId(),
+                appointment.getClient().getId(), appointment.getDate(), previousStatus, newStatus));
+        if (newStatus == AppointmentStatus.CANCELLED) {
+            // Solo la cancelación libera el horario
+            eventPublisher.publishEvent(new AvailabilityChangedEvent(appointment.getProfessional().getId()));
+        }
 
         log.info("Estado del turno actualizado exitosamente: ID={}, Estado={}", id, newStatus);
         return AppointmentResponse.fromEntity(appointment);
@@ -213,7 +327,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         LocalDate currentDate = startDate;
 
         while (!currentDate.isAfter(endDate)) {
-            boolean hasAvailability = hasAvailabilityForDate(
+            boolean hasAvailability = SlotCalculator.hasAvailabilityForDate(
                     currentDate,
                     service.getDuration(),
                     scheduleSlots,
@@ -244,7 +358,7 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Servicio no encontrado"));
 
         // 2. Convertir fecha a día de la semana (0 = Domingo, 6 = Sábado)
-        int dayOfWeek = convertToDayOfWeek(date.getDayOfWeek());
+        int dayOfWeek = SlotCalculator.toDayOfWeek(date.getDayOfWeek());
 
         // 3. Obtener bloques de agenda para ese día
         List<ScheduleSlot> scheduleSlots = scheduleRepository
@@ -261,7 +375,7 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .findByProfessionalIdAndDateAndStatusNot(professionalId, date, AppointmentStatus.CANCELLED);
 
         // 5. Generar slots dinámicos
-        List<TimeSlot> timeSlots = generateTimeSlots(
+        List<TimeSlot> timeSlots = SlotCalculator.generateTimeSlots(
                 scheduleSlots,
                 service.getDuration(),
                 existingAppointments
@@ -277,13 +391,140 @@ public class AppointmentServiceImpl implements AppointmentService {
         );
     }
 
+    // ==================== PAGINACIÓN POR KEYSET ====================
+
+    /**
+     * Consulta de una página por keyset (ver AppointmentRepository).
+     */
+    @FunctionalInterface
+    private interface RowPageQuery {
+        List<AppointmentRow> find(Long ownerId, LocalDate from, LocalDate to, Collection<AppointmentStatus> statuses,
+                                  LocalDate afterDate, String afterStart, Long afterId, Limit limit);
+    }
+
+    /**
+     * Página con la proyección reducida a {@code fields}: mismos filtros y orden que
+     * las consultas fijas, sin los joins de los campos no pedidos.
+     */
+    private RowPageQuery projected(RowOwner owner, SparseFields fields, boolean ascending) {
+        return (ownerId, from, to, statuses, afterDate, afterStart, afterId, limit) ->
+                appointmentRepository.findRowPage(owner, ownerId, fields, ascending,
+                        from, to, statuses, afterDate, afterStart, afterId, limit);
+    }
+
+    /**
+     * Agrega los contadores del panel en una consulta: los del rango pedido y,
+     * además, los de hoy y la semana actual (lunes a domingo) aunque queden
+     * fuera del rango. Los cancelados no cuentan para hoy ni para la semana.
+     */
+    private AppointmentSummaryResponse summarize(Long professionalId, LocalDate from, LocalDate to, LocalDate today) {
+        LocalDate weekStart = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate weekEnd = weekStart.plusDays(6);
+
+        long todayCount = 0;
+        long weekCount = 0;
+        Map<AppointmentStatus, Long> byStatus = new EnumMap<>(AppointmentStatus.class);
+        BigDecimal expectedRevenue = BigDecimal.ZERO;
+
+        for (AppointmentSummaryRow row : appointmentRepository.summarizeByProfessional(
+                professionalId, from, to, weekStart, weekEnd)) {
+            LocalDate date = row.date();
+            if (row.status() != AppointmentStatus.CANCELLED) {
+                if (date.equals(today)) {
+                    todayCount += row.count();
+                }
+                if (!date.isBefore(weekStart) && !date.isAfter(weekEnd)) {
+                    weekCount += row.count();
+                }
+            }
+            if (date.isBefore(from) || date.isAfter(to)) {
+                continue; // fila traída solo por la semana actual
+            }
+            byStatus.merge(row.status(), row.count(), Long::sum);
+            if (row.status() == AppointmentStatus.CONFIRMED || row.status() == AppointmentStatus.COMPLETED) {
+                expectedRevenue = expectedRevenue.add(row.revenue());
+            }
+        }
+
+        return new AppointmentSummaryResponse(
+                from,
+                to,
+                todayCount,
+                weekCount,
+                byStatus.getOrDefault(AppointmentStatus.CONFIRMED, 0L),
+                byStatus.getOrDefault(AppointmentStatus.COMPLETED, 0L),
+                byStatus.getOrDefault(AppointmentStatus.NO_SHOW, 0L),
+                byStatus.getOrDefault(AppointmentStatus.CANCELLED, 0L),
+                expectedRevenue
+        );
+    }
+
+    /**
+     * Fecha mínima de la ventana: con {@code upcoming} nunca anterior a hoy.
+     */
+    private LocalDate effectiveFrom(AppointmentFilter filter) {
+        LocalDate from = filter.from();
+        if (filter.upcoming()) {
+            LocalDate today = LocalDate.now();
+            return from == null || from.isBefore(today) ? today : from;
+        }
+        return from;
+    }
+
+    /**
+     * Historial en orden descendente; con {@code upcoming}, ascendente desde hoy
+     * para que la consulta solo recorra filas futuras del índice.
+     */
+    private CursorPageResponse<AppointmentResponse> scroll(
+            Long ownerId,
+            AppointmentFilter filter,
+            String cursor,
+            int size,
+            RowPageQuery history,
+            RowPageQuery upcoming
+    ) {
+        String[] after = cursor != null && !cursor.isBlank() ? CursorCodec.decode(cursor, 3) : null;
+        LocalDate afterDate = after != null ? decodeDate(after[0]) : null;
+        String afterStart = after != null ? after[1] : null;
+        Long afterId = after != null ? CursorCodec.decodeLong(after[2]) : null;
+
+        LocalDate from = effectiveFrom(filter);
+        RowPageQuery query = filter.upcoming() ? upcoming : history;
+
+        // Se pide un elemento de más para saber si hay página siguiente
+        List<AppointmentRow> rows = query.find(ownerId, from, filter.to(), filter.statuses(),
+                afterDate, afterStart, afterId, Limit.of(size + 1));
+
+        boolean hasNext = rows.size() > size;
+        List<AppointmentRow> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            AppointmentRow last = content.get(content.size() - 1);
+            nextCursor = CursorCodec.encode(last.date().toString(), last.startTime(), String.valueOf(last.id()));
+        }
+
+        return new CursorPageResponse<>(
+                content.stream().map(AppointmentResponse::fromRow).toList(),
+                nextCursor,
+                null
+        );
+    }
+
+    private static LocalDate decodeDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
     // ==================== MÉTODOS PRIVADOS DE VALIDACIÓN ====================
 
     /**
      * Valida que el turno esté dentro del horario de agenda configurado.
      */
     private void validateWithinSchedule(Long professionalId, LocalDate date, String startTime, String endTime) {
-        int dayOfWeek = convertToDayOfWeek(date.getDayOfWeek());
+        int dayOfWeek = SlotCalculator.toDayOfWeek(date.getDayOfWeek());
 
         List<ScheduleSlot> scheduleSlots = scheduleRepository
                 .findByProfessionalIdAndDayOfWeekAndActiveTrue(professionalId, dayOfWeek);
@@ -321,126 +562,4 @@ public class AppointmentServiceImpl implements AppointmentService {
             throw new IllegalArgumentException("El horario se solapa con un turno existente");
         }
     }
-
-    // ==================== ALGORITMOS DE DISPONIBILIDAD ====================
-
-    /**
-     * Verifica si una fecha tiene al menos un slot disponible.
-     *
-     * Algoritmo:
-     * 1. Verificar si hay agenda para ese día de la semana
-     * 2. Generar slots potenciales según duración del servicio
-     * 3. Verificar si al menos uno no se solapa con turnos existentes
-     */
-    private boolean hasAvailabilityForDate(
-            LocalDate date,
-            Integer serviceDuration,
-            List<ScheduleSlot> allScheduleSlots,
-            List<Appointment> existingAppointments
-    ) {
-        int dayOfWeek = convertToDayOfWeek(date.getDayOfWeek());
-
-        // Filtrar agenda para este día
-        List<ScheduleSlot> daySchedule = allScheduleSlots.stream()
-                .filter(slot -> slot.getDayOfWeek().equals(dayOfWeek))
-                .toList();
-
-        if (daySchedule.isEmpty()) {
-            return false;
-        }
-
-        // Filtrar turnos para esta fecha (excluir CANCELLED)
-        List<Appointment> dayAppointments = existingAppointments.stream()
-                .filter(apt -> apt.getDate().equals(date) && apt.getStatus() != AppointmentStatus.CANCELLED)
-                .toList();
-
-        // Verificar si hay al menos un slot disponible
-        for (ScheduleSlot slot : daySchedule) {
-            LocalTime currentTime = LocalTime.parse(slot.getStartTime(), TIME_FORMATTER);
-            LocalTime endTime = LocalTime.parse(slot.getEndTime(), TIME_FORMATTER);
-
-            while (currentTime.plusMinutes(serviceDuration).isBefore(endTime) ||
-                    currentTime.plusMinutes(serviceDuration).equals(endTime)) {
-
-                String slotStart = currentTime.format(TIME_FORMATTER);
-                String slotEnd = currentTime.plusMinutes(serviceDuration).format(TIME_FORMATTER);
-
-                // Verificar si este slot NO se solapa con ningún turno
-                boolean available = dayAppointments.stream().noneMatch(apt ->
-                        isOverlapping(slotStart, slotEnd, apt.getStartTime(), apt.getEndTime())
-                );
-
-                if (available) {
-                    return true; // Encontramos al menos un slot disponible
-                }
-
-                currentTime = currentTime.plusMinutes(serviceDuration);
-            }
-        }
-
-        return false; // No hay slots disponibles
-    }
-
-    /**
-     * Genera todos los slots de tiempo para los bloques de agenda.
-     *
-     * Algoritmo CRÍTICO:
-     * 1. Para cada bloque de agenda (ej: 09:00 - 13:00)
-     * 2. Generar slots según duración del servicio (ej: 60min → 09:00-10:00, 10:00-11:00, etc.)
-     * 3. Marcar slot como disponible si NO se solapa con turnos existentes
-     */
-    private List<TimeSlot> generateTimeSlots(
-            List<ScheduleSlot> scheduleSlots,
-            Integer serviceDuration,
-            List<Appointment> existingAppointments
-    ) {
-        List<TimeSlot> timeSlots = new ArrayList<>();
-
-        for (ScheduleSlot scheduleSlot : scheduleSlots) {
-            LocalTime currentTime = LocalTime.parse(scheduleSlot.getStartTime(), TIME_FORMATTER);
-            LocalTime endTime = LocalTime.parse(scheduleSlot.getEndTime(), TIME_FORMATTER);
-
-            // Generar slots mientras quepan en el bloque
-            while (currentTime.plusMinutes(serviceDuration).isBefore(endTime) ||
-                    currentTime.plusMinutes(serviceDuration).equals(endTime)) {
-
-                String slotStart = currentTime.format(TIME_FORMATTER);
-                String slotEnd = currentTime.plusMinutes(serviceDuration).format(TIME_FORMATTER);
-
-                // Verificar si el slot está disponible (no se solapa con turnos)
-                boolean available = existingAppointments.stream().noneMatch(apt ->
-                        isOverlapping(slotStart, slotEnd, apt.getStartTime(), apt.getEndTime())
-                );
-
-                timeSlots.add(new TimeSlot(slotStart, slotEnd, available));
-
-                // Avanzar al siguiente slot
-                currentTime = currentTime.plusMinutes(serviceDuration);
-            }
-        }
-
-        return timeSlots;
-    }
-
-    /**
-     * Verifica si dos rangos horarios se solapan.
-     *
-     * Lógica: Dos rangos [A_start, A_end] y [B_start, B_end] se solapan si:
-     *   A_start < B_end AND A_end > B_start
-     *
-     * Ejemplo:
-     *   A: 09:00 - 10:00
-     *   B: 09:30 - 10:30
-     *   Check: 09:00 < 10:30 AND 10:00 > 09:30 → TRUE (se solapan)
-     */
-    private boolean isOverlapping(String start1, String end1, String start2, String end2) {
-        return start1.compareTo(end2) < 0 && end1.compareTo(start2) > 0;
-    }
-
-    /**
-     * Convierte DayOfWeek de Java a formato 0-6 (0=Domingo, 6=Sábado).
-     */
-    private int convertToDayOfWeek(DayOfWeek dayOfWeek) {
-        return dayOfWeek.getValue() % 7; // MONDAY=1 → 1, SUNDAY=7 → 0
-    }
 }
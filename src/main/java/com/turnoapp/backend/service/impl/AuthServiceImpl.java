@@ -4,13 +4,12 @@ import com.turnoapp.backend.dto.auth.LoginRequest;
 import com.turnoapp.backend.dto.auth.LoginResponse;
 import com.turnoapp.backend.dto.auth.RegisterRequest;
 import com.turnoapp.backend.model.Client;
-import com.turnoapp.backend.model.Professional;
 import com.turnoapp.backend.model.User;
 import com.turnoapp.backend.model.enums.UserRole;
 import com.turnoapp.backend.repository.ClientRepository;
-import com.turnoapp.backend.repository.ProfessionalRepository;
 import com.turnoapp.backend.repository.UserRepository;
 import com.turnoapp.backend.config.security.JwtTokenProvider;
+import com.turnoapp.backend.config.security.UserIdentityCache;
 import com.turnoapp.backend.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -25,7 +24,7 @@ public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
     private final ClientRepository clientRepository;
-    private final ProfessionalRepository professionalRepository;
+    private final UserIdentityCache userIdentityCache;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
     private final AuthenticationManager authenticationManager;
@@ -45,13 +44,10 @@ public class AuthServiceImpl implements AuthService {
         User user = userRepository.findByEmail(request.email())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        // Get professional ID if user is a professional
-        Long professionalId = null;
-        if (user.getRole() == UserRole.PROFESSIONAL) {
-            professionalId = professionalRepository.findByUserId(user.getId())
-                    .map(Professional::getId)
-                    .orElse(null);
-        }
+        // Get professional ID if user is a professional (ya cacheado por la autenticación)
+        Long professionalId = user.getRole() == UserRole.PROFESSIONAL
+                ? userIdentityCache.get(user.getId()).professionalId()
+                : null;
 
         // Generate JWT token
         String token = tokenProvider.generateToken(user, professionalId);
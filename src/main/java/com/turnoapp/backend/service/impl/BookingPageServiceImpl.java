@@ -0,0 +1,92 @@
+package com.turnoapp.backend.service.impl;
+
+import com.turnoapp.backend.availability.SlotCalculator;
+import com.turnoapp.backend.cache.CustomUrlResolver;
+import com.turnoapp.backend.dto.appointment.AvailabilityDateResponse;
+import com.turnoapp.backend.dto.appointment.DateAvailability;
+import com.turnoapp.backend.dto.professional.BookingPageResponse;
+import com.turnoapp.backend.dto.professional.ProfessionalResponse;
+import com.turnoapp.backend.dto.service.ServiceResponse;
+import com.turnoapp.backend.exception.ResourceNotFoundException;
+import com.turnoapp.backend.model.Appointment;
+import com.turnoapp.backend.model.Professional;
+import com.turnoapp.backend.model.ScheduleSlot;
+import com.turnoapp.backend.model.Service;
+import com.turnoapp.backend.model.enums.Status;
+import com.turnoapp.backend.repository.AppointmentRepository;
+import com.turnoapp.backend.repository.ProfessionalRepository;
+import com.turnoapp.backend.repository.ScheduleRepository;
+import com.turnoapp.backend.repository.ServiceRepository;
+import com.turnoapp.backend.service.BookingPageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+public class BookingPageServiceImpl implements BookingPageService {
+
+    private final ProfessionalRepository professionalRepository;
+    private final ServiceRepository serviceRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final CustomUrlResolver customUrlResolver;
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingPageResponse getBookingPage(String customUrl, int days) {
+        Professional professional = customUrlResolver.load(
+                        customUrl,
+                        professionalRepository::findByIdWithUserAndSiteConfig,
+                        professionalRepository::findByCustomUrlWithUserAndSiteConfig,
+                        Professional::getId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Professional not found with custom URL: " + customUrl, false));
+        Long professionalId = professional.getId();
+
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(days - 1);
+
+        // Orden estable: el ETag se calcula sobre la respuesta serializada
+        List<Service> services = serviceRepository.findByProfessionalIdAndStatus(professionalId, Status.ACTIVE).stream()
+                .sorted(Comparator.comparing(Service::getId))
+                .toList();
+
+        List<AvailabilityDateResponse> availability = new ArrayList<>();
+        if (!services.isEmpty()) {
+            // Agenda y turnos del rango una sola vez para todos los servicios
+            List<ScheduleSlot> scheduleSlots = scheduleRepository.findByProfessionalIdAndActiveTrue(professionalId);
+            Map<LocalDate, List<Appointment>> appointmentsByDate = scheduleSlots.isEmpty()
+                    ? Map.of()
+                    : appointmentRepository.findByProfessionalIdAndDateBetween(professionalId, from, to).stream()
+                            .collect(Collectors.groupingBy(Appointment::getDate));
+
+            for (Service service : services) {
+                List<DateAvailability> dates = new ArrayList<>(days);
+                for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                    boolean available = !scheduleSlots.isEmpty() && SlotCalculator.hasAvailabilityForDate(
+                            date,
+                            service.getDuration(),
+                            scheduleSlots,
+                            appointmentsByDate.getOrDefault(date, List.of()));
+                    dates.add(new DateAvailability(date.toString(), available));
+                }
+                availability.add(new AvailabilityDateResponse(professionalId, service.getId(), dates));
+            }
+        }
+
+        return new BookingPageResponse(
+                ProfessionalResponse.fromEntity(professional),
+                services.stream().map(ServiceResponse::fromEntity).toList(),
+                from,
+                to,
+                availability
+        );
+    }
+}
@@ -18,17 +18,9 @@ public class ClientServiceImpl implements ClientService {
     @Override
     @Transactional(readOnly = true)
     public ClientResponse getClientById(Long id) {
-        Client client = clientRepository.findById(id)
+        Client client = clientRepository.findByIdWithUser(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + id));
         return ClientResponse.fromEntity(client);
     }
-
-    @Override
-    @Transactional(readOnly = true)
-    public ClientResponse getClientByUserId(Long userId) {
-        Client client = clientRepository.findByUserId(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Client not found with userId: " + userId));
-        return ClientResponse.fromEntity(client);
-    }
 }
 
@@ -1,30 +1,69 @@
 package com.turnoapp.backend.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turnoapp.backend.cache.CustomUrlResolver;
+import com.turnoapp.backend.dto.client.ClientRosterResponse;
+import com.turnoapp.backend.dto.client.ClientRosterRow;
+import com.turnoapp.backend.dto.common.CursorPageResponse;
+import com.turnoapp.backend.dto.common.ResourceVersion;
+import com.turnoapp.backend.dto.common.SparseFields;
+import com.turnoapp.backend.dto.professional.CalendarFeedResponse;
 import com.turnoapp.backend.dto.professional.CreateProfessionalRequest;
+import com.turnoapp.backend.dto.professional.FacetsResponse;
 import com.turnoapp.backend.dto.professional.FilterOptionsResponse;
+import com.turnoapp.backend.dto.professional.NearbyProfessionalResponse;
 import com.turnoapp.backend.dto.professional.ProfessionalResponse;
+import com.turnoapp.backend.dto.professional.ProfessionalRow;
 import com.turnoapp.backend.dto.professional.SiteConfigRequest;
+import com.turnoapp.backend.dto.professional.SuggestionResponse;
 import com.turnoapp.backend.dto.professional.UpdateProfessionalRequest;
+import com.turnoapp.backend.event.AppointmentListChangedEvent;
+import com.turnoapp.backend.event.CustomUrlChangedEvent;
+import com.turnoapp.backend.event.ProfessionalChangedEvent;
+import com.turnoapp.backend.event.UserIdentityChangedEvent;
 import com.turnoapp.backend.exception.ResourceNotFoundException;
+import com.turnoapp.backend.geo.GeoPoint;
+import com.turnoapp.backend.geo.Geocoder;
 import com.turnoapp.backend.model.Professional;
 import com.turnoapp.backend.model.SiteConfig;
 import com.turnoapp.backend.model.enums.Status;
 import com.turnoapp.backend.model.User;
 import com.turnoapp.backend.model.enums.UserRole;
+import com.turnoapp.backend.repository.ClientStatsRepository;
 import com.turnoapp.backend.repository.ProfessionalRepository;
 import com.turnoapp.backend.repository.SiteConfigRepository;
 import com.turnoapp.backend.repository.UserRepository;
+import com.turnoapp.backend.search.DirectoryFacets;
+import com.turnoapp.backend.search.DirectoryPosition;
+import com.turnoapp.backend.search.DirectoryQuery;
+import com.turnoapp.backend.search.DirectorySort;
+import com.turnoapp.backend.search.FullTextSearchSupport;
+import com.turnoapp.backend.search.GeoIndex;
+import com.turnoapp.backend.search.ProfessionalDirectoryIndex;
+import com.turnoapp.backend.search.SearchKeys;
+import com.turnoapp.backend.search.SuggestionIndex;
 import com.turnoapp.backend.service.ProfessionalService;
+import com.turnoapp.backend.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,19 +74,24 @@ public class ProfessionalServiceImpl implements ProfessionalService {
     private final UserRepository userRepository;
     private final SiteConfigRepository siteConfigRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FullTextSearchSupport fullTextSearchSupport;
+    private final ProfessionalDirectoryIndex directoryIndex;
+    private final DirectoryFacets directoryFacets;
+    private final SuggestionIndex suggestionIndex;
+    private final GeoIndex geoIndex;
+    private final Geocoder geocoder;
+    private final CustomUrlResolver customUrlResolver;
+    private final ClientStatsRepository clientStatsRepository;
+    private final TransactionTemplate transactionTemplate;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SecureRandom secureRandom = new SecureRandom();
 
     @Override
     @Transactional(readOnly = true)
     public List<ProfessionalResponse> getAllProfessionals() {
-        List<Professional> professionals = professionalRepository.findAllWithUser();
-        // Cargar SiteConfig para cada profesional
-        professionals.forEach(professional -> {
-            if (professional.getSiteConfig() == null) {
-                siteConfigRepository.findByProfessionalId(professional.getId())
-                        .ifPresent(professional::setSiteConfig);
-            }
-        });
+        // Usuario y SiteConfig en la misma consulta
+        List<Professional> professionals = professionalRepository.findAllWithUserAndSiteConfig();
         return professionals.stream()
                 .map(ProfessionalResponse::fromEntity)
                 .collect(Collectors.toList());
@@ -56,18 +100,19 @@ public class ProfessionalServiceImpl implements ProfessionalService {
     @Override
     @Transactional(readOnly = true)
     public ProfessionalResponse getProfessionalById(Long id) {
-        Professional professional = professionalRepository.findById(id)
+        Professional professional = professionalRepository.findByIdWithUserAndSiteConfig(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Professional not found with id: " + id));
 
-        // Cargar SiteConfig si existe
-        if (professional.getSiteConfig() == null) {
-            siteConfigRepository.findByProfessionalId(id)
-                    .ifPresent(professional::setSiteConfig);
-        }
-
         return ProfessionalResponse.fromEntity(professional);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getProfileVersion(Long id) {
+        return professionalRepository.findProfileVersion(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Professional not found with id: " + id));
+    }
+
     @Override
     @Transactional
     public ProfessionalResponse createProfessional(CreateProfessionalRequest request) {
@@ -101,6 +146,8 @@ public class ProfessionalServiceImpl implements ProfessionalService {
                 .build();
 
         professional = professionalRepository.save(professional);
+        eventPublisher.publishEvent(new ProfessionalChangedEvent(professional.getId()));
+        eventPublisher.publishEvent(new CustomUrlChangedEvent(null, professional.getCustomUrl()));
 
         return ProfessionalResponse.fromEntity(professional);
     }
@@ -138,11 +185,16 @@ public class ProfessionalServiceImpl implements ProfessionalService {
             if (professionalRepository.existsByCustomUrl(request.customUrl())) {
                 throw new RuntimeException("Custom URL already exists");
             }
+            eventPublisher.publishEvent(new CustomUrlChangedEvent(professional.getCustomUrl(), request.customUrl()));
             professional.setCustomUrl(request.customUrl());
         }
 
+        professional.refreshTextKey();
         userRepository.save(user);
         professionalRepository.save(professional);
+        eventPublisher.publishEvent(new UserIdentityChangedEvent(user.getId()));
+        eventPublisher.publishEvent(new ProfessionalChangedEvent(professional.getId()));
+        eventPublisher.publishEvent(new AppointmentListChangedEvent(professional.getId()));
 
         return ProfessionalResponse.fromEntity(professional);
     }
@@ -156,11 +208,84 @@ public class ProfessionalServiceImpl implements ProfessionalService {
         User user = professional.getUser();
         user.setStatus(user.getStatus() == Status.ACTIVE ? Status.INACTIVE : Status.ACTIVE);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserIdentityChangedEvent(user.getId()));
+        eventPublisher.publishEvent(new ProfessionalChangedEvent(id));
     }
 
     @Override
     @Transactional
+    public CalendarFeedResponse getCalendarFeed(Long professionalId) {
+        Professional professional = professionalRepository.findById(professionalId)
+                .orElseThrow(() -> new ResourceNotFoundException("Professional not found with id: " + professionalId));
+
+        if (professional.getCalendarToken() == null) {
+            professional.setCalendarToken(newCalendarToken());
+        }
+        return CalendarFeedResponse.of(professional.getCalendarToken());
+    }
+
+    @Override
+    @Transactional
+    public CalendarFeedResponse rotateCalendarFeedToken(Long professionalId) {
+        Professional professional = professionalRepository.findById(professionalId)
+                .orElseThrow(() -> new ResourceNotFoundException("Professional not found with id: " + professionalId));
+
+        // El token anterior deja de funcionar en la siguiente consulta del feed
+        professional.setCalendarToken(newCalendarToken());
+        return CalendarFeedResponse.of(professional.getCalendarToken());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ClientRosterResponse> getClientRoster(Long professionalId, String cursor, int size) {
+        String[] after = cursor != null && !cursor.isBlank() ? CursorCodec.decode(cursor, 2) : null;
+        LocalDate afterDate = null;
+        if (after != null) {
+            try {
+                afterDate = LocalDate.parse(after[0]);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+        }
+        Long afterId = after != null ? CursorCodec.decodeLong(after[1]) : null;
+
+        // Se pide un elemento de más para saber si hay página siguiente
+        List<ClientRosterRow> rows = clientStatsRepository.findRoster(
+                professionalId, afterDate, afterId, Limit.of(size + 1));
+
+        boolean hasNext = rows.size() > size;
+        List<ClientRosterRow> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            ClientRosterRow last = content.get(content.size() - 1);
+            nextCursor = CursorCodec.encode(last.lastAppointmentDate().toString(), String.valueOf(last.statsId()));
+        }
+
+        return new CursorPageResponse<>(
+                content.stream().map(ClientRosterResponse::fromRow).toList(),
+                nextCursor,
+                null
+        );
+    }
+
+    @Override
     public ProfessionalResponse updateSiteConfig(Long professionalId, SiteConfigRequest request) {
+        // El Geocoder puede ser un servicio externo: se consulta antes de abrir la
+        // transacción de escritura, con la dirección que va a quedar guardada
+        SiteAddress address = transactionTemplate.execute(status -> {
+            Professional professional = professionalRepository.findByIdWithUserAndSiteConfig(professionalId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Professional not found with id: " + professionalId));
+            return SiteAddress.of(professional, professional.getSiteConfig(), request);
+        });
+        GeoPoint location = address.needsGeocoding()
+                ? geocoder.geocode(address.address(), address.city(), address.province(), address.country()).orElse(null)
+                : null;
+
+        return transactionTemplate.execute(status -> saveSiteConfig(professionalId, request, address, location));
+    }
+
+    private ProfessionalResponse saveSiteConfig(Long professionalId, SiteConfigRequest request,
+                                                SiteAddress geocoded, GeoPoint location) {
         Professional professional = professionalRepository.findById(professionalId)
                 .orElseThrow(() -> new ResourceNotFoundException("Professional not found with id: " + professionalId));
 
@@ -169,6 +294,7 @@ public class ProfessionalServiceImpl implements ProfessionalService {
                 .orElse(SiteConfig.builder()
                         .professional(professional)
                         .build());
+        SiteAddress address = SiteAddress.of(professional, siteConfig.getId() != null ? siteConfig : null, request);
 
         // Actualizar campos
         if (request.logoUrl() != null) {
@@ -210,11 +336,19 @@ public class ProfessionalServiceImpl implements ProfessionalService {
             }
         }
 
+        // Las coordenadas se recalculan si cambió la dirección o todavía no se tienen. Si
+        // otra edición cambió la dirección mientras se geocodificaba, quedan vacías y
+        // GeocodingBackfill las completa
+        if (address.needsGeocoding()) {
+            siteConfig.setLocation(address.equals(geocoded) ? location : null);
+        }
+
         siteConfigRepository.save(siteConfig);
 
         // Actualizar la relación en Professional
         professional.setSiteConfig(siteConfig);
         professionalRepository.save(professional);
+        eventPublisher.publishEvent(new ProfessionalChangedEvent(professionalId));
 
         return ProfessionalResponse.fromEntity(professional);
     }
@@ -222,51 +356,239 @@ public class ProfessionalServiceImpl implements ProfessionalService {
     @Override
     @Transactional(readOnly = true)
     public ProfessionalResponse getProfessionalByCustomUrl(String customUrl) {
-        Professional professional = professionalRepository.findByCustomUrl(customUrl)
-                .orElseThrow(() -> new ResourceNotFoundException("Professional not found with custom URL: " + customUrl));
-
-        // Cargar SiteConfig si existe
-        if (professional.getSiteConfig() == null) {
-            siteConfigRepository.findByProfessionalId(professional.getId())
-                    .ifPresent(professional::setSiteConfig);
-        }
+        // Las URLs inexistentes se resuelven desde caché, sin consultar la base
+        Professional professional = customUrlResolver.load(
+                        customUrl,
+                        professionalRepository::findByIdWithUserAndSiteConfig,
+                        professionalRepository::findByCustomUrlWithUserAndSiteConfig,
+                        Professional::getId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Professional not found with custom URL: " + customUrl, false));
 
         return ProfessionalResponse.fromEntity(professional);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<ProfessionalResponse> searchProfessionals(String profession, String province, String city, String search, int page, int size) {
+    public Page<ProfessionalResponse> searchProfessionals(String profession, String province, String city, String search,
+                                                          Integer availableWithinDays, DirectorySort sort, int page, int size,
+                                                          SparseFields fields) {
         Pageable pageable = PageRequest.of(page, size);
+        LocalDate availableBy = availableWithinDays != null ? LocalDate.now().plusDays(availableWithinDays) : null;
         
-        // Normalizar parámetros (null si están vacíos)
-        String professionParam = (profession != null && !profession.trim().isEmpty()) ? profession.trim() : null;
-        String provinceParam = (province != null && !province.trim().isEmpty()) ? province.trim() : null;
-        String cityParam = (city != null && !city.trim().isEmpty()) ? city.trim() : null;
-        String searchParam = (search != null && !search.trim().isEmpty()) ? search.trim() : null;
+        // Claves normalizadas (sin acentos, minúsculas; null si están vacías)
+        String professionKey = SearchKeys.normalize(profession);
+        String provinceKey = SearchKeys.normalize(province);
+        String cityKey = SearchKeys.normalize(city);
         
+        // El índice en memoria resuelve la búsqueda completa; hasta que termine
+        // de cargarse se consulta la base
+        if (directoryIndex.isReady()) {
+            List<Long> ids = directoryIndex.search(
+                    DirectoryQuery.of(profession, province, city, search, availableBy), sort);
+            return toPage(ids, pageable, fields);
+        }
+
+        // Con índice FULLTEXT disponible el texto libre se resuelve por relevancia;
+        // si no (H2, palabras muy cortas, filtro de disponibilidad) por LIKE. Los dos
+        // comparan las mismas palabras contra text_key con el mismo criterio.
+        // Mientras carga el índice los resultados no se ordenan por disponibilidad
+        String fullTextQuery = fullTextSearchSupport.isAvailable() && availableBy == null
+                ? FullTextSearchSupport.toBooleanQuery(search)
+                : null;
+
+        if (fullTextQuery != null) {
+            Page<Long> ids = professionalRepository.searchActiveProfessionalsFullText(
+                    fullTextQuery, SearchKeys.escapeLike(professionKey), provinceKey, cityKey, pageable);
+            List<ProfessionalResponse> content = loadInOrder(ids.getContent()).stream()
+                    .map(ProfessionalResponse::fromEntity)
+                    .toList();
+            return new PageImpl<>(content, pageable, ids.getTotalElements());
+        }
+
+        // Usuario y SiteConfig se traen en la misma consulta de la página
         Page<Professional> professionalsPage = professionalRepository.findActiveProfessionalsWithFilters(
-                professionParam, provinceParam, cityParam, searchParam, pageable
-        );
-        
-        // Cargar SiteConfig para cada profesional si no está cargado
-        professionalsPage.getContent().forEach(professional -> {
-            if (professional.getSiteConfig() == null) {
-                siteConfigRepository.findByProfessionalId(professional.getId())
-                        .ifPresent(professional::setSiteConfig);
-            }
-        });
-        
+                SearchKeys.escapeLike(professionKey), provinceKey, cityKey, SearchKeys.words(search),
+                availableBy, pageable);
         return professionalsPage.map(ProfessionalResponse::fromEntity);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public CursorPageResponse<ProfessionalResponse> scrollProfessionals(
+            String profession, String province, String city, String search,
+            String cursor, int size, boolean includeTotal, SparseFields fields) {
+        DirectoryPosition after = decodeCursor(cursor);
+
+        // Se pide un elemento de más para saber si hay página siguiente
+        List<ProfessionalResponse> professionals;
+        Long total = null;
+        if (directoryIndex.isReady()) {
+            DirectoryQuery query = DirectoryQuery.of(profession, province, city, search);
+            List<Long> ids = directoryIndex.searchAfter(query, after, size + 1);
+            professionals = loadResponsesInOrder(ids, fields);
+            if (includeTotal) {
+                total = (long) directoryIndex.search(query).size();
+            }
+        } else {
+            // La profesión se compara con LIKE: sin comodines del usuario
+            String professionKey = SearchKeys.escapeLike(SearchKeys.normalize(profession));
+            String provinceKey = SearchKeys.normalize(province);
+            String cityKey = SearchKeys.normalize(city);
+            List<String> words = SearchKeys.words(search);
+            professionals = professionalRepository.findActiveProfessionalsAfter(
+                    professionKey, provinceKey, cityKey, words,
+                    after != null ? after.nameKey() : null,
+                    after != null ? after.id() : null,
+                    Limit.of(size + 1)).stream()
+                    .map(ProfessionalResponse::fromEntity)
+                    .toList();
+            if (includeTotal) {
+                total = professionalRepository.countActiveProfessionals(professionKey, provinceKey, cityKey, words);
+            }
+        }
+
+        boolean hasNext = professionals.size() > size;
+        List<ProfessionalResponse> content = hasNext ? professionals.subList(0, size) : professionals;
+        String nextCursor = hasNext ? encodeCursor(DirectoryPosition.of(content.get(content.size() - 1))) : null;
+
+        return new CursorPageResponse<>(List.copyOf(content), nextCursor, total);
+    }
+
+    private static String encodeCursor(DirectoryPosition position) {
+        return CursorCodec.encode(position.nameKey(), String.valueOf(position.id()));
+    }
+
+    private static DirectoryPosition decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] values = CursorCodec.decode(cursor, 2);
+        return new DirectoryPosition(values[0], CursorCodec.decodeLong(values[1]));
+    }
+
+    /**
+     * Carga en una sola consulta los profesionales de {@code ids}, respetando su orden.
+     */
+    private List<Professional> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Professional> byId = professionalRepository.findAllByIdWithUserAndSiteConfig(ids).stream()
+                .collect(Collectors.toMap(Professional::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Como {@link #loadInOrder}, ya como respuestas; si no se pidió {@code siteConfig}
+     * usa la proyección sin ese join.
+     */
+    private List<ProfessionalResponse> loadResponsesInOrder(List<Long> ids, SparseFields fields) {
+        if (fields.includes("siteConfig")) {
+            return loadInOrder(ids).stream()
+                    .map(ProfessionalResponse::fromEntity)
+                    .toList();
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProfessionalRow> byId = professionalRepository.findRowsByIds(ids).stream()
+                .collect(Collectors.toMap(ProfessionalRow::id, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(ProfessionalResponse::fromRow)
+                .toList();
+    }
+
+    /**
+     * Carga en una sola consulta los profesionales de la página pedida,
+     * respetando el orden de {@code ids}.
+     */
+    private Page<ProfessionalResponse> toPage(List<Long> ids, Pageable pageable, SparseFields fields) {
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        List<ProfessionalResponse> content = loadResponsesInOrder(ids.subList(from, to), fields);
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+
+    @Override
     public FilterOptionsResponse getFilterOptions() {
-        List<String> professions = professionalRepository.findDistinctProfessions();
-        List<String> provinces = professionalRepository.findDistinctProvinces();
-        List<String> cities = professionalRepository.findDistinctCities();
+        return directoryFacets.options();
+    }
+
+    @Override
+    public FacetsResponse getFacets(String profession, String province, String city) {
+        return directoryFacets.facets(profession, province, city);
+    }
+
+    @Override
+    public String getFacetsVersion() {
+        return directoryFacets.version();
+    }
 
-        return new FilterOptionsResponse(professions, provinces, cities);
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyProfessionalResponse> findNearby(
+            double latitude, double longitude, Double radiusKm, String profession, int limit) {
+        GeoPoint center = new GeoPoint(latitude, longitude);
+        String professionKey = SearchKeys.normalize(profession);
+
+        List<GeoIndex.GeoMatch> matches = radiusKm != null
+                ? geoIndex.withinRadius(center, radiusKm, professionKey, limit)
+                : geoIndex.nearest(center, limit, professionKey);
+
+        Map<Long, Professional> byId = loadInOrder(matches.stream().map(GeoIndex.GeoMatch::id).toList()).stream()
+                .collect(Collectors.toMap(Professional::getId, Function.identity()));
+        return matches.stream()
+                .filter(match -> byId.containsKey(match.id()))
+                .map(match -> new NearbyProfessionalResponse(
+                        ProfessionalResponse.fromEntity(byId.get(match.id())),
+                        Math.round(match.distanceKm() * 10) / 10.0))
+                .toList();
+    }
+
+    @Override
+    public List<SuggestionResponse> suggest(String query, int limit) {
+        return suggestionIndex.suggest(query, limit).stream()
+                .map(SuggestionResponse::fromSuggestion)
+                .toList();
+    }
+
+    /**
+     * 256 bits aleatorios en Base64 URL-safe: el token es la única credencial del feed.
+     */
+    private String newCalendarToken() {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Dirección que queda en el sitio tras aplicar {@code request}, como la recibe el
+     * Geocoder: sin ciudad o provincia propias se usan las del usuario.
+     */
+    private record SiteAddress(String address, String city, String province, String country, boolean needsGeocoding) {
+
+        static SiteAddress of(Professional professional, SiteConfig current, SiteConfigRequest request) {
+            boolean addressChanged = request.address() != null || request.city() != null
+                    || request.province() != null || request.country() != null;
+            String city = firstNonNull(request.city(), current != null ? current.getCity() : null);
+            String province = firstNonNull(request.province(), current != null ? current.getProvince() : null);
+            return new SiteAddress(
+                    firstNonNull(request.address(), current != null ? current.getAddress() : null),
+                    city != null ? city : professional.getUser().getCity(),
+                    province != null ? province : professional.getUser().getProvince(),
+                    firstNonNull(request.country(), current != null ? current.getCountry() : null),
+                    addressChanged || current == null || current.getLocation() == null
+            );
+        }
+
+        private static String firstNonNull(String value, String fallback) {
+            return value != null ? value : fallback;
+        }
     }
 }
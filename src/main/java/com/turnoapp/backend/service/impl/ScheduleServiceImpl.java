@@ -1,8 +1,10 @@
 package com.turnoapp.backend.service.impl;
 
+import com.turnoapp.backend.dto.common.ResourceVersion;
 import com.turnoapp.backend.dto.schedule.CreateScheduleRequest;
 import com.turnoapp.backend.dto.schedule.ScheduleResponse;
 import com.turnoapp.backend.dto.schedule.UpdateScheduleRequest;
+import com.turnoapp.backend.event.AvailabilityChangedEvent;
 import com.turnoapp.backend.exception.ResourceNotFoundException;
 import com.turnoapp.backend.model.Professional;
 import com.turnoapp.backend.model.ScheduleSlot;
@@ -10,6 +12,7 @@ import com.turnoapp.backend.repository.ProfessionalRepository;
 import com.turnoapp.backend.repository.ScheduleRepository;
 import com.turnoapp.backend.service.ScheduleService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +25,7 @@ public class ScheduleServiceImpl implements ScheduleService {
 
     private final ScheduleRepository scheduleRepository;
     private final ProfessionalRepository professionalRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -31,6 +35,12 @@ public class ScheduleServiceImpl implements ScheduleService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getScheduleVersion(Long professionalId) {
+        return scheduleRepository.findVersionByProfessionalId(professionalId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ScheduleResponse getScheduleById(Long id, Long professionalId) {
@@ -61,6 +71,7 @@ public class ScheduleServiceImpl implements ScheduleService {
                 .build();
 
         slot = scheduleRepository.save(slot);
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(professionalId));
 
         return ScheduleResponse.fromEntity(slot);
     }
@@ -93,6 +104,7 @@ public class ScheduleServiceImpl implements ScheduleService {
         }
 
         slot = scheduleRepository.save(slot);
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(professionalId));
 
         return ScheduleResponse.fromEntity(slot);
     }
@@ -104,6 +116,7 @@ public class ScheduleServiceImpl implements ScheduleService {
                 .orElseThrow(() -> new ResourceNotFoundException("Schedule slot not found with id: " + id));
 
         scheduleRepository.delete(slot);
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(professionalId));
     }
 
     /**
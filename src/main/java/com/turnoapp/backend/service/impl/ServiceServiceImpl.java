@@ -1,8 +1,12 @@
 package com.turnoapp.backend.service.impl;
 
+import com.turnoapp.backend.cache.CustomUrlResolver;
+import com.turnoapp.backend.dto.common.ResourceVersion;
 import com.turnoapp.backend.dto.service.CreateServiceRequest;
 import com.turnoapp.backend.dto.service.ServiceResponse;
 import com.turnoapp.backend.dto.service.UpdateServiceRequest;
+import com.turnoapp.backend.event.AppointmentListChangedEvent;
+import com.turnoapp.backend.event.AvailabilityChangedEvent;
 import com.turnoapp.backend.exception.ResourceNotFoundException;
 import com.turnoapp.backend.model.Professional;
 import com.turnoapp.backend.model.Service;
@@ -11,6 +15,7 @@ import com.turnoapp.backend.repository.ProfessionalRepository;
 import com.turnoapp.backend.repository.ServiceRepository;
 import com.turnoapp.backend.service.ServiceService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -22,6 +27,8 @@ public class ServiceServiceImpl implements ServiceService {
 
     private final ServiceRepository serviceRepository;
     private final ProfessionalRepository professionalRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CustomUrlResolver customUrlResolver;
 
     @Override
     @Transactional(readOnly = true)
@@ -34,21 +41,34 @@ public class ServiceServiceImpl implements ServiceService {
     @Override
     @Transactional(readOnly = true)
     public List<ServiceResponse> getServicesByCustomUrl(String customUrl) {
-        var professionalId = professionalRepository.findByCustomUrl(customUrl)
-                .map(Professional::getId)
-                .orElseThrow(() -> new ResourceNotFoundException("Professional not found with customUrl: " + customUrl));
+        var professionalId = customUrlResolver.resolve(customUrl)
+                .orElseThrow(() -> new ResourceNotFoundException("Professional not found with customUrl: " + customUrl, false));
 
         return serviceRepository.findByProfessionalIdAndStatus(professionalId, Status.ACTIVE).stream()
                 .map(ServiceResponse::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getServicesVersion(Long professionalId) {
+        return serviceRepository.findVersionByProfessionalId(professionalId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getServicesVersionByCustomUrl(String customUrl) {
+        var professionalId = customUrlResolver.resolve(customUrl)
+                .orElseThrow(() -> new ResourceNotFoundException("Professional not found with customUrl: " + customUrl, false));
+
+        return serviceRepository.findVersionByProfessionalId(professionalId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ServiceResponse getServiceByCustomUrlAndId(String customUrl, Long serviceId) {
-        var professionalId = professionalRepository.findByCustomUrl(customUrl)
-                .map(Professional::getId)
-                .orElseThrow(() -> new ResourceNotFoundException("Professional not found with customUrl: " + customUrl));
+        var professionalId = customUrlResolver.resolve(customUrl)
+                .orElseThrow(() -> new ResourceNotFoundException("Professional not found with customUrl: " + customUrl, false));
 
         return serviceRepository.findByIdAndProfessionalIdAndStatus(serviceId, professionalId, Status.ACTIVE)
                 .map(ServiceResponse::fromEntity)
@@ -81,6 +101,7 @@ public class ServiceServiceImpl implements ServiceService {
                 .build();
 
         service = serviceRepository.save(service);
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(professionalId));
 
         return ServiceResponse.fromEntity(service);
     }
@@ -91,6 +112,7 @@ public class ServiceServiceImpl implements ServiceService {
         Service service = serviceRepository.findByIdAndProfessionalId(id, professionalId)
                 .orElseThrow(() -> new ResourceNotFoundException("Service not found with id: " + id));
 
+        boolean nameChanged = request.name() != null && !request.name().equals(service.getName());
         if (request.name() != null) {
             service.setName(request.name());
         }
@@ -100,6 +122,7 @@ public class ServiceServiceImpl implements ServiceService {
         if (request.price() != null) {
             service.setPrice(request.price());
         }
+        boolean durationChanged = request.duration() != null && !request.duration().equals(service.getDuration());
         if (request.duration() != null) {
             service.setDuration(request.duration());
         }
@@ -108,6 +131,12 @@ public class ServiceServiceImpl implements ServiceService {
         }
 
         service = serviceRepository.save(service);
+        if (durationChanged) {
+            eventPublisher.publishEvent(new AvailabilityChangedEvent(professionalId));
+        }
+        if (nameChanged || durationChanged) {
+            eventPublisher.publishEvent(new AppointmentListChangedEvent(professionalId));
+        }
 
         return ServiceResponse.fromEntity(service);
     }
@@ -121,6 +150,7 @@ public class ServiceServiceImpl implements ServiceService {
         // Soft delete
         service.setStatus(Status.INACTIVE);
         serviceRepository.save(service);
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(professionalId));
     }
 
     @Override
@@ -132,5 +162,6 @@ public class ServiceServiceImpl implements ServiceService {
         // Toggle status: ACTIVE ↔ INACTIVE
         service.setStatus(service.getStatus() == Status.ACTIVE ? Status.INACTIVE : Status.ACTIVE);
         serviceRepository.save(service);
+        eventPublisher.publishEvent(new AvailabilityChangedEvent(professionalId));
     }
 }
@@ -0,0 +1,47 @@
+package com.turnoapp.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursores opacos para paginación por keyset: los valores de la clave de orden
+ * del último elemento entregado, codificados en base64 URL-safe.
+ * El cliente solo devuelve el token; su formato no es parte de la API.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "\u001F";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(String... values) {
+        String joined = String.join(SEPARATOR, values);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param expectedValues cantidad de valores que debe contener el cursor
+     * @throws IllegalArgumentException si el cursor está mal formado
+     */
+    public static String[] decode(String cursor, int expectedValues) {
+        String[] values;
+        try {
+            values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        if (values.length != expectedValues) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        return values;
+    }
+
+    public static long decodeLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
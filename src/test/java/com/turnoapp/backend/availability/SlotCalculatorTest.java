@@ -0,0 +1,81 @@
+package com.turnoapp.backend.availability;
+
+import com.turnoapp.backend.model.Appointment;
+import com.turnoapp.backend.model.ScheduleSlot;
+import com.turnoapp.backend.model.enums.AppointmentStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del cálculo del primer turno libre.
+ */
+@DisplayName("SlotCalculator - Próximo turno libre")
+class SlotCalculatorTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    private final List<ScheduleSlot> schedule = List.of(
+            slot(1, "09:00", "11:00"), // Lunes
+            slot(3, "14:00", "15:00")  // Miércoles
+    );
+
+    @Test
+    @DisplayName("Saltea los slots de hoy que ya empezaron y los ocupados")
+    void testFirstFreeSlot_SkipsPastAndBookedSlots() {
+        // Arrange
+        List<Appointment> appointments = List.of(
+                appointment(MONDAY, "10:00", "11:00", AppointmentStatus.CONFIRMED)
+        );
+
+        // Act
+        Optional<SlotCalculator.FreeSlot> free = SlotCalculator.firstFreeSlot(
+                MONDAY, LocalTime.of(9, 30), 7, 60, schedule, appointments);
+
+        // Assert
+        assertEquals(Optional.of(new SlotCalculator.FreeSlot(MONDAY.plusDays(2), "14:00")), free);
+    }
+
+    @Test
+    @DisplayName("Un turno cancelado libera el horario y el horizonte acota la búsqueda")
+    void testFirstFreeSlot_IgnoresCancelledAndRespectsHorizon() {
+        // Arrange
+        List<Appointment> appointments = List.of(
+                appointment(MONDAY, "09:00", "10:00", AppointmentStatus.CANCELLED),
+                appointment(MONDAY, "10:00", "11:00", AppointmentStatus.CONFIRMED)
+        );
+
+        // Act
+        Optional<SlotCalculator.FreeSlot> free = SlotCalculator.firstFreeSlot(
+                MONDAY, null, 1, 60, schedule, appointments);
+        Optional<SlotCalculator.FreeSlot> tooLong = SlotCalculator.firstFreeSlot(
+                MONDAY, null, 7, 180, schedule, List.of());
+
+        // Assert
+        assertEquals(Optional.of(new SlotCalculator.FreeSlot(MONDAY, "09:00")), free);
+        assertTrue(tooLong.isEmpty());
+    }
+
+    private static ScheduleSlot slot(int dayOfWeek, String start, String end) {
+        return ScheduleSlot.builder()
+                .dayOfWeek(dayOfWeek)
+                .startTime(start)
+                .endTime(end)
+                .build();
+    }
+
+    private static Appointment appointment(LocalDate date, String start, String end, AppointmentStatus status) {
+        return Appointment.builder()
+                .date(date)
+                .startTime(start)
+                .endTime(end)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.turnoapp.backend.benchmark;
+
+import com.turnoapp.backend.config.security.JwtKeyRing;
+import com.turnoapp.backend.config.security.JwtTokenProvider;
+import com.turnoapp.backend.model.User;
+import com.turnoapp.backend.model.enums.UserRole;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de verificar un JWT por request (lo que hace JwtAuthenticationFilter),
+ * comparando el HMAC actual con las alternativas asimétricas.
+ *
+ * Ejecutar:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.turnoapp.backend.benchmark.JwtVerificationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    @Param({"HS256", "ES256", "EdDSA"})
+    private String algorithm;
+
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SecretKey secret = Keys.hmacShaKeyFor(
+                "benchmark-secret-key-for-jwt-token-generation-at-least-256-bits".getBytes(StandardCharsets.UTF_8));
+
+        JwtKeyRing keyRing = switch (algorithm) {
+            case "HS256" -> JwtKeyRing.inMemory(secret, null, null, Map.of());
+            case "ES256" -> asymmetric(Jwts.SIG.ES256.keyPair().build());
+            case "EdDSA" -> asymmetric(Jwks.CRV.Ed25519.keyPair().build());
+            default -> throw new IllegalArgumentException(algorithm);
+        };
+
+        provider = new JwtTokenProvider(keyRing, TimeUnit.HOURS.toMillis(1));
+        token = provider.generateToken(User.builder()
+                .id(42L)
+                .email("bench@turnoapp.com")
+                .role(UserRole.PROFESSIONAL)
+                .build(), 7L);
+    }
+
+    @Benchmark
+    public Long verify() {
+        return provider.getUserIdFromToken(token);
+    }
+
+    private static JwtKeyRing asymmetric(KeyPair keyPair) {
+        return JwtKeyRing.inMemory(null, "bench", keyPair.getPrivate(), Map.of("bench", keyPair.getPublic()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,126 @@
+package com.turnoapp.backend.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.turnoapp.backend.dto.appointment.AppointmentResponse;
+import com.turnoapp.backend.dto.appointment.AvailabilityDateResponse;
+import com.turnoapp.backend.dto.appointment.DateAvailability;
+import com.turnoapp.backend.dto.common.CursorPageResponse;
+import com.turnoapp.backend.model.enums.AppointmentStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tamaño serializado y costo de codificar/decodificar las respuestas más pesadas
+ * de la app móvil en JSON y en CBOR (ver JacksonConfig). Los mappers se arman con
+ * Jackson2ObjectMapperBuilder, como en la aplicación.
+ *
+ * El tamaño de cada combinación se registra en el log al inicio de su medición.
+ *
+ * Ejecutar:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.turnoapp.backend.benchmark.ResponseEncodingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Slf4j
+public class ResponseEncodingBenchmark {
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    /**
+     * {@code appointments}: página de 100 turnos; {@code availability}: 60 días de calendario.
+     */
+    @Param({"appointments", "availability"})
+    private String payload;
+
+    private ObjectMapper mapper;
+    private Object value;
+    private JavaType type;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Igual que Spring Boot: fechas como texto ISO
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("cbor".equals(format)) {
+            builder.factory(new CBORFactory());
+        }
+        mapper = builder.build();
+
+        if ("appointments".equals(payload)) {
+            value = new CursorPageResponse<>(appointments(100), "MjAyNi0xMC0xOXwxMDowMHw0Mg", null);
+            type = mapper.getTypeFactory().constructParametricType(CursorPageResponse.class, AppointmentResponse.class);
+        } else {
+            value = availability(60);
+            type = mapper.getTypeFactory().constructType(AvailabilityDateResponse.class);
+        }
+
+        encoded = mapper.writeValueAsBytes(value);
+        log.info("{}/{}: {} bytes", payload, format, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return mapper.readValue(encoded, type);
+    }
+
+    private static List<AppointmentResponse> appointments(int count) {
+        Instant created = Instant.parse("2026-09-01T12:00:00Z");
+        LocalDate date = LocalDate.of(2026, 10, 19);
+        List<AppointmentResponse> appointments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            appointments.add(new AppointmentResponse(
+                    1000L + i, 7L, "Laura Méndez", "laura-mendez", "Nutricionista",
+                    500L + i % 40, "Cliente " + i % 40 + " Apellido", "cliente" + i % 40 + "@mail.com",
+                    3L, "Consulta de seguimiento", 30,
+                    date.minusDays(i / 8).toString(), String.format("%02d:%02d", 9 + i % 8, 0),
+                    String.format("%02d:%02d", 9 + i % 8, 30),
+                    AppointmentStatus.values()[i % AppointmentStatus.values().length],
+                    i % 5 == 0 ? "Traer estudios previos" : null,
+                    created.plusSeconds(i * 3600L), created.plusSeconds(i * 3600L + 60)));
+        }
+        return appointments;
+    }
+
+    private static AvailabilityDateResponse availability(int days) {
+        LocalDate start = LocalDate.of(2026, 10, 19);
+        List<DateAvailability> dates = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            dates.add(new DateAvailability(start.plusDays(i).toString(), i % 7 < 5));
+        }
+        return new AvailabilityDateResponse(7L, 3L, dates);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ResponseEncodingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
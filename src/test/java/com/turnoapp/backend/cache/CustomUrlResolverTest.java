@@ -0,0 +1,89 @@
+package com.turnoapp.backend.cache;
+
+import com.turnoapp.backend.event.CustomUrlChangedEvent;
+import com.turnoapp.backend.repository.ProfessionalRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias de la caché de URLs personalizadas.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomUrlResolver - Caché positiva y negativa")
+class CustomUrlResolverTest {
+
+    @Mock
+    private ProfessionalRepository professionalRepository;
+
+    private CustomUrlResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new CustomUrlResolver(professionalRepository, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(10), 100, Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Una URL inexistente repetida consulta la base una sola vez")
+    void testUnknownUrl_IsCachedAsMiss() {
+        // Arrange
+        when(professionalRepository.findIdByCustomUrl("wp-admin")).thenReturn(Optional.empty());
+
+        // Act
+        resolver.resolve("wp-admin");
+        Optional<Long> second = resolver.resolve("wp-admin");
+
+        // Assert
+        assertTrue(second.isEmpty());
+        verify(professionalRepository, times(1)).findIdByCustomUrl("wp-admin");
+    }
+
+    @Test
+    @DisplayName("El cambio de URL invalida la anterior y la nueva")
+    void testCustomUrlChanged_EvictsBothUrls() {
+        // Arrange
+        when(professionalRepository.findIdByCustomUrl("dra-gomez")).thenReturn(Optional.of(7L), Optional.empty());
+        when(professionalRepository.findIdByCustomUrl("ana-gomez")).thenReturn(Optional.empty(), Optional.of(7L));
+        resolver.resolve("dra-gomez");
+        resolver.resolve("ana-gomez");
+
+        // Act
+        resolver.onCustomUrlChanged(new CustomUrlChangedEvent("dra-gomez", "ana-gomez"));
+
+        // Assert
+        assertTrue(resolver.resolve("dra-gomez").isEmpty());
+        assertEquals(Optional.of(7L), resolver.resolve("ana-gomez"));
+    }
+
+    @Test
+    @DisplayName("Una URL que cambia mientras se consulta no queda cacheada")
+    void testCustomUrlChangedDuringLookup_IsNotCached() {
+        // Arrange: la consulta lee la URL vieja y, antes de guardarla, se confirma el cambio
+        when(professionalRepository.findIdByCustomUrl("dra-gomez"))
+                .thenAnswer(invocation -> {
+                    resolver.onCustomUrlChanged(new CustomUrlChangedEvent("dra-gomez", "ana-gomez"));
+                    return Optional.of(7L);
+                })
+                .thenReturn(Optional.empty());
+
+        // Act
+        Optional<Long> during = resolver.resolve("dra-gomez");
+        Optional<Long> after = resolver.resolve("dra-gomez");
+
+        // Assert
+        assertEquals(Optional.of(7L), during);
+        assertTrue(after.isEmpty());
+        verify(professionalRepository, times(2)).findIdByCustomUrl("dra-gomez");
+    }
+}
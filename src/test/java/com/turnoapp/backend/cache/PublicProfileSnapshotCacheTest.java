@@ -0,0 +1,66 @@
+package com.turnoapp.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turnoapp.backend.dto.professional.ProfessionalResponse;
+import com.turnoapp.backend.model.enums.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de los perfiles públicos pre-serializados.
+ */
+@DisplayName("PublicProfileSnapshotCache - Invalidación")
+class PublicProfileSnapshotCacheTest {
+
+    private PublicProfileSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PublicProfileSnapshotCache(new ObjectMapper(), new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("La invalidación del profesional descarta el snapshot")
+    void testEvictByProfessional() {
+        // Arrange
+        cache.get("dra-gomez", () -> profile("Nutricionista"));
+
+        // Act
+        cache.evict(7L);
+        JsonSnapshot reloaded = cache.get("dra-gomez", () -> profile("Pediatra"));
+
+        // Assert
+        assertEquals("Pediatra", ((ProfessionalResponse) reloaded.value()).profession());
+    }
+
+    @Test
+    @DisplayName("Una carga que empezó antes de la invalidación no queda en la caché")
+    void testEvictDuringLoad_DiscardsStaleSnapshot() {
+        // Arrange: el perfil se lee y, antes de guardarse, se confirma un cambio
+        JsonSnapshot stale = cache.get("dra-gomez", () -> {
+            ProfessionalResponse before = profile("Nutricionista");
+            cache.evict(7L);
+            return before;
+        });
+
+        // Act
+        JsonSnapshot next = cache.get("dra-gomez", () -> profile("Pediatra"));
+
+        // Assert
+        assertEquals("Nutricionista", ((ProfessionalResponse) stale.value()).profession());
+        assertEquals("Pediatra", ((ProfessionalResponse) next.value()).profession());
+        assertSame(next, cache.get("dra-gomez", () -> fail("Debe salir de la caché")));
+    }
+
+    private static ProfessionalResponse profile(String profession) {
+        return new ProfessionalResponse(7L, 3L, "Ana", "Gómez", "ana@test.com",
+                profession, "dra-gomez", null, Status.ACTIVE, null);
+    }
+}
@@ -0,0 +1,129 @@
+package com.turnoapp.backend.calendar;
+
+import com.turnoapp.backend.dto.appointment.AppointmentRow;
+import com.turnoapp.backend.model.enums.AppointmentStatus;
+import com.turnoapp.backend.repository.AppointmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias del feed iCalendar cacheado.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CalendarFeedCache - Feed incremental")
+class CalendarFeedCacheTest {
+
+    private static final Instant T1 = Instant.parse("2026-03-01T10:00:00Z");
+    private static final Instant T2 = Instant.parse("2026-03-01T11:00:00Z");
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    private CalendarFeedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CalendarFeedCache(appointmentRepository, new SimpleMeterRegistry(), 30, 180,
+                ZoneId.of("America/Argentina/Buenos_Aires"), DataSize.ofMegabytes(1), Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Un cambio relee solo los turnos modificados y la misma versión no consulta")
+    void testRender_RefreshesIncrementally() {
+        // Arrange
+        LocalDate from = LocalDate.of(2026, 2, 1);
+        LocalDate to = LocalDate.of(2026, 8, 30);
+        CalendarFeedCache.FeedVersion first = new CalendarFeedCache.FeedVersion(7L, from, to, T1, 2, T1);
+        CalendarFeedCache.FeedVersion second = new CalendarFeedCache.FeedVersion(7L, from, to, T2, 2, T1);
+        when(appointmentRepository.findCalendarRows(eq(7L), eq(from), eq(to), isNull()))
+                .thenReturn(List.of(row(1L, AppointmentStatus.CONFIRMED, "Primera vez", T1),
+                        row(2L, AppointmentStatus.CONFIRMED, null, T1)));
+        when(appointmentRepository.findCalendarRows(7L, from, to, T1))
+                .thenReturn(List.of(row(2L, AppointmentStatus.CANCELLED, null, T2)));
+
+        // Act
+        String initial = cache.render(first);
+        cache.render(first);
+        String updated = cache.render(second);
+
+        // Assert
+        assertTrue(initial.startsWith("BEGIN:VCALENDAR\r\n"));
+        assertEquals(2, initial.split("BEGIN:VEVENT").length - 1);
+        assertTrue(initial.contains("DTSTART:20260302T120000Z\r\n")); // 09:00 en Buenos Aires
+        assertTrue(updated.contains("UID:appointment-1@turnoapp"));
+        assertTrue(updated.contains("STATUS:CANCELLED"));
+        verify(appointmentRepository, times(2)).findCalendarRows(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Las consultas corren fuera de la caché: otra petición del mismo feed no queda bloqueada")
+    void testRender_LoadsOutsideCacheEntry() {
+        // Arrange: mientras se carga la primera versión llega otra petición con una más nueva
+        LocalDate from = LocalDate.of(2026, 2, 1);
+        LocalDate to = LocalDate.of(2026, 8, 30);
+        CalendarFeedCache.FeedVersion first = new CalendarFeedCache.FeedVersion(7L, from, to, T1, 1, T1);
+        CalendarFeedCache.FeedVersion second = new CalendarFeedCache.FeedVersion(7L, from, to, T2, 1, T1);
+        AtomicInteger loads = new AtomicInteger();
+        when(appointmentRepository.findCalendarRows(eq(7L), eq(from), eq(to), isNull())).thenAnswer(invocation -> {
+            if (loads.getAndIncrement() == 0) {
+                cache.render(second);
+            }
+            return List.of(row(1L, AppointmentStatus.CONFIRMED, null, T1));
+        });
+
+        // Act
+        String initial = cache.render(first);
+        cache.render(second);
+
+        // Assert: la entrada instalada por la petición concurrente se conserva
+        assertTrue(initial.contains("UID:appointment-1@turnoapp"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Si la cantidad no coincide (bajas) el feed se regenera completo")
+    void testRender_RebuildsWhenCountDiffers() {
+        // Arrange
+        LocalDate from = LocalDate.of(2026, 2, 1);
+        LocalDate to = LocalDate.of(2026, 8, 30);
+        when(appointmentRepository.findCalendarRows(eq(7L), eq(from), eq(to), isNull()))
+                .thenReturn(List.of(row(1L, AppointmentStatus.CONFIRMED, null, T1),
+                        row(2L, AppointmentStatus.CONFIRMED, null, T1)))
+                .thenReturn(List.of(row(1L, AppointmentStatus.CONFIRMED, null, T2)));
+        when(appointmentRepository.findCalendarRows(7L, from, to, T1))
+                .thenReturn(List.of(row(1L, AppointmentStatus.CONFIRMED, null, T2)));
+        cache.render(new CalendarFeedCache.FeedVersion(7L, from, to, T1, 2, T1));
+
+        // Act
+        String feed = cache.render(new CalendarFeedCache.FeedVersion(7L, from, to, T2, 1, T1));
+
+        // Assert
+        assertFalse(feed.contains("UID:appointment-2@turnoapp"));
+        assertEquals(1, feed.split("BEGIN:VEVENT").length - 1);
+    }
+
+    private static AppointmentRow row(Long id, AppointmentStatus status, String notes, Instant updatedAt) {
+        return new AppointmentRow(id, 7L, "Laura", "Méndez", "laura", "Nutricionista",
+                3L, "Carlos", "Ruiz", "carlos@test.com", 5L, "Consulta; control", 30,
+                LocalDate.of(2026, 3, 2), "09:00", "09:30", status, notes, T1, updatedAt);
+    }
+}
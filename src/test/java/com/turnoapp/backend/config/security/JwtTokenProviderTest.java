@@ -0,0 +1,130 @@
+package com.turnoapp.backend.config.security;
+
+import com.turnoapp.backend.model.User;
+import com.turnoapp.backend.model.enums.UserRole;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de firma asimétrica y rotación de claves JWT.
+ */
+@DisplayName("JwtTokenProvider - Firma y Rotación de Claves")
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-for-jwt-token-generation-in-tests-must-be-at-least-256-bits";
+
+    @TempDir
+    Path tempDir;
+
+    private final User user = User.builder()
+            .id(7L)
+            .email("prof@test.com")
+            .role(UserRole.PROFESSIONAL)
+            .build();
+
+    @Test
+    @DisplayName("Firma con la clave activa del JWK Set e incluye el kid")
+    void testGenerateToken_UsesActiveKeyAndKid() throws Exception {
+        KeyPair edKeys = Jwks.CRV.Ed25519.keyPair().build();
+        Path keySet = writeKeySet("k1", privateJwk("k1", edKeys));
+
+        JwtTokenProvider provider = new JwtTokenProvider(new JwtKeyRing(null, keySet), 60_000);
+        String token = provider.generateToken(user, 3L);
+
+        assertEquals("k1", Jwts.parser().verifyWith(edKeys.getPublic()).build()
+                .parseSignedClaims(token).getHeader().getKeyId());
+        assertEquals(7L, provider.getUserIdFromToken(token));
+        assertEquals(3L, provider.getProfessionalIdFromToken(token));
+    }
+
+    @Test
+    @DisplayName("Los tokens HMAC legacy (sin kid) siguen siendo válidos tras migrar")
+    void testValidateToken_AcceptsLegacyHmacTokens() throws Exception {
+        SecretKey legacy = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        String legacyToken = new JwtTokenProvider(new JwtKeyRing(legacy, null), 60_000)
+                .generateToken(user, null);
+
+        KeyPair ecKeys = Jwts.SIG.ES256.keyPair().build();
+        Path keySet = writeKeySet("ec-1", privateJwk("ec-1", ecKeys));
+        JwtTokenProvider migrated = new JwtTokenProvider(new JwtKeyRing(legacy, keySet), 60_000);
+
+        assertTrue(migrated.validateToken(legacyToken));
+        assertTrue(migrated.validateToken(migrated.generateToken(user, null)));
+    }
+
+    @Test
+    @DisplayName("La rotación recarga el archivo sin invalidar los tokens emitidos")
+    void testReloadIfChanged_RotatesSigningKey() throws Exception {
+        KeyPair oldKeys = Jwks.CRV.Ed25519.keyPair().build();
+        KeyPair newKeys = Jwks.CRV.Ed25519.keyPair().build();
+        Path keySet = writeKeySet("old", privateJwk("old", oldKeys));
+
+        JwtKeyRing keyRing = new JwtKeyRing(null, keySet);
+        JwtTokenProvider provider = new JwtTokenProvider(keyRing, 60_000);
+        String oldToken = provider.generateToken(user, null);
+
+        // Rotación: la clave nueva firma, la vieja queda solo para verificar
+        writeKeySet("new", privateJwk("new", newKeys), Jwks.json(Jwks.builder().key(oldKeys.getPublic()).id("old").build()));
+        Files.setLastModifiedTime(keySet, FileTime.from(Instant.now().plusSeconds(5)));
+        keyRing.reloadIfChanged();
+
+        String newToken = provider.generateToken(user, null);
+        assertTrue(provider.validateToken(oldToken));
+        assertEquals("new", Jwts.parser().verifyWith(newKeys.getPublic()).build()
+                .parseSignedClaims(newToken).getHeader().getKeyId());
+    }
+
+    @Test
+    @DisplayName("Rechaza tokens con kid desconocido o sin kid si no hay HMAC legacy")
+    void testValidateToken_RejectsUnknownKeys() throws Exception {
+        KeyPair trusted = Jwks.CRV.Ed25519.keyPair().build();
+        JwtTokenProvider provider = new JwtTokenProvider(
+                new JwtKeyRing(null, writeKeySet("k1", privateJwk("k1", trusted))), 60_000);
+
+        KeyPair foreign = Jwks.CRV.Ed25519.keyPair().build();
+        String foreignToken = Jwts.builder().header().keyId("k2").and()
+                .subject("7").signWith(foreign.getPrivate()).compact();
+        String hmacToken = Jwts.builder().subject("7")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8))).compact();
+
+        assertFalse(provider.validateToken(foreignToken));
+        assertFalse(provider.validateToken(hmacToken));
+    }
+
+    @Test
+    @DisplayName("Rechaza al cargar un JWK Set con claves RSA o de otras curvas")
+    void testKeyRing_RejectsUnsupportedAlgorithms() throws Exception {
+        Path rsa = writeKeySet("rsa", privateJwk("rsa", Jwts.SIG.RS256.keyPair().build()));
+        assertThrows(IllegalArgumentException.class, () -> new JwtKeyRing(null, rsa));
+
+        Path p384 = writeKeySet("ec-384", privateJwk("ec-384", Jwts.SIG.ES384.keyPair().build()));
+        assertThrows(IllegalArgumentException.class, () -> new JwtKeyRing(null, p384));
+
+        Path ed448 = writeKeySet("ed448", privateJwk("ed448", Jwks.CRV.Ed448.keyPair().build()));
+        assertThrows(IllegalArgumentException.class, () -> new JwtKeyRing(null, ed448));
+    }
+
+    private String privateJwk(String kid, KeyPair keyPair) {
+        return Jwks.UNSAFE_JSON(Jwks.builder().keyPair(keyPair).id(kid).build());
+    }
+
+    private Path writeKeySet(String activeKid, String... jwks) throws Exception {
+        Path file = tempDir.resolve("jwks.json");
+        Files.writeString(file, "{\"active\":\"" + activeKid + "\",\"keys\":[" + String.join(",", jwks) + "]}");
+        return file;
+    }
+}
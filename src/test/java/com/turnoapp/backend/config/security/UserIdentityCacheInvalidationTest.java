@@ -0,0 +1,80 @@
+package com.turnoapp.backend.config.security;
+
+import com.turnoapp.backend.event.UserIdentityChangedEvent;
+import com.turnoapp.backend.model.User;
+import com.turnoapp.backend.model.enums.UserRole;
+import com.turnoapp.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de invalidación de {@link UserIdentityCache} con {@link UserIdentityChangedEvent}.
+ *
+ * Sin @Transactional: el evento se aplica al confirmar la transacción, y los datos
+ * se borran al terminar.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("UserIdentityCache - Invalidación después del commit")
+class UserIdentityCacheInvalidationTest {
+
+    @Autowired
+    private UserIdentityCache userIdentityCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("before@identity-cache.test")
+                .passwordHash("$2a$10$dummy")
+                .firstName("Carlos")
+                .lastName("Ruiz")
+                .role(UserRole.CLIENT)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(user.getId());
+        userIdentityCache.evict(user.getId());
+    }
+
+    @Test
+    @DisplayName("El cambio de identidad invalida la caché recién al confirmar la transacción")
+    void testIdentityChanged_EvictsAfterCommit() {
+        // Arrange
+        assertEquals("before@identity-cache.test", userIdentityCache.get(user.getId()).email());
+
+        // Act
+        String insideTransaction = transactionTemplate.execute(status -> {
+            User managed = userRepository.findById(user.getId()).orElseThrow();
+            managed.setEmail("after@identity-cache.test");
+            userRepository.saveAndFlush(managed);
+            eventPublisher.publishEvent(new UserIdentityChangedEvent(user.getId()));
+            return userIdentityCache.get(user.getId()).email();
+        });
+
+        // Assert: antes del commit sigue la identidad cacheada; después se relee
+        assertEquals("before@identity-cache.test", insideTransaction);
+        assertEquals("after@identity-cache.test", userIdentityCache.get(user.getId()).email());
+    }
+}
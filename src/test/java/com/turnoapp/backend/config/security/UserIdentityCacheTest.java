@@ -0,0 +1,85 @@
+package com.turnoapp.backend.config.security;
+
+import com.turnoapp.backend.model.enums.Status;
+import com.turnoapp.backend.model.enums.UserRole;
+import com.turnoapp.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias de {@link UserIdentityCache}: aciertos, fallos y usuarios inexistentes.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserIdentityCache - Caché de identidades")
+class UserIdentityCacheTest {
+
+    private static final UserIdentity IDENTITY = new UserIdentity(
+            7L, "client@test.com", UserRole.CLIENT, Status.ACTIVE, null, 3L);
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserIdentityCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserIdentityCache(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("La primera lectura consulta la base y las siguientes salen de la caché")
+    void testGet_MissThenHit() {
+        // Arrange
+        when(userRepository.findIdentityById(7L)).thenReturn(Optional.of(IDENTITY));
+
+        // Act
+        UserIdentity first = cache.get(7L);
+        UserIdentity second = cache.get(7L);
+
+        // Assert
+        assertEquals(IDENTITY, first);
+        assertSame(first, second);
+        verify(userRepository, times(1)).findIdentityById(7L);
+    }
+
+    @Test
+    @DisplayName("Un usuario inexistente no se cachea")
+    void testGet_NotFoundIsNotCached() {
+        // Arrange: el usuario se crea después del primer intento
+        when(userRepository.findIdentityById(7L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(IDENTITY));
+
+        // Act & Assert
+        assertThrows(UsernameNotFoundException.class, () -> cache.get(7L));
+        assertEquals(IDENTITY, cache.get(7L));
+        verify(userRepository, times(2)).findIdentityById(7L);
+    }
+
+    @Test
+    @DisplayName("evict obliga a volver a leer la identidad")
+    void testEvict_ReloadsOnNextGet() {
+        // Arrange
+        when(userRepository.findIdentityById(7L)).thenReturn(Optional.of(IDENTITY));
+        cache.get(7L);
+
+        // Act
+        cache.evict(7L);
+        cache.get(7L);
+
+        // Assert
+        verify(userRepository, times(2)).findIdentityById(7L);
+    }
+}
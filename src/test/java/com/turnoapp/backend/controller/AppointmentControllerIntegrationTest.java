@@ -0,0 +1,122 @@
+package com.turnoapp.backend.controller;
+
+import com.turnoapp.backend.config.security.JwtTokenProvider;
+import com.turnoapp.backend.model.Professional;
+import com.turnoapp.backend.model.User;
+import com.turnoapp.backend.model.enums.Status;
+import com.turnoapp.backend.model.enums.UserRole;
+import com.turnoapp.backend.repository.ProfessionalRepository;
+import com.turnoapp.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pruebas de integración para AppointmentController.
+ *
+ * Enfoque: validación de parámetros y peticiones condicionales de los endpoints del panel.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("AppointmentController - Pruebas de Integración")
+class AppointmentControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String authToken;
+
+    @BeforeEach
+    void setUp() {
+        User professionalUser = userRepository.save(User.builder()
+                .email("prof@summary.test")
+                .passwordHash("$2a$10$dummy")
+                .firstName("Laura")
+                .lastName("Méndez")
+                .role(UserRole.PROFESSIONAL)
+                .status(Status.ACTIVE)
+                .build());
+        Professional professional = professionalRepository.save(Professional.builder()
+                .user(professionalUser)
+                .profession("Nutricionista")
+                .customUrl("summary-test")
+                .build());
+        authToken = jwtTokenProvider.generateToken(professionalUser, professional.getId());
+    }
+
+    @Test
+    @DisplayName("El resumen acepta hasta 366 días inclusive y rechaza 367")
+    void testGetSummary_MaxRangeBoundary() throws Exception {
+        // Act & Assert: 2024 es bisiesto, del 1/1 al 31/12 son 366 días
+        mockMvc.perform(get("/api/appointments/summary")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value("2024-01-01"));
+        mockMvc.perform(get("/api/appointments/summary")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("from", "2024-01-01")
+                        .param("to", "2025-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("JSON, CBOR y fields del listado tienen ETags distintos")
+    void testGetAppointments_EtagPerRepresentation() throws Exception {
+        // Act
+        String json = mockMvc.perform(get("/api/appointments")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String cbor = mockMvc.perform(get("/api/appointments")
+                        .header("Authorization", "Bearer " + authToken)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String sparse = mockMvc.perform(get("/api/appointments")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("fields", "status"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Assert: el ETag de JSON no valida la representación CBOR
+        assertNotNull(json);
+        assertNotEquals(json, cbor);
+        assertNotEquals(json, sparse);
+        assertNotEquals(cbor, sparse);
+        mockMvc.perform(get("/api/appointments")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, json)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/appointments")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, json))
+                .andExpect(status().isNotModified());
+    }
+}
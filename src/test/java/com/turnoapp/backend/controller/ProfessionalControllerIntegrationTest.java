@@ -1,6 +1,9 @@
 package com.turnoapp.backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.turnoapp.backend.cache.CustomUrlResolver;
+import com.turnoapp.backend.cache.PublicProfileSnapshotCache;
 import com.turnoapp.backend.config.security.JwtTokenProvider;
 import com.turnoapp.backend.dto.professional.ProfessionalResponse;
 import com.turnoapp.backend.dto.professional.SiteConfigRequest;
@@ -8,6 +11,7 @@ import com.turnoapp.backend.model.*;
 import com.turnoapp.backend.model.enums.Status;
 import com.turnoapp.backend.model.enums.UserRole;
 import com.turnoapp.backend.repository.*;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,6 +24,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.util.zip.GZIPInputStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -55,6 +63,18 @@ class ProfessionalControllerIntegrationTest {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private CustomUrlResolver customUrlResolver;
+
+    @Autowired
+    private PublicProfileSnapshotCache publicProfileSnapshotCache;
+
     private User professionalUser;
     private Professional professional;
     private String authToken;
@@ -139,6 +159,8 @@ class ProfessionalControllerIntegrationTest {
         assertEquals("Mendoza", response.siteConfig().city());
         assertEquals("Mendoza", response.siteConfig().province());
         assertEquals("Argentina", response.siteConfig().country());
+        assertNotNull(response.siteConfig().latitude()); // Geocodificado por ciudad
+        assertNotNull(response.siteConfig().longitude());
         assertEquals("Lunes a Viernes 9:00 - 18:00", response.siteConfig().businessHours());
         assertEquals("Bienvenido a mi consultorio", response.siteConfig().welcomeMessage());
         assertNotNull(response.siteConfig().socialMedia());
@@ -281,5 +303,259 @@ class ProfessionalControllerIntegrationTest {
         assertEquals("Psicólogo", response.profession());
         assertNotNull(response.siteConfig()); // Should have default or null
     }
-}
 
+    @Test
+    @DisplayName("Los endpoints públicos ignoran tokens inválidos sin autenticar")
+    void testPublicSearch_IgnoresStaleToken() throws Exception {
+        double rejectedBefore = meterRegistry.counter("security.jwt.rejected", "reason", "invalid").count();
+
+        mockMvc.perform(get("/api/professionals/public/search")
+                        .header("Authorization", "Bearer token-vencido"))
+                .andExpect(status().isOk());
+
+        // La cadena pública no ejecuta el filtro JWT: el token ni se parsea
+        assertEquals(rejectedBefore,
+                meterRegistry.counter("security.jwt.rejected", "reason", "invalid").count());
+    }
+
+    @Test
+    @DisplayName("Un token inválido en un endpoint privado se cuenta como métrica")
+    void testPrivateEndpoint_CountsInvalidToken() throws Exception {
+        double rejectedBefore = meterRegistry.counter("security.jwt.rejected", "reason", "invalid").count();
+
+        mockMvc.perform(get("/api/professionals/me")
+                        .header("Authorization", "Bearer token-invalido"))
+                .andExpect(status().isForbidden());
+
+        assertEquals(rejectedBefore + 1,
+                meterRegistry.counter("security.jwt.rejected", "reason", "invalid").count());
+    }
+
+    @Test
+    @DisplayName("Las facetas responden 304 si el ETag no cambió")
+    void testFacets_ReturnsNotModifiedForSameEtag() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/professionals/public/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.professions").isArray())
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        assertNotNull(etag);
+        assertEquals(1, first.getResponse().getHeaders("ETag").size());
+
+        mockMvc.perform(get("/api/professionals/public/facets")
+                        .param("province", "Mendoza")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("La página de reservas trae perfil, servicios y disponibilidad en una llamada con ETag")
+    void testBookingPage_CompositeWithEtag() throws Exception {
+        // Arrange
+        customUrlResolver.evict("prof-test");
+        serviceRepository.save(Service.builder()
+                .professional(professional)
+                .name("Sesión individual")
+                .price(new BigDecimal("8000.00"))
+                .duration(50)
+                .depositPercentage(0)
+                .build());
+
+        // Act
+        MvcResult first = mockMvc.perform(get("/api/public/booking/prof-test").param("days", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.professional.customUrl").value("prof-test"))
+                .andExpect(jsonPath("$.services[0].name").value("Sesión individual"))
+                .andExpect(jsonPath("$.availability[0].availability.length()").value(7))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        // Assert
+        assertNotNull(etag);
+        mockMvc.perform(get("/api/public/booking/prof-test").param("days", "7").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/public/booking/no-existe"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("El perfil público se sirve desde el snapshot, comprimido y con ETag")
+    void testGetProfessionalByCustomUrl_ServesSnapshot() throws Exception {
+        // Arrange
+        customUrlResolver.evict("prof-test");
+        publicProfileSnapshotCache.evict("prof-test");
+
+        // Act
+        MvcResult plain = mockMvc.perform(get("/api/professionals/public/by-url/prof-test"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.customUrl").value("prof-test"))
+                .andReturn();
+        MvcResult gzipped = mockMvc.perform(get("/api/professionals/public/by-url/prof-test")
+                        .header("Accept-Encoding", "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+        String etag = plain.getResponse().getHeader("ETag");
+
+        // Assert
+        assertNotNull(etag);
+        assertEquals(etag, gzipped.getResponse().getHeader("ETag"));
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray()))) {
+            assertArrayEquals(plain.getResponse().getContentAsByteArray(), in.readAllBytes());
+        }
+        mockMvc.perform(get("/api/professionals/public/by-url/prof-test").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/professionals/public/by-url/no-existe"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("El perfil y los servicios responden 304 mientras no cambian")
+    void testConditionalGet_ProfileAndServices() throws Exception {
+        // Arrange
+        serviceRepository.save(Service.builder()
+                .professional(professional)
+                .name("Sesión individual")
+                .price(new BigDecimal("8000.00"))
+                .duration(50)
+                .depositPercentage(0)
+                .build());
+
+        // Act
+        String profileEtag = mockMvc.perform(get("/api/professionals/me")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String servicesEtag = mockMvc.perform(get("/api/services")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Assert
+        mockMvc.perform(get("/api/professionals/me")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", profileEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/services")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", servicesEtag))
+                .andExpect(status().isNotModified());
+
+        serviceRepository.save(Service.builder()
+                .professional(professional)
+                .name("Sesión de pareja")
+                .price(new BigDecimal("12000.00"))
+                .duration(80)
+                .depositPercentage(0)
+                .build());
+        mockMvc.perform(get("/api/services")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", servicesEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("Con fields la respuesta incluye solo los campos pedidos")
+    void testSparseFields_FiltersResponse() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/professionals/me")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("fields", "firstName,customUrl"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(professional.getId()))
+                .andExpect(jsonPath("$.customUrl").value("prof-test"))
+                .andExpect(jsonPath("$.email").doesNotExist())
+                .andExpect(jsonPath("$.siteConfig").doesNotExist());
+
+        mockMvc.perform(get("/api/professionals/public/search/scroll").param("fields", "password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Con Accept y Content-Type CBOR la API lee y responde en binario")
+    void testCborContentNegotiation() throws Exception {
+        // Arrange
+        customUrlResolver.evict("prof-test");
+        publicProfileSnapshotCache.evict("prof-test");
+        ObjectMapper cborMapper = new CBORMapper().findAndRegisterModules();
+        SiteConfigRequest request = new SiteConfigRequest(
+                null, "#112233", "#445566", "Descripción", null, "Mendoza", "Mendoza", "Argentina",
+                null, "Hola", null);
+
+        // Act
+        MvcResult updated = mockMvc.perform(put("/api/professionals/me/site-config")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn();
+        MvcResult publicProfile = mockMvc.perform(get("/api/professionals/public/by-url/prof-test")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // Assert
+        ProfessionalResponse fromUpdate = cborMapper.readValue(
+                updated.getResponse().getContentAsByteArray(), ProfessionalResponse.class);
+        ProfessionalResponse fromPublic = cborMapper.readValue(
+                publicProfile.getResponse().getContentAsByteArray(), ProfessionalResponse.class);
+        assertEquals("#112233", fromUpdate.siteConfig().primaryColor());
+        assertEquals("prof-test", fromPublic.customUrl());
+        assertEquals("#112233", fromPublic.siteConfig().primaryColor());
+        assertNotEquals(publicProfile.getResponse().getHeader("ETag"),
+                mockMvc.perform(get("/api/professionals/public/by-url/prof-test"))
+                        .andReturn().getResponse().getHeader("ETag"));
+    }
+
+    @Test
+    @DisplayName("El perfil público aplica ?fields= igual en JSON y en CBOR")
+    void testGetProfessionalByCustomUrl_SparseFieldsInBothFormats() throws Exception {
+        // Arrange
+        customUrlResolver.evict("prof-test");
+        publicProfileSnapshotCache.evict("prof-test");
+        ObjectMapper cborMapper = new CBORMapper();
+        ObjectMapper jsonMapper = new ObjectMapper();
+
+        // Act
+        MvcResult full = mockMvc.perform(get("/api/professionals/public/by-url/prof-test"))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult json = mockMvc.perform(get("/api/professionals/public/by-url/prof-test")
+                        .param("fields", "customUrl,profession")
+                        .header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn();
+        MvcResult cbor = mockMvc.perform(get("/api/professionals/public/by-url/prof-test")
+                        .param("fields", "customUrl,profession")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // Assert
+        var fromJson = jsonMapper.readTree(json.getResponse().getContentAsByteArray());
+        var fromCbor = cborMapper.readTree(cbor.getResponse().getContentAsByteArray());
+        assertEquals(fromJson, fromCbor);
+        assertEquals(3, fromJson.size()); // id, customUrl y profession
+        assertEquals("prof-test", fromJson.get("customUrl").asText());
+        assertFalse(fromJson.has("siteConfig"));
+        String sparseEtag = json.getResponse().getHeader("ETag");
+        assertNotEquals(full.getResponse().getHeader("ETag"), sparseEtag);
+        assertNotEquals(cbor.getResponse().getHeader("ETag"), sparseEtag);
+        mockMvc.perform(get("/api/professionals/public/by-url/prof-test")
+                        .param("fields", "profession,customUrl")
+                        .header("If-None-Match", sparseEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/professionals/public/by-url/prof-test").param("fields", "password"))
+                .andExpect(status().isBadRequest());
+    }
+}
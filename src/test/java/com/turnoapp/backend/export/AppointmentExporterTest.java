@@ -0,0 +1,92 @@
+package com.turnoapp.backend.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.turnoapp.backend.dto.appointment.AppointmentFilter;
+import com.turnoapp.backend.dto.appointment.AppointmentResponse;
+import com.turnoapp.backend.model.enums.AppointmentStatus;
+import com.turnoapp.backend.service.AppointmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Pruebas unitarias de la exportación del historial de turnos.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AppointmentExporter - CSV y NDJSON")
+class AppointmentExporterTest {
+
+    @Mock
+    private AppointmentService appointmentService;
+
+    private AppointmentExporter exporter;
+
+    private final AppointmentFilter filter = new AppointmentFilter(null, null, null, false);
+
+    @BeforeEach
+    void setUp() {
+        exporter = new AppointmentExporter(appointmentService, new ObjectMapper().registerModule(new JavaTimeModule()));
+        doAnswer(invocation -> {
+            Consumer<AppointmentResponse> action = invocation.getArgument(2);
+            action.accept(appointment(1L, "Primera consulta"));
+            action.accept(appointment(2L, "Traer estudios, \"análisis\"\n=HYPERLINK()"));
+            return null;
+        }).when(appointmentService).forEachAppointmentByProfessional(eq(7L), eq(filter), any());
+    }
+
+    @Test
+    @DisplayName("El CSV escapa comas, comillas, saltos de línea y fórmulas en los campos libres")
+    void testExportCsv_EscapesFreeText() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exporter.export(7L, filter, AppointmentExportFormat.CSV, out);
+
+        // Assert: el salto de línea queda dentro de las comillas del campo
+        String csv = out.toString(StandardCharsets.UTF_8);
+        String[] lines = csv.split("\n");
+        assertTrue(lines[0].startsWith("id,date,startTime"));
+        assertTrue(lines[1].startsWith("1,2026-03-02,09:00,09:30,COMPLETED,Carlos Ruiz,"));
+        assertTrue(csv.contains(",\"Traer estudios, \"\"análisis\"\"\n=HYPERLINK()\","));
+        assertTrue(csv.endsWith("\n"));
+        assertEquals("'=SUM(A1)", AppointmentExporter.csv("=SUM(A1)"));
+    }
+
+    @Test
+    @DisplayName("El NDJSON escribe un objeto por línea")
+    void testExportNdjson_OneObjectPerLine() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exporter.export(7L, filter, AppointmentExportFormat.NDJSON, out);
+
+        // Assert: el salto de línea de las notas se escapa dentro del JSON
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(lines[1].contains("\"notes\":"));
+    }
+
+    private static AppointmentResponse appointment(Long id, String notes) {
+        return new AppointmentResponse(id, 7L, "Laura Méndez", "laura", "Nutricionista",
+                3L, "Carlos Ruiz", "carlos@test.com", 5L, "Consulta", 30,
+                "2026-03-02", "09:00", "09:30", AppointmentStatus.COMPLETED, notes,
+                Instant.parse("2026-03-01T12:00:00Z"), null);
+    }
+}
@@ -0,0 +1,28 @@
+package com.turnoapp.backend.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para la entidad Professional.
+ */
+@DisplayName("Professional - Clave de texto libre")
+class ProfessionalTest {
+
+    @Test
+    @DisplayName("La clave de texto libre normaliza las palabras y omite la profesión si falta")
+    void testRefreshTextKey_SkipsMissingFields() {
+        // Arrange
+        Professional professional = Professional.builder()
+                .user(User.builder().firstName("Laura").lastName("Méndez-Paz").build())
+                .build();
+
+        // Act
+        professional.refreshTextKey();
+
+        // Assert
+        assertEquals("laura mendez paz", professional.getTextKey());
+    }
+}
@@ -0,0 +1,167 @@
+package com.turnoapp.backend.roster;
+
+import com.turnoapp.backend.dto.appointment.UpdateAppointmentStatusRequest;
+import com.turnoapp.backend.dto.common.ResourceVersion;
+import com.turnoapp.backend.dto.service.UpdateServiceRequest;
+import com.turnoapp.backend.model.Appointment;
+import com.turnoapp.backend.model.Client;
+import com.turnoapp.backend.model.Professional;
+import com.turnoapp.backend.model.Service;
+import com.turnoapp.backend.model.User;
+import com.turnoapp.backend.model.enums.AppointmentStatus;
+import com.turnoapp.backend.model.enums.UserRole;
+import com.turnoapp.backend.repository.AppointmentRepository;
+import com.turnoapp.backend.repository.ClientRepository;
+import com.turnoapp.backend.repository.ClientStatsRepository;
+import com.turnoapp.backend.repository.ProfessionalRepository;
+import com.turnoapp.backend.repository.ServiceRepository;
+import com.turnoapp.backend.repository.UserRepository;
+import com.turnoapp.backend.service.AppointmentService;
+import com.turnoapp.backend.service.ServiceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de {@link AppointmentVersionUpdater}.
+ *
+ * Sin @Transactional: la versión avanza después del commit de cada operación, y
+ * los datos se borran al terminar.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("AppointmentVersionUpdater - Versión de los listados de turnos")
+class AppointmentVersionUpdaterTest {
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private ServiceService serviceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ClientStatsRepository clientStatsRepository;
+
+    private Professional professional;
+    private Client client;
+    private Service service;
+    private Appointment appointment;
+
+    @BeforeEach
+    void setUp() {
+        User professionalUser = userRepository.save(User.builder()
+                .email("prof@appointments-version.test")
+                .passwordHash("$2a$10$dummy")
+                .firstName("Laura")
+                .lastName("Méndez")
+                .role(UserRole.PROFESSIONAL)
+                .build());
+        professional = professionalRepository.save(Professional.builder()
+                .user(professionalUser)
+                .profession("Nutricionista")
+                .customUrl("appointments-version")
+                .build());
+        User clientUser = userRepository.save(User.builder()
+                .email("client@appointments-version.test")
+                .passwordHash("$2a$10$dummy")
+                .firstName("Carlos")
+                .lastName("Ruiz")
+                .role(UserRole.CLIENT)
+                .build());
+        client = clientRepository.save(Client.builder().user(clientUser).build());
+        service = serviceRepository.save(Service.builder()
+                .professional(professional)
+                .name("Consulta")
+                .price(new BigDecimal("5000.00"))
+                .duration(30)
+                .depositPercentage(0)
+                .build());
+        appointment = appointmentRepository.save(Appointment.builder()
+                .professional(professional)
+                .client(client)
+                .service(service)
+                .date(LocalDate.now().plusDays(3))
+                .startTime("10:00")
+                .endTime("10:30")
+                .status(AppointmentStatus.CONFIRMED)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        clientStatsRepository.deleteAll(clientStatsRepository.findAll().stream()
+                .filter(stats -> stats.getClient().getId().equals(client.getId()))
+                .toList());
+        appointmentRepository.deleteById(appointment.getId());
+        serviceRepository.deleteById(service.getId());
+        clientRepository.deleteById(client.getId());
+        professionalRepository.deleteById(professional.getId());
+        userRepository.deleteAll(userRepository.findAllById(
+                List.of(client.getUser().getId(), professional.getUser().getId())));
+    }
+
+    @Test
+    @DisplayName("Cambiar el estado de un turno avanza la versión del profesional y del cliente")
+    void testStatusChange_AdvancesBothVersions() {
+        // Arrange
+        ResourceVersion professionalBefore = appointmentService.getAppointmentsVersionByProfessional(professional.getId());
+        ResourceVersion clientBefore = appointmentService.getAppointmentsVersionByClient(client.getId());
+
+        // Act
+        appointmentService.updateAppointmentStatus(appointment.getId(),
+                new UpdateAppointmentStatusRequest(AppointmentStatus.CANCELLED), professional.getId(), true);
+
+        // Assert
+        ResourceVersion professionalAfter = appointmentService.getAppointmentsVersionByProfessional(professional.getId());
+        ResourceVersion clientAfter = appointmentService.getAppointmentsVersionByClient(client.getId());
+        assertEquals(professionalBefore.count() + 1, professionalAfter.count());
+        assertEquals(clientBefore.count() + 1, clientAfter.count());
+        assertNotEquals(professionalBefore.etag(), professionalAfter.etag());
+        assertNotEquals(clientBefore.etag(), clientAfter.etag());
+    }
+
+    @Test
+    @DisplayName("Renombrar un servicio avanza la versión del profesional y de sus clientes")
+    void testServiceRename_AdvancesProfessionalAndClients() {
+        // Arrange: el cambio de estado crea las estadísticas del par, de donde salen los clientes
+        appointmentService.updateAppointmentStatus(appointment.getId(),
+                new UpdateAppointmentStatusRequest(AppointmentStatus.CANCELLED), professional.getId(), true);
+        ResourceVersion professionalBefore = appointmentService.getAppointmentsVersionByProfessional(professional.getId());
+        ResourceVersion clientBefore = appointmentService.getAppointmentsVersionByClient(client.getId());
+
+        // Act
+        serviceService.updateService(service.getId(),
+                new UpdateServiceRequest("Consulta inicial", null, null, null, null), professional.getId());
+
+        // Assert
+        assertEquals(professionalBefore.count() + 1,
+                appointmentService.getAppointmentsVersionByProfessional(professional.getId()).count());
+        assertEquals(clientBefore.count() + 1,
+                appointmentService.getAppointmentsVersionByClient(client.getId()).count());
+    }
+}
@@ -0,0 +1,153 @@
+package com.turnoapp.backend.roster;
+
+import com.turnoapp.backend.event.AppointmentChangedEvent;
+import com.turnoapp.backend.model.Client;
+import com.turnoapp.backend.model.ClientStats;
+import com.turnoapp.backend.model.Professional;
+import com.turnoapp.backend.model.User;
+import com.turnoapp.backend.model.enums.AppointmentStatus;
+import com.turnoapp.backend.model.enums.UserRole;
+import com.turnoapp.backend.repository.ClientRepository;
+import com.turnoapp.backend.repository.ClientStatsRepository;
+import com.turnoapp.backend.repository.ProfessionalRepository;
+import com.turnoapp.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de {@link ClientStatsUpdater} con transacciones concurrentes.
+ *
+ * Sin @Transactional: cada reserva confirma en su propia transacción y los datos
+ * se borran al terminar.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("ClientStatsUpdater - Concurrencia")
+class ClientStatsUpdaterConcurrencyTest {
+
+    @Autowired
+    private ClientStatsUpdater clientStatsUpdater;
+
+    @Autowired
+    private ClientStatsRepository clientStatsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Professional professional;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        User professionalUser = userRepository.save(User.builder()
+                .email("prof@stats-concurrency.test")
+                .passwordHash("$2a$10$dummy")
+                .firstName("Laura")
+                .lastName("Méndez")
+                .role(UserRole.PROFESSIONAL)
+                .build());
+        professional = professionalRepository.save(Professional.builder()
+                .user(professionalUser)
+                .profession("Nutricionista")
+                .customUrl("stats-concurrency")
+                .build());
+        User clientUser = userRepository.save(User.builder()
+                .email("client@stats-concurrency.test")
+                .passwordHash("$2a$10$dummy")
+                .firstName("Carlos")
+                .lastName("Ruiz")
+                .role(UserRole.CLIENT)
+                .build());
+        client = clientRepository.save(Client.builder().user(clientUser).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        clientStatsRepository.deleteAll(clientStatsRepository.findAll().stream()
+                .filter(stats -> stats.getClient().getId().equals(client.getId()))
+                .toList());
+        clientRepository.deleteById(client.getId());
+        professionalRepository.deleteById(professional.getId());
+        userRepository.deleteAll(userRepository.findAllById(
+                List.of(client.getUser().getId(), professional.getUser().getId())));
+    }
+
+    @Test
+    @DisplayName("Dos primeras reservas simultáneas del mismo cliente confirman y suman ambas")
+    void testFirstBookings_Concurrent() throws Exception {
+        // Arrange
+        LocalDate date = LocalDate.now().plusDays(3);
+        AppointmentChangedEvent first = new AppointmentChangedEvent(
+                professional.getId(), client.getId(), date, null, AppointmentStatus.CONFIRMED);
+        AppointmentChangedEvent second = new AppointmentChangedEvent(
+                professional.getId(), client.getId(), date.plusDays(1), null, AppointmentStatus.CONFIRMED);
+        CountDownLatch firstInserted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act: la primera inserta y demora su commit; la segunda no ve la fila y también inserta
+        try {
+            Future<?> firstBooking = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                clientStatsUpdater.onAppointmentChanged(first);
+                firstInserted.countDown();
+                sleep(300);
+            }));
+            Future<?> secondBooking = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                await(firstInserted);
+                clientStatsUpdater.onAppointmentChanged(second);
+            }));
+            firstBooking.get(10, TimeUnit.SECONDS);
+            secondBooking.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        List<ClientStats> rows = transactionTemplate.execute(status -> clientStatsRepository.findAll().stream()
+                .filter(stats -> stats.getClient().getId().equals(client.getId()))
+                .toList());
+        assertEquals(1, rows.size());
+        assertEquals(2, rows.get(0).getConfirmed());
+        assertEquals(date.plusDays(1), rows.get(0).getLastAppointmentDate());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.turnoapp.backend.search;
+
+import com.turnoapp.backend.dto.professional.FacetValueResponse;
+import com.turnoapp.backend.dto.professional.FacetsResponse;
+import com.turnoapp.backend.repository.ProfessionalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias de las facetas del directorio.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DirectoryFacets - Conteos por filtro")
+class DirectoryFacetsTest {
+
+    @Mock
+    private ProfessionalRepository professionalRepository;
+
+    @InjectMocks
+    private DirectoryFacets directoryFacets;
+
+    @BeforeEach
+    void setUp() {
+        when(professionalRepository.countActiveByFacets()).thenReturn(List.of(
+                new FacetRow("Psicóloga", "Córdoba", "Córdoba", 3),
+                new FacetRow("psicologa", "Cordoba", "Villa María", 1),
+                new FacetRow("Kinesiólogo", "Mendoza", "Mendoza", 2),
+                new FacetRow("Psicóloga", "Mendoza", "Godoy Cruz", 1)
+        ));
+    }
+
+    @Test
+    @DisplayName("Cada faceta aplica los demás filtros pero no el propio")
+    void testDisjunctiveCounts() {
+        // Act
+        FacetsResponse facets = directoryFacets.facets(null, "Córdoba", null);
+
+        // Assert
+        assertEquals(List.of(new FacetValueResponse("Psicóloga", 4)), facets.professions());
+        assertEquals(List.of(new FacetValueResponse("Córdoba", 4), new FacetValueResponse("Mendoza", 3)),
+                facets.provinces());
+        assertEquals(List.of(new FacetValueResponse("Córdoba", 3), new FacetValueResponse("Villa María", 1)),
+                facets.cities());
+        verify(professionalRepository, times(1)).countActiveByFacets();
+    }
+
+    @Test
+    @DisplayName("La versión solo cambia si cambian los datos")
+    void testVersionChangesWithData() {
+        // Arrange
+        String version = directoryFacets.version();
+
+        // Act
+        directoryFacets.refresh();
+        String sameData = directoryFacets.version();
+        when(professionalRepository.countActiveByFacets()).thenReturn(List.of());
+        directoryFacets.refresh();
+
+        // Assert
+        assertEquals(version, sameData);
+        assertNotEquals(version, directoryFacets.version());
+    }
+}
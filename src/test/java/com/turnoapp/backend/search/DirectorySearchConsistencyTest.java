@@ -0,0 +1,99 @@
+package com.turnoapp.backend.search;
+
+import com.turnoapp.backend.model.Professional;
+import com.turnoapp.backend.model.User;
+import com.turnoapp.backend.model.enums.UserRole;
+import com.turnoapp.backend.repository.ProfessionalRepository;
+import com.turnoapp.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * El texto libre del directorio devuelve las mismas filas por cualquier camino:
+ * índice en memoria, LIKE sobre text_key y FULLTEXT.
+ *
+ * MATCH ... AGAINST solo existe en MySQL: del camino FULLTEXT se verifica que
+ * busca las mismas palabras, con el mismo comodín de prefijo, sobre la misma
+ * columna que el LIKE.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Directorio - Mismo criterio de texto libre en todos los caminos")
+class DirectorySearchConsistencyTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    private final ProfessionalDirectoryIndex index = new ProfessionalDirectoryIndex();
+    private final Set<Long> ids = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        List<ProfessionalDocument> documents = new ArrayList<>();
+        String[][] professionals = {
+                {"María", "González Paz", "Psicóloga"},
+                {"Ana", "Gómez", "Psicóloga infantil"},
+                {"Juan", "O'Neil", "Kinesiólogo"},
+                {"Gonzalo", "Ruiz", "Odontólogo"}
+        };
+        for (int i = 0; i < professionals.length; i++) {
+            User user = userRepository.save(User.builder()
+                    .email("prof" + i + "@consistency.test")
+                    .passwordHash("$2a$10$dummy")
+                    .firstName(professionals[i][0])
+                    .lastName(professionals[i][1])
+                    .role(UserRole.PROFESSIONAL)
+                    .build());
+            Professional professional = professionalRepository.save(Professional.builder()
+                    .user(user)
+                    .profession(professionals[i][2])
+                    .customUrl("consistency-" + i)
+                    .build());
+            ids.add(professional.getId());
+            documents.add(new ProfessionalDocument(professional.getId(), professional.getFullName(),
+                    professional.getProfession(), null, null));
+        }
+        professionalRepository.flush();
+        index.rebuild(documents);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"gonz, 2", "psico inf, 1", "'Psicóloga, María', 1", "neil, 1", "onzalez, 0", "go, 3", "kine juan, 1"})
+    @DisplayName("El índice y el LIKE devuelven los mismos profesionales, y FULLTEXT busca las mismas palabras")
+    void testSameRowsOnEveryPath(String search, int expected) {
+        // Act
+        List<Long> fromIndex = index.search(DirectoryQuery.of(null, null, null, search));
+        List<Long> fromLike = professionalRepository.findActiveProfessionalsAfter(
+                        null, null, null, SearchKeys.words(search), null, null, Limit.unlimited()).stream()
+                .map(Professional::getId)
+                .filter(ids::contains)
+                .toList();
+        String fullTextQuery = FullTextSearchSupport.toBooleanQuery(search);
+
+        // Assert: mismas filas y en el mismo orden (nombre, id)
+        assertEquals(expected, fromIndex.size());
+        assertEquals(fromIndex, fromLike);
+        if (fullTextQuery != null) {
+            List<String> terms = SearchKeys.words(search).stream().map(word -> "+" + word + "*").toList();
+            assertEquals(String.join(" ", terms), fullTextQuery);
+        }
+    }
+}
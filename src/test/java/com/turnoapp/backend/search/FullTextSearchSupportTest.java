@@ -0,0 +1,29 @@
+package com.turnoapp.backend.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de la conversión de texto libre a consultas full-text.
+ */
+@DisplayName("FullTextSearchSupport - Consultas BOOLEAN MODE")
+class FullTextSearchSupportTest {
+
+    @Test
+    @DisplayName("Todas las palabras son obligatorias y con comodín de prefijo")
+    void testToBooleanQuery_RequiredPrefixTerms() {
+        // Act & Assert
+        assertEquals("+ana* +gom*", FullTextSearchSupport.toBooleanQuery("Ana, gom"));
+        assertNull(FullTextSearchSupport.toBooleanQuery(null));
+    }
+
+    @Test
+    @DisplayName("Una palabra más corta que el mínimo indexado deriva la búsqueda a LIKE en lugar de descartarse")
+    void testToBooleanQuery_ShortWordFallsBackToLike() {
+        // Act & Assert
+        assertNull(FullTextSearchSupport.toBooleanQuery("ana li"));
+        assertNull(FullTextSearchSupport.toBooleanQuery("dr"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.turnoapp.backend.search;
+
+import com.turnoapp.backend.geo.GeoPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del índice geográfico.
+ */
+@DisplayName("GeoIndex - Búsqueda por cercanía")
+class GeoIndexTest {
+
+    private static final GeoPoint MENDOZA = new GeoPoint(-32.8895, -68.8458);
+
+    private GeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GeoIndex();
+        index.rebuild(List.of(
+                new ProfessionalDocument(1L, "María González", "Psicóloga", "Mendoza", "Mendoza", MENDOZA),
+                new ProfessionalDocument(2L, "Juan Pérez", "Dentista", "Mendoza", "Godoy Cruz", new GeoPoint(-32.9267, -68.8446)),
+                new ProfessionalDocument(3L, "Ana Gómez", "Psicóloga", "Mendoza", "San Rafael", new GeoPoint(-34.6177, -68.3301)),
+                new ProfessionalDocument(4L, "Pedro Díaz", "Psicólogo", "Córdoba", "Córdoba", new GeoPoint(-31.4201, -64.1888)),
+                new ProfessionalDocument(5L, "Sin Dirección", "Psicóloga", "Mendoza", "Mendoza")
+        ));
+    }
+
+    @Test
+    @DisplayName("La búsqueda por radio ordena por distancia y excluye lo que queda afuera")
+    void testWithinRadius() {
+        // Act
+        List<GeoIndex.GeoMatch> matches = index.withinRadius(MENDOZA, 50, null, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), matches.stream().map(GeoIndex.GeoMatch::id).toList());
+        assertEquals(4.1, matches.get(1).distanceKm(), 0.1);
+    }
+
+    @Test
+    @DisplayName("Los k más cercanos respetan el filtro de profesión")
+    void testNearestWithProfession() {
+        // Act
+        List<GeoIndex.GeoMatch> matches = index.nearest(MENDOZA, 2, "psicolog");
+
+        // Assert
+        assertEquals(List.of(1L, 3L), matches.stream().map(GeoIndex.GeoMatch::id).toList());
+    }
+
+    @Test
+    @DisplayName("Mover un profesional de ciudad cambia su celda")
+    void testUpsertMovesCell() {
+        // Act
+        index.upsert(new ProfessionalDocument(2L, "Juan Pérez", "Dentista", "Córdoba", "Córdoba",
+                new GeoPoint(-31.4201, -64.1888)));
+
+        // Assert
+        assertEquals(List.of(1L), index.withinRadius(MENDOZA, 50, null, 10).stream()
+                .map(GeoIndex.GeoMatch::id).toList());
+        assertEquals(2, index.withinRadius(new GeoPoint(-31.42, -64.19), 5, null, 10).size());
+    }
+}
@@ -0,0 +1,170 @@
+package com.turnoapp.backend.search;
+
+import com.turnoapp.backend.availability.EarliestSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del índice invertido del directorio.
+ */
+@DisplayName("ProfessionalDirectoryIndex - Búsqueda en memoria")
+class ProfessionalDirectoryIndexTest {
+
+    private ProfessionalDirectoryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProfessionalDirectoryIndex();
+        index.rebuild(List.of(
+                new ProfessionalDocument(1L, "María González", "Psicóloga", "Córdoba", "Córdoba"),
+                new ProfessionalDocument(2L, "Juan Pérez", "Kinesiólogo", "Buenos Aires", "La Plata"),
+                new ProfessionalDocument(3L, "Ana Gómez", "Psicóloga infantil", "Córdoba", "Villa María")
+        ));
+    }
+
+    @Test
+    @DisplayName("Filtra por profesión y provincia ignorando acentos y ordena por nombre")
+    void testSearchByProfessionAndProvince() {
+        // Act
+        List<Long> ids = index.search(DirectoryQuery.of("psicologa", "cordoba", null, null));
+
+        // Assert
+        assertEquals(List.of(3L, 1L), ids);
+    }
+
+    @Test
+    @DisplayName("La profesión se compara por subcadena, no solo por prefijo")
+    void testSearchByProfessionSubstring() {
+        // Act
+        List<Long> ids = index.search(DirectoryQuery.of("infantil", null, null, null));
+
+        // Assert
+        assertEquals(List.of(3L), ids);
+    }
+
+    @Test
+    @DisplayName("El texto libre exige todas las palabras en nombre o profesión")
+    void testSearchByFreeText() {
+        // Act
+        List<Long> ids = index.search(DirectoryQuery.of(null, null, null, "gonz psico"));
+
+        // Assert
+        assertEquals(List.of(1L), ids);
+    }
+
+    @Test
+    @DisplayName("Los cambios incrementales reemplazan y quitan términos")
+    void testIncrementalUpdates() {
+        // Act
+        index.upsert(new ProfessionalDocument(2L, "Juan Pérez", "Kinesiólogo", "Córdoba", "Río Cuarto"));
+        index.remove(1L);
+
+        // Assert
+        assertEquals(List.of(3L, 2L), index.search(DirectoryQuery.of(null, "Córdoba", null, null)));
+        assertTrue(index.search(DirectoryQuery.of(null, null, "La Plata", null)).isEmpty());
+        assertTrue(index.search(DirectoryQuery.of(null, null, null, "maría gon")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Altas, renombres y bajas mueven al profesional a su posición en ambos órdenes")
+    void testIncrementalOrdering() {
+        // Arrange
+        LocalDate today = LocalDate.of(2026, 3, 2);
+        DirectoryQuery all = DirectoryQuery.of(null, null, null, null);
+
+        // Act: alta al principio, renombre del 1 al final y baja del 2
+        index.upsert(new ProfessionalDocument(4L, "Abel Díaz", "Odontólogo", "Salta", "Salta", null, today));
+        index.upsert(new ProfessionalDocument(1L, "Zoe González", "Psicóloga", "Córdoba", "Córdoba",
+                null, today.plusDays(2)));
+        index.remove(2L);
+
+        // Assert
+        assertEquals(List.of(4L, 3L, 1L), index.search(all));
+        assertEquals(List.of(4L, 1L, 3L), index.search(all, DirectorySort.AVAILABILITY));
+        assertEquals(List.of(1L), index.searchAfter(all, new DirectoryPosition("maria gonzalez", 1L), 10));
+    }
+
+    @Test
+    @DisplayName("El cursor compara claves igual con y sin filtros indexables, también con signos")
+    void testSearchAfterPositionWithPunctuation() {
+        // Arrange: en binario el apóstrofo va antes que las letras
+        index.upsert(new ProfessionalDocument(5L, "Ana O'Neil", "Psicóloga", "Córdoba", "Córdoba"));
+        index.upsert(new ProfessionalDocument(6L, "Ana Olmos", "Psicóloga", "Córdoba", "Córdoba"));
+        DirectoryPosition after = new DirectoryPosition("ana o'neil", 5L);
+
+        // Act
+        List<Long> unfiltered = index.searchAfter(DirectoryQuery.of(null, null, null, null), after, 2);
+        List<Long> filtered = index.searchAfter(DirectoryQuery.of(null, "Córdoba", null, null), after, 2);
+
+        // Assert
+        assertEquals(List.of(6L, 2L), unfiltered);
+        assertEquals(List.of(6L, 1L), filtered);
+    }
+
+    @Test
+    @DisplayName("La paginación por keyset continúa después del cursor sin repetir resultados")
+    void testSearchAfterPosition() {
+        // Arrange
+        DirectoryQuery all = DirectoryQuery.of(null, null, null, null);
+        List<Long> firstPage = index.searchAfter(all, null, 2);
+
+        // Act
+        DirectoryPosition last = new DirectoryPosition("juan perez", firstPage.get(1));
+        List<Long> secondPage = index.searchAfter(all, last, 2);
+        List<Long> filteredSecondPage = index.searchAfter(
+                DirectoryQuery.of(null, "Córdoba", null, null), new DirectoryPosition("ana gomez", 3L), 2);
+
+        // Assert
+        assertEquals(List.of(3L, 2L), firstPage);
+        assertEquals(List.of(1L), secondPage);
+        assertEquals(List.of(1L), filteredSecondPage);
+    }
+
+    @Test
+    @DisplayName("Ordena por próximo turno libre y filtra por fecha límite")
+    void testSearchByAvailability() {
+        // Arrange
+        LocalDate today = LocalDate.of(2026, 3, 2);
+        index.upsert(new ProfessionalDocument(1L, "María González", "Psicóloga", "Córdoba", "Córdoba",
+                null, today.plusDays(5)));
+        index.upsert(new ProfessionalDocument(3L, "Ana Gómez", "Psicóloga infantil", "Córdoba", "Villa María",
+                null, today.plusDays(1)));
+
+        // Act
+        List<Long> all = index.search(DirectoryQuery.of(null, null, null, null), DirectorySort.AVAILABILITY);
+        List<Long> psychologists = index.search(DirectoryQuery.of("psico", null, null, null), DirectorySort.AVAILABILITY);
+        List<Long> thisWeek = index.search(
+                DirectoryQuery.of(null, null, null, null, today.plusDays(3)), DirectorySort.AVAILABILITY);
+
+        // Assert
+        assertEquals(List.of(3L, 1L, 2L), all); // sin turno libre al final
+        assertEquals(List.of(3L, 1L), psychologists);
+        assertEquals(List.of(3L), thisWeek);
+    }
+
+    @Test
+    @DisplayName("Actualizar solo el próximo turno libre reordena sin tocar los términos")
+    void testUpdateNextAvailable() {
+        // Arrange
+        LocalDate today = LocalDate.of(2026, 3, 2);
+        index.upsert(new ProfessionalDocument(1L, "María González", "Psicóloga", "Córdoba", "Córdoba",
+                null, today.plusDays(5)));
+
+        // Act: el 2 consigue turno mañana, el 1 se queda sin turnos y el 99 no está en el índice
+        index.updateNextAvailable(List.of(
+                new EarliestSlot(2L, today.plusDays(1)),
+                new EarliestSlot(1L, null),
+                new EarliestSlot(99L, today)));
+
+        // Assert
+        assertEquals(List.of(2L, 3L, 1L), index.search(DirectoryQuery.of(null, null, null, null), DirectorySort.AVAILABILITY));
+        assertEquals(List.of(2L), index.search(DirectoryQuery.of("kine", null, null, null, today.plusDays(3))));
+        assertEquals(3, index.size());
+    }
+}
@@ -0,0 +1,66 @@
+package com.turnoapp.backend.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del trie de autocompletado.
+ */
+@DisplayName("SuggestionIndex - Autocompletado")
+class SuggestionIndexTest {
+
+    private SuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SuggestionIndex();
+        index.rebuild(List.of(
+                new ProfessionalDocument(1L, "María González", "Psicóloga", "Córdoba", "Córdoba"),
+                new ProfessionalDocument(2L, "Pedro Pérez", "Psicopedagogo", "Córdoba", "Córdoba"),
+                new ProfessionalDocument(3L, "Ana Gómez", "Psicóloga", "Mendoza", "Godoy Cruz")
+        ));
+    }
+
+    @Test
+    @DisplayName("Ordena por cantidad de profesionales y acepta prefijos sin acentos")
+    void testSuggestByWeight() {
+        // Act
+        List<SuggestionIndex.Suggestion> suggestions = index.suggest("psico", 5);
+
+        // Assert
+        assertEquals(List.of(
+                new SuggestionIndex.Suggestion(SuggestionType.PROFESSION, "Psicóloga", 2),
+                new SuggestionIndex.Suggestion(SuggestionType.PROFESSION, "Psicopedagogo", 1)
+        ), suggestions);
+    }
+
+    @Test
+    @DisplayName("Completa cualquier palabra del término")
+    void testSuggestByInnerWord() {
+        // Act
+        List<SuggestionIndex.Suggestion> suggestions = index.suggest("go", 5);
+
+        // Assert
+        assertEquals(List.of("Ana Gómez", "Godoy Cruz", "María González"),
+                suggestions.stream().map(SuggestionIndex.Suggestion::value).toList());
+    }
+
+    @Test
+    @DisplayName("Los cambios actualizan pesos y quitan términos sin profesionales")
+    void testIncrementalUpdates() {
+        // Act
+        index.upsert(new ProfessionalDocument(2L, "Pedro Pérez", "Psicóloga", "Córdoba", "Córdoba"));
+        index.remove(3L);
+
+        // Assert
+        assertEquals(List.of(new SuggestionIndex.Suggestion(SuggestionType.PROFESSION, "Psicóloga", 2)),
+                index.suggest("psi", 5));
+        assertTrue(index.suggest("godoy", 5).isEmpty());
+        assertEquals(1, index.suggest("cord", 5).size());
+    }
+}
@@ -0,0 +1,369 @@
+package com.turnoapp.backend.service.impl;
+
+import com.turnoapp.backend.calendar.CalendarFeedCache;
+import com.turnoapp.backend.dto.appointment.AppointmentFilter;
+import com.turnoapp.backend.dto.appointment.AppointmentResponse;
+import com.turnoapp.backend.dto.appointment.AppointmentSummaryResponse;
+import com.turnoapp.backend.dto.appointment.UpdateAppointmentStatusRequest;
+import com.turnoapp.backend.dto.client.ClientRosterResponse;
+import com.turnoapp.backend.dto.common.CursorPageResponse;
+import com.turnoapp.backend.dto.common.ResourceVersion;
+import com.turnoapp.backend.dto.common.SparseFields;
+import com.turnoapp.backend.model.Appointment;
+import com.turnoapp.backend.model.Client;
+import com.turnoapp.backend.model.Professional;
+import com.turnoapp.backend.model.Service;
+import com.turnoapp.backend.model.User;
+import com.turnoapp.backend.model.enums.AppointmentStatus;
+import com.turnoapp.backend.model.enums.UserRole;
+import com.turnoapp.backend.repository.AppointmentRepository;
+import com.turnoapp.backend.repository.ClientRepository;
+import com.turnoapp.backend.repository.ProfessionalRepository;
+import com.turnoapp.backend.repository.ServiceRepository;
+import com.turnoapp.backend.repository.UserRepository;
+import com.turnoapp.backend.roster.ClientStatsUpdater;
+import com.turnoapp.backend.service.AppointmentService;
+import com.turnoapp.backend.service.ProfessionalService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de cantidad de consultas de los listados de turnos.
+ *
+ * Enfoque: cada listado es una única consulta de proyección, sin cargas lazy por fila.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("AppointmentService - Cantidad de consultas")
+class AppointmentQueryCountTest {
+
+    private static final int APPOINTMENTS = 6;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private ProfessionalService professionalService;
+
+    @Autowired
+    private CalendarFeedCache calendarFeedCache;
+
+    @Autowired
+    private ClientStatsUpdater clientStatsUpdater;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Professional professional;
+    private Client client;
+    private Long firstAppointmentId;
+
+    @BeforeEach
+    void setUp() {
+        User professionalUser = userRepository.save(User.builder()
+                .email("prof@appointments.test")
+                .passwordHash("$2a$10$dummy")
+                .firstName("Laura")
+                .lastName("Méndez")
+                .role(UserRole.PROFESSIONAL)
+                .build());
+        professional = professionalRepository.save(Professional.builder()
+                .user(professionalUser)
+                .profession("Nutricionista")
+                .customUrl("appointments-test")
+                .build());
+        User clientUser = userRepository.save(User.builder()
+                .email("client@appointments.test")
+                .passwordHash("$2a$10$dummy")
+                .firstName("Carlos")
+                .lastName("Ruiz")
+                .role(UserRole.CLIENT)
+                .build());
+        client = clientRepository.save(Client.builder().user(clientUser).build());
+        Service service = serviceRepository.save(Service.builder()
+                .professional(professional)
+                .name("Consulta")
+                .price(new BigDecimal("5000.00"))
+                .duration(30)
+                .depositPercentage(0)
+                .build());
+
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            Appointment appointment = appointmentRepository.save(Appointment.builder()
+                    .professional(professional)
+                    .client(client)
+                    .service(service)
+                    .date(LocalDate.now().plusDays(i))
+                    .startTime("10:00")
+                    .endTime("10:30")
+                    .status(AppointmentStatus.CONFIRMED)
+                    .build());
+            if (firstAppointmentId == null) {
+                firstAppointmentId = appointment.getId();
+            }
+        }
+
+        // Sin entidades en el contexto: cada acceso lazy pendiente sería una consulta
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Los turnos del profesional se listan en una sola consulta")
+    void testGetAppointmentsByProfessional_SingleQuery() {
+        // Act
+        List<AppointmentResponse> appointments = appointmentService.getAppointmentsByProfessional(professional.getId());
+
+        // Assert
+        assertEquals(APPOINTMENTS, appointments.size());
+        assertEquals("Laura Méndez", appointments.get(0).professionalName());
+        assertEquals("Carlos Ruiz", appointments.get(0).clientName());
+        assertEquals("client@appointments.test", appointments.get(0).clientEmail());
+        assertEquals("Consulta", appointments.get(0).serviceName());
+        assertEquals(LocalDate.now().plusDays(APPOINTMENTS - 1).toString(), appointments.get(0).date());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Los turnos del cliente y el detalle se resuelven en una consulta cada uno")
+    void testGetAppointmentsByClientAndById_SingleQueryEach() {
+        // Act
+        List<AppointmentResponse> appointments = appointmentService.getAppointmentsByClient(client.getId());
+        AppointmentResponse appointment = appointmentService.getAppointmentById(firstAppointmentId, professional.getId());
+
+        // Assert
+        assertEquals(APPOINTMENTS, appointments.size());
+        assertEquals("Nutricionista", appointment.professionalProfession());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("La paginación por cursor recorre la ventana sin repetir filas, una consulta por página")
+    void testScrollAppointments_KeysetPages() {
+        // Arrange
+        AppointmentFilter history = new AppointmentFilter(null, null, null, false);
+        AppointmentFilter upcomingWindow = new AppointmentFilter(null, LocalDate.now().plusDays(2), null, true);
+        AppointmentFilter cancelled = new AppointmentFilter(null, null, Set.of(AppointmentStatus.CANCELLED), false);
+
+        // Act
+        CursorPageResponse<AppointmentResponse> first = appointmentService.scrollAppointmentsByProfessional(
+                professional.getId(), history, null, 4, SparseFields.ALL);
+        CursorPageResponse<AppointmentResponse> second = appointmentService.scrollAppointmentsByProfessional(
+                professional.getId(), history, first.nextCursor(), 4, SparseFields.ALL);
+        CursorPageResponse<AppointmentResponse> upcoming = appointmentService.scrollAppointmentsByClient(
+                client.getId(), upcomingWindow, null, 10, SparseFields.ALL);
+        CursorPageResponse<AppointmentResponse> none = appointmentService.scrollAppointmentsByClient(
+                client.getId(), cancelled, null, 10, SparseFields.ALL);
+
+        // Assert
+        assertEquals(4, first.content().size());
+        assertNotNull(first.nextCursor());
+        assertEquals(2, second.content().size());
+        assertNull(second.nextCursor());
+        assertEquals(firstAppointmentId, second.content().get(1).id()); // el más antiguo al final
+        assertEquals(List.of(LocalDate.now().toString(), LocalDate.now().plusDays(1).toString(),
+                        LocalDate.now().plusDays(2).toString()),
+                upcoming.content().stream().map(AppointmentResponse::date).toList());
+        assertTrue(none.content().isEmpty());
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("La exportación recorre el historial en orden cronológico con una sola consulta")
+    void testForEachAppointment_StreamsInOneQuery() {
+        // Arrange
+        List<String> dates = new ArrayList<>();
+
+        // Act
+        appointmentService.forEachAppointmentByProfessional(professional.getId(),
+                new AppointmentFilter(null, null, null, false), appointment -> dates.add(appointment.date()));
+
+        // Assert
+        assertEquals(APPOINTMENTS, dates.size());
+        assertEquals(LocalDate.now().toString(), dates.get(0));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("El sondeo del feed de calendario es una única consulta agregada")
+    void testCalendarFeedVersion_SingleQuery() {
+        // Arrange
+        String token = professionalService.getCalendarFeed(professional.getId()).token();
+        entityManager.flush();
+        statistics.clear();
+
+        // Act
+        Optional<CalendarFeedCache.FeedVersion> version = calendarFeedCache.version(token);
+        Optional<CalendarFeedCache.FeedVersion> unknown = calendarFeedCache.version("no-existe");
+
+        // Assert
+        assertTrue(version.isPresent());
+        assertEquals(professional.getId(), version.get().professionalId());
+        assertEquals(APPOINTMENTS, version.get().count());
+        assertNotNull(version.get().lastModified());
+        assertTrue(unknown.isEmpty());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("El resumen del panel es un único agregado y la segunda lectura sale de caché")
+    void testGetAppointmentSummary_SingleQueryThenCached() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        LocalDate sunday = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        long expectedWeek = Math.min(APPOINTMENTS, ChronoUnit.DAYS.between(today, sunday) + 1);
+
+        // Act
+        AppointmentSummaryResponse summary = appointmentService.getAppointmentSummary(
+                professional.getId(), today, today.plusDays(APPOINTMENTS - 1));
+        appointmentService.getAppointmentSummary(professional.getId(), today, today.plusDays(APPOINTMENTS - 1));
+
+        // Assert
+        assertEquals(1, summary.today());
+        assertEquals(expectedWeek, summary.thisWeek());
+        assertEquals(APPOINTMENTS, summary.confirmed());
+        assertEquals(0, summary.cancelled());
+        assertEquals(0, new BigDecimal("30000.00").compareTo(summary.expectedRevenue()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("La búsqueda por prefijo de apellido o email pagina por cursor, una consulta por página")
+    void testSearchAppointments_ByClientPrefix() {
+        // Arrange
+        AppointmentFilter all = new AppointmentFilter(null, null, null, false);
+
+        // Act
+        CursorPageResponse<AppointmentResponse> bySurname = appointmentService.searchAppointments(
+                professional.getId(), "  RUÍZ", null, all, null, 4);
+        CursorPageResponse<AppointmentResponse> next = appointmentService.searchAppointments(
+                professional.getId(), "  RUÍZ", null, all, bySurname.nextCursor(), 4);
+        CursorPageResponse<AppointmentResponse> byEmail = appointmentService.searchAppointments(
+                professional.getId(), "client@", null, all, null, 10);
+        CursorPageResponse<AppointmentResponse> noMatch = appointmentService.searchAppointments(
+                professional.getId(), "uiz", null, all, null, 10);
+        CursorPageResponse<AppointmentResponse> percent = appointmentService.searchAppointments(
+                professional.getId(), "%", null, all, null, 10);
+        CursorPageResponse<AppointmentResponse> underscore = appointmentService.searchAppointments(
+                professional.getId(), "_", null, all, null, 10);
+
+        // Assert
+        assertEquals(4, bySurname.content().size());
+        assertEquals(2, next.content().size());
+        assertNull(next.nextCursor());
+        assertEquals(APPOINTMENTS, byEmail.content().size());
+        assertTrue(noMatch.content().isEmpty());
+        assertTrue(percent.content().isEmpty()); // los comodines se buscan literalmente
+        assertTrue(underscore.content().isEmpty());
+        assertEquals(6, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("El listado de clientes se actualiza con cada cambio de estado y se lee en una consulta")
+    void testClientRoster_UpdatedIncrementally() {
+        // Arrange: estadísticas iniciales desde el historial y luego una visita completada
+        clientStatsUpdater.run(null);
+        appointmentService.updateAppointmentStatus(firstAppointmentId,
+                new UpdateAppointmentStatusRequest(AppointmentStatus.COMPLETED), professional.getId(), true);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        CursorPageResponse<ClientRosterResponse> roster = professionalService.getClientRoster(professional.getId(), null, 10);
+
+        // Assert
+        assertEquals(1, roster.content().size());
+        ClientRosterResponse entry = roster.content().get(0);
+        assertEquals("Carlos Ruiz", entry.name());
+        assertEquals(APPOINTMENTS, entry.totalAppointments());
+        assertEquals(1, entry.visits());
+        assertEquals(APPOINTMENTS - 1, entry.upcoming());
+        assertEquals(LocalDate.now(), entry.lastVisitDate());
+        assertEquals(LocalDate.now().plusDays(APPOINTMENTS - 1), entry.lastAppointmentDate());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("La versión del listado se lee de una fila por clave primaria")
+    void testAppointmentsVersion_SingleRow() {
+        // Act
+        ResourceVersion professionalVersion = appointmentService.getAppointmentsVersionByProfessional(professional.getId());
+        ResourceVersion clientVersion = appointmentService.getAppointmentsVersionByClient(client.getId());
+
+        // Assert: sin cambios todavía, la versión es la del alta
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0L, professionalVersion.count());
+        assertNotNull(professionalVersion.lastModified());
+        assertEquals(0L, clientVersion.count());
+    }
+
+    @Test
+    @DisplayName("Con fields la página lee solo las columnas pedidas y sigue paginando por cursor")
+    void testScrollAppointments_SparseFields() {
+        // Arrange
+        AppointmentFilter history = new AppointmentFilter(null, null, null, false);
+        SparseFields fields = SparseFields.parse("clientName,date,status", AppointmentResponse.class);
+
+        // Act
+        CursorPageResponse<AppointmentResponse> first = appointmentService.scrollAppointmentsByProfessional(
+                professional.getId(), history, null, 4, fields);
+        CursorPageResponse<AppointmentResponse> second = appointmentService.scrollAppointmentsByProfessional(
+                professional.getId(), history, first.nextCursor(), 4, fields);
+
+        // Assert
+        AppointmentResponse row = first.content().get(0);
+        assertEquals("Carlos Ruiz", row.clientName());
+        assertEquals(AppointmentStatus.CONFIRMED, row.status());
+        assertNull(row.professionalName());
+        assertNull(row.serviceName());
+        assertNull(row.clientEmail());
+        assertEquals(2, second.content().size());
+        assertEquals(firstAppointmentId, second.content().get(1).id());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
@@ -1,5 +1,6 @@
 package com.turnoapp.backend.service.impl;
 
+import com.turnoapp.backend.cache.AppointmentSummaryCache;
 import com.turnoapp.backend.dto.appointment.CreateAppointmentRequest;
 import com.turnoapp.backend.exception.ResourceNotFoundException;
 import com.turnoapp.backend.model.*;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -50,6 +52,12 @@ class AppointmentServiceImplTest {
     @Mock
     private ScheduleRepository scheduleRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AppointmentSummaryCache summaryCache;
+
     @InjectMocks
     private AppointmentServiceImpl appointmentService;
 
@@ -155,7 +163,7 @@ class AppointmentServiceImplTest {
                 .status(AppointmentStatus.CONFIRMED)
                 .build();
 
-        when(clientRepository.findByUserId(2L)).thenReturn(Optional.of(client));
+        when(clientRepository.getReferenceById(2L)).thenReturn(client);
         when(serviceRepository.findById(1L)).thenReturn(Optional.of(service));
         // Usar doReturn().when() para evitar problemas con stubbing estricto de Mockito
         doReturn(List.of(slotForDay))
@@ -219,7 +227,7 @@ class AppointmentServiceImplTest {
                 .status(AppointmentStatus.CONFIRMED)
                 .build();
 
-        when(clientRepository.findByUserId(2L)).thenReturn(Optional.of(client));
+        when(clientRepository.getReferenceById(2L)).thenReturn(client);
         when(serviceRepository.findById(1L)).thenReturn(Optional.of(service));
         // Usar doReturn().when() para evitar problemas con stubbing estricto de Mockito
         doReturn(List.of(slotForDay))
@@ -298,7 +306,7 @@ class AppointmentServiceImplTest {
                 .status(AppointmentStatus.CONFIRMED)
                 .build();
 
-        when(clientRepository.findByUserId(2L)).thenReturn(Optional.of(client));
+        when(clientRepository.getReferenceById(2L)).thenReturn(client);
         when(serviceRepository.findById(1L)).thenReturn(Optional.of(service));
         // Usar doReturn().when() para evitar problemas con stubbing estricto de Mockito
         doReturn(List.of(slotForDay))
@@ -335,7 +343,7 @@ class AppointmentServiceImplTest {
     }
 
     @Test
-    @DisplayName("Debe lanzar excepción cuando el cliente no existe")
+    @DisplayName("Debe lanzar excepción cuando la identidad no tiene cliente")
     void testCreateAppointment_ThrowsException_WhenClientNotFound() {
         // Arrange
         CreateAppointmentRequest request = new CreateAppointmentRequest(
@@ -345,12 +353,10 @@ class AppointmentServiceImplTest {
                 null
         );
 
-        when(clientRepository.findByUserId(2L)).thenReturn(Optional.empty());
-
         // Act & Assert
         assertThrows(
                 ResourceNotFoundException.class,
-                () -> appointmentService.createAppointment(request, 2L),
+                () -> appointmentService.createAppointment(request, null),
                 "Debe lanzar excepción cuando el cliente no existe"
         );
 
@@ -369,7 +375,7 @@ class AppointmentServiceImplTest {
                 null
         );
 
-        when(clientRepository.findByUserId(2L)).thenReturn(Optional.of(client));
+        when(clientRepository.getReferenceById(2L)).thenReturn(client);
         when(serviceRepository.findById(1L)).thenReturn(Optional.of(service));
 
         // Act & Assert
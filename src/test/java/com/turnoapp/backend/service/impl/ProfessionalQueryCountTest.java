@@ -0,0 +1,163 @@
+package com.turnoapp.backend.service.impl;
+
+import com.turnoapp.backend.model.Professional;
+import com.turnoapp.backend.model.SiteConfig;
+import com.turnoapp.backend.model.User;
+import com.turnoapp.backend.model.enums.UserRole;
+import com.turnoapp.backend.repository.ProfessionalRepository;
+import com.turnoapp.backend.repository.SiteConfigRepository;
+import com.turnoapp.backend.repository.UserRepository;
+import com.turnoapp.backend.service.ProfessionalService;
+import com.turnoapp.backend.search.SearchKeys;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de cantidad de consultas de los listados de profesionales.
+ *
+ * Enfoque: el costo de un listado no debe depender de la cantidad de filas (sin N+1).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("ProfessionalService - Cantidad de consultas")
+class ProfessionalQueryCountTest {
+
+    @Autowired
+    private ProfessionalService professionalService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    @Autowired
+    private SiteConfigRepository siteConfigRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long firstProfessionalId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            User user = userRepository.save(User.builder()
+                    .email("prof" + i + "@count.test")
+                    .passwordHash("$2a$10$dummy")
+                    .firstName("Profesional")
+                    .lastName("Número " + i)
+                    .province("Córdoba")
+                    .role(UserRole.PROFESSIONAL)
+                    .build());
+            Professional professional = professionalRepository.save(Professional.builder()
+                    .user(user)
+                    .profession("Psicólogo")
+                    .customUrl("count-test-" + i)
+                    .build());
+            siteConfigRepository.save(SiteConfig.builder()
+                    .professional(professional)
+                    .primaryColor("#000000")
+                    .build());
+            if (firstProfessionalId == null) {
+                firstProfessionalId = professional.getId();
+            }
+        }
+
+        // Sin entidades en el contexto: cada acceso lazy pendiente sería una consulta
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("El listado completo se resuelve en una sola consulta")
+    void testGetAllProfessionals_SingleQuery() {
+        // Act
+        int count = professionalService.getAllProfessionals().size();
+
+        // Assert
+        assertTrue(count >= 5);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("El perfil por id y por URL se resuelve en una sola consulta")
+    void testGetProfessional_SingleQuery() {
+        // Act
+        professionalService.getProfessionalById(firstProfessionalId);
+        entityManager.clear();
+        professionalService.getProfessionalByCustomUrl("count-test-1");
+
+        // Assert
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("La búsqueda SQL filtra por claves normalizadas y trae la página en una consulta")
+    void testSqlSearch_UsesNormalizedKeys() {
+        // Act
+        Page<Professional> page = professionalRepository.findActiveProfessionalsWithFilters(
+                SearchKeys.normalize("PSICOLOGO"), SearchKeys.normalize(" cordoba "), null,
+                SearchKeys.words("número"), null, PageRequest.of(0, 3));
+        page.getContent().forEach(professional -> professional.getSiteConfig().getPrimaryColor());
+
+        // Assert
+        assertEquals(5, page.getTotalElements());
+        assertEquals(3, page.getContent().size());
+        assertEquals(2, statistics.getPrepareStatementCount()); // página + count
+    }
+
+    @Test
+    @DisplayName("La profesión se filtra por subcadena y los comodines del usuario se escapan")
+    void testSqlSearch_ProfessionContainsAndEscapesWildcards() {
+        // Act
+        long bySubstring = professionalRepository.countActiveProfessionals(
+                SearchKeys.escapeLike(SearchKeys.normalize("LOGO")), null, null, List.of());
+        long byPercent = professionalRepository.countActiveProfessionals(
+                SearchKeys.escapeLike("%"), null, null, List.of());
+
+        // Assert
+        assertTrue(bySubstring >= 5);
+        assertEquals(0, byPercent);
+    }
+
+    @Test
+    @DisplayName("Cada palabra del texto libre debe empezar una palabra, en cualquier orden")
+    void testSqlSearch_WordsMatchWordPrefixes() {
+        // Act
+        long byDigit = professionalRepository.countActiveProfessionals(
+                null, null, null, SearchKeys.words("3 numero"));
+        long byPrefixes = professionalRepository.countActiveProfessionals(
+                null, null, null, SearchKeys.words("prof psicol"));
+        long byMidWord = professionalRepository.countActiveProfessionals(
+                null, null, null, SearchKeys.words("umero"));
+
+        // Assert
+        assertEquals(1, byDigit);
+        assertEquals(5, byPrefixes);
+        assertEquals(0, byMidWord);
+    }
+}